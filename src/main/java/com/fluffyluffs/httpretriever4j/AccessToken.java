@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j;
+
+import java.time.Instant;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/** Access Token */
+public class AccessToken {
+
+  private final String token;
+  private final Instant expiresAt;
+
+  /**
+   * Access Token
+   *
+   * @param token {@link String} the raw token, without any scheme prefix
+   * @param expiresAt {@link Instant} after which the token is no longer accepted
+   */
+  public AccessToken(String token, Instant expiresAt) {
+    this.token =
+        Optional.ofNullable(token).orElseThrow(() -> new NoSuchElementException("Missing token"));
+    this.expiresAt =
+        Optional.ofNullable(expiresAt)
+            .orElseThrow(() -> new NoSuchElementException("Missing token expiry"));
+  }
+
+  public String getToken() {
+    return token;
+  }
+
+  public Instant getExpiresAt() {
+    return expiresAt;
+  }
+}
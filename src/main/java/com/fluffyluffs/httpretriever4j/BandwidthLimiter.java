@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bandwidth Limiter
+ *
+ * <p>A token bucket on bytes. Tokens accrue at the configured rate up to the burst size, and each
+ * slice of a body takes its length in tokens before it is written or once it has been read. A
+ * slice taking more tokens than the bucket holds borrows against the tokens still to come and
+ * waits for them, so transfers sharing a limiter are paced in the order they asked.
+ *
+ * <p>Thread safe: share one limiter between criteria to cap their combined rate, e.g. all
+ * background transfers over a shared uplink.
+ */
+public class BandwidthLimiter {
+
+  private final long bytesPerSecond;
+  private final long burst;
+  private final AtomicLong bytesAcquired = new AtomicLong();
+
+  // guarded by this
+  private double tokens;
+  private long lastRefill = System.nanoTime();
+
+  private BandwidthLimiter(BandwidthLimiterBuilder builder) {
+    this.bytesPerSecond = builder.bytesPerSecond;
+    this.burst = builder.burst > 0 ? builder.burst : Math.max(1, bytesPerSecond / 10);
+    this.tokens = burst;
+  }
+
+  /**
+   * Take tokens for a slice, waiting until the bucket can cover it.
+   *
+   * @param bytes slice length
+   * @throws InterruptedException where interrupted whilst waiting
+   */
+  public void acquire(int bytes) throws InterruptedException {
+    long waitNanos;
+    synchronized (this) {
+      long now = System.nanoTime();
+      tokens = Math.min(burst, tokens + (now - lastRefill) * (bytesPerSecond / 1e9));
+      lastRefill = now;
+      tokens -= bytes;
+      waitNanos = tokens >= 0 ? 0 : (long) (-tokens * 1e9 / bytesPerSecond);
+    }
+    bytesAcquired.addAndGet(bytes);
+    if (waitNanos > 0) {
+      TimeUnit.NANOSECONDS.sleep(waitNanos);
+    }
+  }
+
+  public long getBytesPerSecond() {
+    return bytesPerSecond;
+  }
+
+  public long getBurst() {
+    return burst;
+  }
+
+  /**
+   * Get the number of bytes that have passed through the limiter.
+   *
+   * @return long
+   */
+  public long getBytesAcquired() {
+    return bytesAcquired.get();
+  }
+
+  /** Bandwidth Limiter Builder */
+  public static class BandwidthLimiterBuilder {
+
+    private long bytesPerSecond;
+    private long burst;
+
+    /**
+     * Set the sustained rate.
+     *
+     * @param bytesPerSecond long
+     * @return {@link BandwidthLimiterBuilder}
+     */
+    public BandwidthLimiterBuilder setBytesPerSecond(long bytesPerSecond) {
+      this.bytesPerSecond = bytesPerSecond;
+      return this;
+    }
+
+    /**
+     * Set the bytes that may pass at once after a pause, defaults to a tenth of a second at the
+     * sustained rate.
+     *
+     * @param burst long
+     * @return {@link BandwidthLimiterBuilder}
+     */
+    public BandwidthLimiterBuilder setBurst(long burst) {
+      this.burst = burst;
+      return this;
+    }
+
+    /**
+     * Build {@link BandwidthLimiter}. May throw {@link NoSuchElementException} where a required
+     * element is missing.
+     *
+     * @return {@link BandwidthLimiter}
+     */
+    public BandwidthLimiter build() {
+      if (bytesPerSecond == 0) {
+        throw new NoSuchElementException("Missing required bytes per second.");
+      }
+      if (bytesPerSecond < 0 || burst < 0) {
+        throw new IllegalArgumentException("Bytes per second and burst must be positive.");
+      }
+      return new BandwidthLimiter(this);
+    }
+  }
+}
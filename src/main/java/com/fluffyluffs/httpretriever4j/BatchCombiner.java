@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+import java.util.List;
+
+/**
+ * Batch Combiner
+ *
+ * <p>Combines the bodies of requests batched by a {@link BatchingSender} into one request body.
+ */
+public interface BatchCombiner {
+
+  /**
+   * Combine the bodies, in the order they were sent.
+   *
+   * @param bodies at least one body
+   * @return {@link String}
+   */
+  String combine(List<String> bodies);
+
+  /**
+   * Get the Content-Type of the combined body.
+   *
+   * @return {@link String}
+   */
+  String getContentType();
+
+  /**
+   * Combine JSON documents into a JSON array.
+   *
+   * @return {@link BatchCombiner}
+   */
+  static BatchCombiner jsonArray() {
+    return new BatchCombiner() {
+      @Override
+      public String combine(List<String> bodies) {
+        return "[" + String.join(",", bodies) + "]";
+      }
+
+      @Override
+      public String getContentType() {
+        return HttpRetrieverCriteria.ContentType.JSON.getContentType();
+      }
+    };
+  }
+
+  /**
+   * Combine JSON documents, each on a single line, into newline delimited JSON.
+   *
+   * @return {@link BatchCombiner}
+   */
+  static BatchCombiner ndjson() {
+    return new BatchCombiner() {
+      @Override
+      public String combine(List<String> bodies) {
+        return String.join("\n", bodies) + "\n";
+      }
+
+      @Override
+      public String getContentType() {
+        return "application/x-ndjson";
+      }
+    };
+  }
+}
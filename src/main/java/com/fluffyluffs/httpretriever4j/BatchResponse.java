@@ -0,0 +1,60 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+/** Batch Response, the response to the batch a request was sent in. */
+public class BatchResponse {
+
+  private final int statusCode;
+  private final String body;
+  private final int batchSize;
+  private final int index;
+
+  BatchResponse(int statusCode, String body, int batchSize, int index) {
+    this.statusCode = statusCode;
+    this.body = body;
+    this.batchSize = batchSize;
+    this.index = index;
+  }
+
+  public int getStatusCode() {
+    return statusCode;
+  }
+
+  /**
+   * Get the body of the batch response, shared by every request in the batch.
+   *
+   * @return {@link String}
+   */
+  public String getBody() {
+    return body;
+  }
+
+  public int getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Get the position of this request within the batch, e.g. to pick its element from a response
+   * array.
+   *
+   * @return int
+   */
+  public int getIndex() {
+    return index;
+  }
+}
@@ -0,0 +1,331 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Batching Sender
+ *
+ * <p>Accumulates small request bodies bound for one endpoint and sends them as a single request
+ * once the batch reaches its count or size threshold, or once the first body has lingered for the
+ * configured time. Each caller's future completes with the batch's response, or exceptionally
+ * where the batch fails or is answered with a non-2xx status.
+ *
+ * <p>Thread safe. Batches are sent on the executor, so {@link #send(String)} never blocks on the
+ * network.
+ */
+public class BatchingSender implements AutoCloseable {
+
+  private static final Executor DEFAULT_EXECUTOR =
+      Executors.newCachedThreadPool(
+          runnable -> {
+            Thread thread = new Thread(runnable, "http-retriever4j-batch");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private static final ScheduledExecutorService LINGER_SCHEDULER =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "http-retriever4j-batch-linger");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final HttpRetrieverCriteria criteria;
+  private final BatchCombiner batchCombiner;
+  private final int maxBatchSize;
+  private final long maxBatchLength;
+  private final long lingerNanos;
+  private final Executor executor;
+
+  private final AtomicLong sent = new AtomicLong();
+  private final AtomicLong batches = new AtomicLong();
+
+  // guarded by this
+  private Batch batch = new Batch();
+  private boolean closed;
+
+  private BatchingSender(BatchingSenderBuilder builder) {
+    this.criteria = builder.criteria;
+    this.batchCombiner = builder.batchCombiner;
+    this.maxBatchSize = builder.maxBatchSize;
+    this.maxBatchLength = builder.maxBatchLength;
+    this.lingerNanos = builder.linger.toNanos();
+    this.executor = builder.executor;
+  }
+
+  /**
+   * Add a body to the current batch.
+   *
+   * @param body request body
+   * @return {@link CompletableFuture} of the {@link BatchResponse}
+   * @throws NoSuchElementException where the body is null
+   * @throws RejectedExecutionException where the sender has been closed
+   */
+  public CompletableFuture<BatchResponse> send(String body) {
+    if (body == null) {
+      throw new NoSuchElementException("Missing required body.");
+    }
+    CompletableFuture<BatchResponse> future = new CompletableFuture<>();
+    Batch full = null;
+    synchronized (this) {
+      if (closed) {
+        throw new RejectedExecutionException("Batching sender has been closed");
+      }
+      batch.add(body, future);
+      if (batch.bodies.size() >= maxBatchSize || batch.length >= maxBatchLength) {
+        full = take();
+      } else if (batch.bodies.size() == 1) {
+        Batch lingering = batch;
+        lingering.lingerTask =
+            LINGER_SCHEDULER.schedule(
+                () -> flush(lingering), lingerNanos, TimeUnit.NANOSECONDS);
+      }
+    }
+    sent.incrementAndGet();
+    if (full != null) {
+      dispatch(full);
+    }
+    return future;
+  }
+
+  /** Send the current batch now, whatever its size. */
+  public void flush() {
+    Batch pending;
+    synchronized (this) {
+      pending = batch.bodies.isEmpty() ? null : take();
+    }
+    if (pending != null) {
+      dispatch(pending);
+    }
+  }
+
+  /** Stop accepting bodies and send the current batch. */
+  @Override
+  public void close() {
+    synchronized (this) {
+      closed = true;
+    }
+    flush();
+  }
+
+  /**
+   * Get the number of bodies sent.
+   *
+   * @return long
+   */
+  public long getSent() {
+    return sent.get();
+  }
+
+  /**
+   * Get the number of batch requests made.
+   *
+   * @return long
+   */
+  public long getBatches() {
+    return batches.get();
+  }
+
+  private void flush(Batch lingering) {
+    Batch pending = null;
+    synchronized (this) {
+      // the batch may have filled and gone already
+      if (batch == lingering) {
+        pending = take();
+      }
+    }
+    if (pending != null) {
+      dispatch(pending);
+    }
+  }
+
+  private Batch take() {
+    Batch taken = batch;
+    batch = new Batch();
+    if (taken.lingerTask != null) {
+      taken.lingerTask.cancel(false);
+    }
+    return taken;
+  }
+
+  private void dispatch(Batch pending) {
+    batches.incrementAndGet();
+    try {
+      executor.execute(() -> send(pending));
+    } catch (RejectedExecutionException ex) {
+      pending.futures.forEach(future -> future.completeExceptionally(ex));
+    }
+  }
+
+  private void send(Batch pending) {
+    List<CompletableFuture<BatchResponse>> futures = pending.futures;
+    try {
+      HttpRetrieverCriteria batchCriteria =
+          criteria
+              .toBuilder()
+              .setBody(batchCombiner.combine(pending.bodies))
+              .setHeader(new Header("Content-Type", batchCombiner.getContentType()))
+              .build();
+      int[] statusCode = new int[1];
+      String body =
+          new HttpRetriever(batchCriteria)
+              .retrieveWith(
+                  responseInfo -> {
+                    statusCode[0] = responseInfo.getStatusCode();
+                    return BodyHandlers.ofString().apply(responseInfo);
+                  });
+
+      if (statusCode[0] / 100 != 2) {
+        IOException ex =
+            new IOException(String.format("Batch answered with status %d", statusCode[0]));
+        futures.forEach(future -> future.completeExceptionally(ex));
+        return;
+      }
+      for (int i = 0; i < futures.size(); i++) {
+        futures.get(i).complete(new BatchResponse(statusCode[0], body, futures.size(), i));
+      }
+    } catch (RuntimeException ex) {
+      futures.forEach(future -> future.completeExceptionally(ex));
+    }
+  }
+
+  private static class Batch {
+
+    private final List<String> bodies = new ArrayList<>();
+    private final List<CompletableFuture<BatchResponse>> futures = new ArrayList<>();
+    private long length;
+    private ScheduledFuture<?> lingerTask;
+
+    private void add(String body, CompletableFuture<BatchResponse> future) {
+      length += body.length();
+      bodies.add(body);
+      futures.add(future);
+    }
+  }
+
+  /** Batching Sender Builder */
+  public static class BatchingSenderBuilder {
+
+    private HttpRetrieverCriteria criteria;
+    private BatchCombiner batchCombiner = BatchCombiner.jsonArray();
+    private int maxBatchSize = 100;
+    private long maxBatchLength = 1 << 20;
+    private Duration linger = Duration.ofMillis(10);
+    private Executor executor = DEFAULT_EXECUTOR;
+
+    /**
+     * Set the criteria batches are sent with, typically a POST; its body is replaced by the
+     * combined batch.
+     *
+     * @param criteria {@link HttpRetrieverCriteria}
+     * @return {@link BatchingSenderBuilder}
+     */
+    public BatchingSenderBuilder setCriteria(HttpRetrieverCriteria criteria) {
+      this.criteria = criteria;
+      return this;
+    }
+
+    /**
+     * Set Batch Combiner, defaults to a JSON array.
+     *
+     * @param batchCombiner {@link BatchCombiner}
+     * @return {@link BatchingSenderBuilder}
+     */
+    public BatchingSenderBuilder setBatchCombiner(BatchCombiner batchCombiner) {
+      this.batchCombiner = batchCombiner;
+      return this;
+    }
+
+    /**
+     * Set the number of bodies that sends a batch at once, defaults to 100.
+     *
+     * @param maxBatchSize int
+     * @return {@link BatchingSenderBuilder}
+     */
+    public BatchingSenderBuilder setMaxBatchSize(int maxBatchSize) {
+      this.maxBatchSize = maxBatchSize;
+      return this;
+    }
+
+    /**
+     * Set the total body length, in characters, that sends a batch at once, defaults to 1 Mi.
+     *
+     * @param maxBatchLength long
+     * @return {@link BatchingSenderBuilder}
+     */
+    public BatchingSenderBuilder setMaxBatchLength(long maxBatchLength) {
+      this.maxBatchLength = maxBatchLength;
+      return this;
+    }
+
+    /**
+     * Set how long the first body of a batch waits for company, defaults to 10ms.
+     *
+     * @param linger {@link Duration}
+     * @return {@link BatchingSenderBuilder}
+     */
+    public BatchingSenderBuilder setLinger(Duration linger) {
+      this.linger = linger;
+      return this;
+    }
+
+    /**
+     * Set the executor batches are sent on, defaults to a pool of daemon threads.
+     *
+     * @param executor {@link Executor}
+     * @return {@link BatchingSenderBuilder}
+     */
+    public BatchingSenderBuilder setExecutor(Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * Build {@link BatchingSender}. May throw {@link NoSuchElementException} where a required
+     * element is missing.
+     *
+     * @return {@link BatchingSender}
+     */
+    public BatchingSender build() {
+      if (criteria == null) {
+        throw new NoSuchElementException("Missing required criteria.");
+      }
+      if (batchCombiner == null || linger == null || executor == null) {
+        throw new NoSuchElementException("Missing required combiner, linger or executor.");
+      }
+      if (maxBatchSize < 1 || maxBatchLength < 1) {
+        throw new IllegalArgumentException("Max batch size and length must be positive.");
+      }
+      return new BatchingSender(this);
+    }
+  }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j;
+
+/**
+ * Body Handler
+ *
+ * <p>Chooses how a response body is consumed once the status and headers are known. See {@link
+ * BodyHandlers} for the common cases.
+ *
+ * @param <T> response type
+ */
+@FunctionalInterface
+public interface BodyHandler<T> {
+
+  /**
+   * Create the sink for one response. Unsuccessful responses get a sink that is finished without
+   * any bytes, matching the empty stream returned by {@link HttpRetriever#retrieve()}.
+   *
+   * @param responseInfo {@link ResponseInfo}
+   * @return {@link BodySink}
+   */
+  BodySink<T> apply(ResponseInfo responseInfo);
+}
@@ -0,0 +1,461 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Body Handlers
+ *
+ * <p>Common {@link BodyHandler} implementations. Each decodes straight from the connection as bytes
+ * arrive rather than from a fully buffered copy.
+ */
+public final class BodyHandlers {
+
+  private static final Logger LOGGER = Logger.getLogger(BodyHandlers.class.getName());
+
+  private static final int MAX_PRESIZE = 8 * 1024 * 1024;
+  private static final int MAX_OFF_HEAP_BODY = 1 << 30;
+
+  private BodyHandlers() {}
+
+  /**
+   * Collect the body into a byte array, presized from Content-Length where declared.
+   *
+   * @return {@link BodyHandler} of byte[]
+   */
+  public static BodyHandler<byte[]> ofByteArray() {
+    return responseInfo -> new ByteArraySink(responseInfo.getContentLength());
+  }
+
+  /**
+   * Decode the body into a String using the charset from Content-Type, defaulting to UTF-8.
+   *
+   * @return {@link BodyHandler} of {@link String}
+   */
+  public static BodyHandler<String> ofString() {
+    return responseInfo -> new StringSink(charset(responseInfo), responseInfo.getContentLength());
+  }
+
+  /**
+   * Decode the body into a String.
+   *
+   * @param charset {@link Charset}
+   * @return {@link BodyHandler} of {@link String}
+   */
+  public static BodyHandler<String> ofString(Charset charset) {
+    return responseInfo -> new StringSink(charset, responseInfo.getContentLength());
+  }
+
+  /**
+   * Write the body to a file, replacing any existing content once the whole body has arrived. An
+   * unsuccessful response leaves the file untouched.
+   *
+   * @param path {@link Path}
+   * @return {@link BodyHandler} of the {@link Path} written
+   */
+  public static BodyHandler<Path> ofFile(Path path) {
+    return responseInfo -> new FileSink(path, responseInfo.getStatusCode() / 100 == 2);
+  }
+
+  /**
+   * Read and drop the body, keeping the connection reusable.
+   *
+   * @return {@link BodyHandler} of {@link Void}
+   */
+  public static BodyHandler<Void> discarding() {
+    return responseInfo ->
+        new BodySink<>() {
+          @Override
+          public void accept(ByteBuffer chunk) {}
+
+          @Override
+          public Void finish() {
+            return null;
+          }
+        };
+  }
+
+  /**
+   * Hand the live body stream to a parser, e.g. a streaming XML or CSV reader.
+   *
+   * @param <T> response type
+   * @param parser reads the stream to its end
+   * @return {@link BodyHandler} of T
+   */
+  public static <T> BodyHandler<T> ofStream(Function<InputStream, T> parser) {
+    return responseInfo -> new StreamSink<>(parser);
+  }
+
+  /**
+   * Hand the live body to a JSON adapter as a UTF-8 reader, e.g. {@code reader ->
+   * gson.fromJson(reader, Type.class)}.
+   *
+   * @param <T> response type
+   * @param adapter reads the JSON document
+   * @return {@link BodyHandler} of T
+   */
+  public static <T> BodyHandler<T> ofJson(Function<Reader, T> adapter) {
+    return ofStream(
+        inputStream -> adapter.apply(new InputStreamReader(inputStream, StandardCharsets.UTF_8)));
+  }
+
+  /**
+   * Read the body into direct memory from the allocator, presized from Content-Length where
+   * declared, up to one slab. The caller must release the returned body.
+   *
+   * @param offHeapAllocator {@link OffHeapAllocator}
+   * @return {@link BodyHandler} of {@link OffHeapBody}
+   */
+  public static BodyHandler<OffHeapBody> ofOffHeap(OffHeapAllocator offHeapAllocator) {
+    return responseInfo -> new OffHeapSink(offHeapAllocator, responseInfo.getContentLength());
+  }
+
+  private static Charset charset(ResponseInfo responseInfo) {
+    String contentType = responseInfo.getHeader("Content-Type").orElse("");
+    int index = contentType.toLowerCase(Locale.ROOT).indexOf("charset=");
+    if (index < 0) {
+      return StandardCharsets.UTF_8;
+    }
+    String name =
+        contentType.substring(index + "charset=".length()).split(";")[0].trim().replace("\"", "");
+    try {
+      return Charset.forName(name);
+    } catch (IllegalArgumentException ex) {
+      return StandardCharsets.UTF_8;
+    }
+  }
+
+  private static int presize(long contentLength, int fallback) {
+    return contentLength > 0 && contentLength <= MAX_PRESIZE ? (int) contentLength : fallback;
+  }
+
+  private static class ByteArraySink implements BodySink<byte[]> {
+
+    private byte[] bytes;
+    private int count;
+
+    private ByteArraySink(long contentLength) {
+      this.bytes = new byte[presize(contentLength, 8192)];
+    }
+
+    @Override
+    public void accept(ByteBuffer chunk) {
+      int length = chunk.remaining();
+      if (count + length > bytes.length) {
+        bytes = Arrays.copyOf(bytes, Math.max(count + length, bytes.length * 2));
+      }
+      chunk.get(bytes, count, length);
+      count += length;
+    }
+
+    @Override
+    public byte[] finish() {
+      return count == bytes.length ? bytes : Arrays.copyOf(bytes, count);
+    }
+  }
+
+  private static class StringSink implements BodySink<String> {
+
+    private final CharsetDecoder decoder;
+    private final ByteBuffer staging = ByteBuffer.allocate(8192);
+    private final CharBuffer chars = CharBuffer.allocate(8192);
+    private final StringBuilder stringBuilder;
+
+    private StringSink(Charset charset, long contentLength) {
+      this.decoder =
+          charset
+              .newDecoder()
+              .onMalformedInput(CodingErrorAction.REPLACE)
+              .onUnmappableCharacter(CodingErrorAction.REPLACE);
+      this.stringBuilder = new StringBuilder(presize(contentLength, 256));
+    }
+
+    @Override
+    public void accept(ByteBuffer chunk) {
+      while (chunk.hasRemaining()) {
+        int length = Math.min(staging.remaining(), chunk.remaining());
+        ByteBuffer slice = chunk.duplicate();
+        slice.limit(slice.position() + length);
+        staging.put(slice);
+        chunk.position(chunk.position() + length);
+
+        staging.flip();
+        decode(false);
+        // keep any incomplete multi-byte sequence for the next chunk
+        staging.compact();
+      }
+    }
+
+    @Override
+    public String finish() {
+      staging.flip();
+      decode(true);
+      while (decoder.flush(chars) == CoderResult.OVERFLOW) {
+        drain();
+      }
+      drain();
+      return stringBuilder.toString();
+    }
+
+    private void decode(boolean endOfInput) {
+      while (decoder.decode(staging, chars, endOfInput) == CoderResult.OVERFLOW) {
+        drain();
+      }
+    }
+
+    private void drain() {
+      chars.flip();
+      stringBuilder.append(chars);
+      chars.clear();
+    }
+  }
+
+  private static class FileSink implements BodySink<Path> {
+
+    private final Path path;
+    private final boolean successful;
+    private Path partial;
+    private FileChannel fileChannel;
+
+    private FileSink(Path path, boolean successful) {
+      this.path = path;
+      this.successful = successful;
+    }
+
+    @Override
+    public Path consume(InputStream inputStream) throws IOException {
+      try {
+        return BodySink.super.consume(inputStream);
+      } catch (IOException | RuntimeException ex) {
+        abort();
+        throw ex;
+      }
+    }
+
+    @Override
+    public void accept(ByteBuffer chunk) throws IOException {
+      try {
+        FileChannel channel = channel();
+        while (chunk.hasRemaining()) {
+          channel.write(chunk);
+        }
+      } catch (IOException ex) {
+        abort();
+        throw ex;
+      }
+    }
+
+    @Override
+    public Path finish() throws IOException {
+      if (!successful) {
+        return path;
+      }
+      try {
+        channel().close();
+        try {
+          Files.move(
+              partial,
+              path,
+              StandardCopyOption.REPLACE_EXISTING,
+              StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException ex) {
+          Files.move(partial, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return path;
+      } catch (IOException ex) {
+        abort();
+        throw ex;
+      }
+    }
+
+    @Override
+    public void abort() {
+      try {
+        if (fileChannel != null) {
+          fileChannel.close();
+        }
+        if (partial != null) {
+          Files.deleteIfExists(partial);
+        }
+      } catch (IOException ex) {
+        LOGGER.log(Level.WARNING, ex.getLocalizedMessage(), ex);
+      } finally {
+        fileChannel = null;
+        partial = null;
+      }
+    }
+
+    private FileChannel channel() throws IOException {
+      if (fileChannel == null) {
+        // written beside the target and moved over it once complete, so that a failed or
+        // unsuccessful retrieval leaves any existing file as it was
+        partial = path.resolveSibling(path.getFileName() + "." + UUID.randomUUID() + ".part");
+        fileChannel =
+            FileChannel.open(partial, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+      }
+      return fileChannel;
+    }
+  }
+
+  private static class OffHeapSink implements BodySink<OffHeapBody> {
+
+    private static final ByteBuffer EMPTY = ByteBuffer.allocateDirect(0);
+
+    private final OffHeapAllocator offHeapAllocator;
+    private final int presize;
+    private ByteBuffer block;
+
+    private OffHeapSink(OffHeapAllocator offHeapAllocator, long contentLength) {
+      this.offHeapAllocator = offHeapAllocator;
+      // a declared length is only a hint, so no more than a slab is taken before bytes arrive
+      this.presize =
+          contentLength >= 0
+              ? (int) Math.min(contentLength, offHeapAllocator.getSlabSize())
+              : 8192;
+    }
+
+    @Override
+    public OffHeapBody consume(InputStream inputStream) throws IOException {
+      try {
+        block = block();
+        // not closed here, that would close the caller's stream
+        ReadableByteChannel channel = Channels.newChannel(inputStream);
+        while (true) {
+          if (!block.hasRemaining()) {
+            // a presized block is usually exact, so probe for the end before growing it
+            int next = inputStream.read();
+            if (next < 0) {
+              break;
+            }
+            grow(block.capacity() + 1);
+            block.put((byte) next);
+          }
+          if (channel.read(block) < 0) {
+            break;
+          }
+        }
+        return finish();
+      } catch (IOException | RuntimeException ex) {
+        abort();
+        throw ex;
+      }
+    }
+
+    @Override
+    public void accept(ByteBuffer chunk) throws IOException {
+      block = block();
+      if (chunk.remaining() > block.remaining()) {
+        grow((long) block.position() + chunk.remaining());
+      }
+      block.put(chunk);
+    }
+
+    @Override
+    public OffHeapBody finish() {
+      if (block == null) {
+        return new OffHeapBody(offHeapAllocator, EMPTY, 0);
+      }
+      return new OffHeapBody(offHeapAllocator, block, block.position());
+    }
+
+    @Override
+    public void abort() {
+      if (block != null) {
+        offHeapAllocator.release(block);
+        block = null;
+      }
+    }
+
+    private ByteBuffer block() {
+      return block == null ? offHeapAllocator.allocate(presize) : block;
+    }
+
+    private void grow(long required) throws BodyTooLargeException {
+      if (required > MAX_OFF_HEAP_BODY) {
+        throw new BodyTooLargeException(required, MAX_OFF_HEAP_BODY);
+      }
+      ByteBuffer grown =
+          offHeapAllocator.allocate(
+              (int) Math.min(MAX_OFF_HEAP_BODY, Math.max(required, block.capacity() * 2L)));
+      block.flip();
+      grown.put(block);
+      offHeapAllocator.release(block);
+      block = grown;
+    }
+  }
+
+  private static class StreamSink<T> implements BodySink<T> {
+
+    private final Function<InputStream, T> parser;
+    private ByteArrayOutputStream buffered;
+
+    private StreamSink(Function<InputStream, T> parser) {
+      this.parser = parser;
+    }
+
+    @Override
+    public T consume(InputStream inputStream) {
+      return parser.apply(inputStream);
+    }
+
+    // only used where the body is pushed in chunks rather than read from a stream
+
+    @Override
+    public void accept(ByteBuffer chunk) {
+      if (buffered == null) {
+        buffered = new ByteArrayOutputStream();
+      }
+      byte[] bytes = new byte[chunk.remaining()];
+      chunk.get(bytes);
+      buffered.writeBytes(bytes);
+    }
+
+    @Override
+    public T finish() {
+      return parser.apply(
+          buffered == null
+              ? InputStream.nullInputStream()
+              : new ByteArrayInputStream(buffered.toByteArray()));
+    }
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Body Limits
+ *
+ * <p>Bounds the memory used by bodies buffered by {@link HttpRetriever#retrieve()}. A body up to
+ * the in-memory threshold stays on heap while the shared in-memory budget allows; a larger one is
+ * spilled to a temp file and presented through the same {@link java.io.InputStream}, which deletes
+ * the file when closed. A body over the maximum size is aborted as soon as its {@code
+ * Content-Length} or the bytes read exceed it, with a {@link BodyTooLargeException}.
+ *
+ * <p>One instance may be shared by many criteria so that they draw on the same in-memory budget.
+ * Heap bodies return their bytes to the budget when their stream is closed.
+ */
+public class BodyLimits {
+
+  private final long inMemoryThreshold;
+  private final long globalInMemoryLimit;
+  private final long maxBodySize;
+  private final Path spillDirectory;
+
+  private final AtomicLong inMemoryBytes = new AtomicLong();
+  private final AtomicLong spilledBodies = new AtomicLong();
+
+  private BodyLimits(BodyLimitsBuilder builder) {
+    this.inMemoryThreshold = builder.inMemoryThreshold;
+    this.globalInMemoryLimit = builder.globalInMemoryLimit;
+    this.maxBodySize = builder.maxBodySize;
+    this.spillDirectory = builder.spillDirectory;
+  }
+
+  /**
+   * Get the largest body kept on heap, in bytes.
+   *
+   * @return long
+   */
+  public long getInMemoryThreshold() {
+    return inMemoryThreshold;
+  }
+
+  /**
+   * Get the in-memory budget shared by all bodies buffered under these limits, in bytes.
+   *
+   * @return long
+   */
+  public long getGlobalInMemoryLimit() {
+    return globalInMemoryLimit;
+  }
+
+  /**
+   * Get the largest body accepted at all, in bytes.
+   *
+   * @return long
+   */
+  public long getMaxBodySize() {
+    return maxBodySize;
+  }
+
+  /**
+   * Get Spill Directory
+   *
+   * @return {@link Path}, null for the default temp directory
+   */
+  public Path getSpillDirectory() {
+    return spillDirectory;
+  }
+
+  /**
+   * Get the bytes currently held on heap by open bodies.
+   *
+   * @return long
+   */
+  public long getInMemoryBytes() {
+    return inMemoryBytes.get();
+  }
+
+  /**
+   * Get the number of bodies spilled to disk so far.
+   *
+   * @return long
+   */
+  public long getSpilledBodies() {
+    return spilledBodies.get();
+  }
+
+  /**
+   * Reserve heap for a body from the shared budget.
+   *
+   * @param bytes to reserve
+   * @return true where the budget allowed the reservation
+   */
+  public boolean tryReserve(long bytes) {
+    long current;
+    do {
+      current = inMemoryBytes.get();
+      if (current + bytes > globalInMemoryLimit) {
+        return false;
+      }
+    } while (!inMemoryBytes.compareAndSet(current, current + bytes));
+    return true;
+  }
+
+  /**
+   * Return heap reserved with {@link #tryReserve(long)} to the shared budget.
+   *
+   * @param bytes to release
+   */
+  public void release(long bytes) {
+    inMemoryBytes.addAndGet(-bytes);
+  }
+
+  /** Record a body spilled to disk. */
+  public void spilled() {
+    spilledBodies.incrementAndGet();
+  }
+
+  /** Body Limits Builder */
+  public static class BodyLimitsBuilder {
+
+    private long inMemoryThreshold = 1 << 20;
+    private long globalInMemoryLimit = Long.MAX_VALUE;
+    private long maxBodySize = Long.MAX_VALUE;
+    private Path spillDirectory;
+
+    /**
+     * Set the largest body kept on heap, defaults to 1 MiB.
+     *
+     * @param inMemoryThreshold bytes
+     * @return {@link BodyLimitsBuilder}
+     */
+    public BodyLimitsBuilder setInMemoryThreshold(long inMemoryThreshold) {
+      this.inMemoryThreshold = inMemoryThreshold;
+      return this;
+    }
+
+    /**
+     * Set the in-memory budget shared by all bodies buffered under these limits, defaults to
+     * unbounded. Bodies that would exceed it spill to disk.
+     *
+     * @param globalInMemoryLimit bytes
+     * @return {@link BodyLimitsBuilder}
+     */
+    public BodyLimitsBuilder setGlobalInMemoryLimit(long globalInMemoryLimit) {
+      this.globalInMemoryLimit = globalInMemoryLimit;
+      return this;
+    }
+
+    /**
+     * Set the largest body accepted, defaults to unbounded.
+     *
+     * @param maxBodySize bytes
+     * @return {@link BodyLimitsBuilder}
+     */
+    public BodyLimitsBuilder setMaxBodySize(long maxBodySize) {
+      this.maxBodySize = maxBodySize;
+      return this;
+    }
+
+    /**
+     * Set the directory spilled bodies are written to, defaults to the system temp directory.
+     *
+     * @param spillDirectory {@link Path}
+     * @return {@link BodyLimitsBuilder}
+     */
+    public BodyLimitsBuilder setSpillDirectory(Path spillDirectory) {
+      this.spillDirectory = spillDirectory;
+      return this;
+    }
+
+    /**
+     * Build {@link BodyLimits}
+     *
+     * @return {@link BodyLimits}
+     */
+    public BodyLimits build() {
+      if (inMemoryThreshold < 0 || globalInMemoryLimit < 0 || maxBodySize < 0) {
+        throw new IllegalArgumentException("Body limits must not be negative.");
+      }
+      return new BodyLimits(this);
+    }
+  }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * Body Sink
+ *
+ * <p>Consumes a response body as it arrives and produces the result. Chunks are only valid for the
+ * duration of {@link #accept(ByteBuffer)}; copy anything that must be kept.
+ *
+ * @param <T> response type
+ */
+public interface BodySink<T> {
+
+  /**
+   * Accept the next chunk of the body.
+   *
+   * @param chunk {@link ByteBuffer}
+   * @throws IOException where the chunk cannot be consumed
+   */
+  void accept(ByteBuffer chunk) throws IOException;
+
+  /**
+   * Finish the body and produce the result.
+   *
+   * @return T
+   * @throws IOException where the result cannot be produced
+   */
+  T finish() throws IOException;
+
+  /**
+   * Release anything held for a body that will not be read to its end, where the response is
+   * unsuccessful or reading fails. An unsuccessful response's sink is still finished afterwards,
+   * without any bytes. By default does nothing.
+   */
+  default void abort() {}
+
+  /**
+   * Consume the whole body from a live stream. By default reads into a reused buffer, passing
+   * each read to {@link #accept(ByteBuffer)}; sinks that can parse a stream directly may override
+   * this to skip the chunking.
+   *
+   * @param inputStream the response body, closed by the caller
+   * @return T
+   * @throws IOException where reading or consuming fails
+   */
+  default T consume(InputStream inputStream) throws IOException {
+    byte[] buffer = new byte[8192];
+    ByteBuffer chunk = ByteBuffer.wrap(buffer);
+    int read;
+    while ((read = inputStream.read(buffer)) >= 0) {
+      if (read > 0) {
+        chunk.clear().limit(read);
+        accept(chunk);
+      }
+    }
+    return finish();
+  }
+}
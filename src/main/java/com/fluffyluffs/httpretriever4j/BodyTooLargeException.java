@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+import java.io.IOException;
+
+/** Thrown where a response body exceeds {@link BodyLimits#getMaxBodySize()}. */
+public class BodyTooLargeException extends IOException {
+
+  private static final long serialVersionUID = 1L;
+
+  private final long maxBodySize;
+
+  /**
+   * Body Too Large Exception
+   *
+   * @param size the declared or read size, in bytes
+   * @param maxBodySize the limit exceeded, in bytes
+   */
+  public BodyTooLargeException(long size, long maxBodySize) {
+    super(String.format("Body of at least %d bytes exceeds limit of %d bytes", size, maxBodySize));
+    this.maxBodySize = maxBodySize;
+  }
+
+  /**
+   * Get Max Body Size
+   *
+   * @return long
+   */
+  public long getMaxBodySize() {
+    return maxBodySize;
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+/** Cache Metrics, a point in time snapshot of a {@link ResultCache}. */
+public class CacheMetrics {
+
+  private final long hits;
+  private final long staleHits;
+  private final long misses;
+  private final long loadFailures;
+  private final long evictions;
+  private final int size;
+  private final long weight;
+
+  CacheMetrics(
+      long hits,
+      long staleHits,
+      long misses,
+      long loadFailures,
+      long evictions,
+      int size,
+      long weight) {
+    this.hits = hits;
+    this.staleHits = staleHits;
+    this.misses = misses;
+    this.loadFailures = loadFailures;
+    this.evictions = evictions;
+    this.size = size;
+    this.weight = weight;
+  }
+
+  public long getHits() {
+    return hits;
+  }
+
+  /**
+   * Get the number of stale results served while they were refreshed.
+   *
+   * @return long
+   */
+  public long getStaleHits() {
+    return staleHits;
+  }
+
+  public long getMisses() {
+    return misses;
+  }
+
+  public long getLoadFailures() {
+    return loadFailures;
+  }
+
+  public long getEvictions() {
+    return evictions;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  public long getWeight() {
+    return weight;
+  }
+
+  /**
+   * Get the share of lookups served from the cache, fresh or stale.
+   *
+   * @return double between 0 and 1
+   */
+  public double getHitRatio() {
+    long lookups = hits + staleHits + misses;
+    return lookups == 0 ? 0d : (double) (hits + staleHits) / lookups;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "hits=%d staleHits=%d misses=%d hitRatio=%.3f loadFailures=%d evictions=%d size=%d"
+            + " weight=%d",
+        hits, staleHits, misses, getHitRatio(), loadFailures, evictions, size, weight);
+  }
+}
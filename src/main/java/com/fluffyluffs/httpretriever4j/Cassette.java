@@ -0,0 +1,234 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+
+/**
+ * Cassette
+ *
+ * <p>Record/replay store for exchanges made through {@link HttpRetriever#retrieve()}. In record
+ * mode every exchange is appended to the file; in replay mode the file is memory mapped, indexed
+ * once on open and responses are served straight from the mapping without opening a socket.
+ * Repeated requests replay their recordings in order, the last one repeating thereafter.
+ *
+ * <p>File layout, big endian: {@code "HRC1"} then per exchange {@code [int keyLength][key UTF-8]
+ * [int status][int bodyLength][body]}. Keys are the method, URL and a CRC32 of the body.
+ */
+public class Cassette implements AutoCloseable {
+
+  private static final byte[] MAGIC = "HRC1".getBytes(StandardCharsets.US_ASCII);
+
+  public enum Mode {
+    RECORD,
+    REPLAY;
+  }
+
+  private final Mode mode;
+  private final Path path;
+  private final FileChannel fileChannel;
+  private final Map<String, Recordings> index;
+
+  private Cassette(Mode mode, Path path, FileChannel fileChannel, Map<String, Recordings> index) {
+    this.mode = mode;
+    this.path = path;
+    this.fileChannel = fileChannel;
+    this.index = index;
+  }
+
+  /**
+   * Open a cassette for recording, appending to any existing recordings.
+   *
+   * @param path {@link Path}
+   * @return {@link Cassette}
+   * @throws IOException where the file cannot be opened
+   */
+  public static Cassette record(Path path) throws IOException {
+    FileChannel fileChannel =
+        FileChannel.open(
+            path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    if (fileChannel.size() == 0) {
+      fileChannel.write(ByteBuffer.wrap(MAGIC));
+    }
+    return new Cassette(Mode.RECORD, path, fileChannel, Map.of());
+  }
+
+  /**
+   * Open a cassette for replay. Recordings larger than 2GB are not supported.
+   *
+   * @param path {@link Path}
+   * @return {@link Cassette}
+   * @throws IOException where the file cannot be read or is not a cassette
+   */
+  public static Cassette replay(Path path) throws IOException {
+    MappedByteBuffer mapped;
+    try (FileChannel fileChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+      if (fileChannel.size() > Integer.MAX_VALUE) {
+        throw new IOException("Cassette too large to map: " + path);
+      }
+      mapped = fileChannel.map(FileChannel.MapMode.READ_ONLY, 0, fileChannel.size());
+    }
+
+    byte[] magic = new byte[MAGIC.length];
+    if (mapped.remaining() < MAGIC.length || !Arrays.equals(MAGIC, readMagic(mapped, magic))) {
+      throw new IOException("Not a cassette: " + path);
+    }
+
+    Map<String, Recordings> index = new HashMap<>();
+    try {
+      while (mapped.hasRemaining()) {
+        byte[] key = new byte[mapped.getInt()];
+        mapped.get(key);
+        int status = mapped.getInt();
+        int bodyLength = mapped.getInt();
+        ByteBuffer body = mapped.slice().limit(bodyLength);
+        mapped.position(mapped.position() + bodyLength);
+        index
+            .computeIfAbsent(new String(key, StandardCharsets.UTF_8), k -> new Recordings())
+            .add(new RecordedResponse(status, body));
+      }
+    } catch (RuntimeException ex) {
+      throw new IOException("Truncated cassette: " + path, ex);
+    }
+    return new Cassette(Mode.REPLAY, path, null, index);
+  }
+
+  private static byte[] readMagic(ByteBuffer buffer, byte[] magic) {
+    buffer.get(magic);
+    return magic;
+  }
+
+  /**
+   * Build the key an exchange is recorded under.
+   *
+   * @param method HTTP method
+   * @param url request URL including query
+   * @param body request body, may be null
+   * @return {@link String}
+   */
+  public static String key(String method, String url, byte[] body) {
+    CRC32 crc32 = new CRC32();
+    if (body != null) {
+      crc32.update(body);
+    }
+    return method + " " + url + " " + Long.toHexString(crc32.getValue());
+  }
+
+  public Mode getMode() {
+    return mode;
+  }
+
+  public Path getPath() {
+    return path;
+  }
+
+  /**
+   * Append an exchange. Safe to call from many threads.
+   *
+   * @param key from {@link #key(String, String, byte[])}
+   * @param status response code
+   * @param body response body
+   * @throws IOException where the write fails
+   */
+  public void record(String key, int status, byte[] body) throws IOException {
+    if (mode != Mode.RECORD) {
+      throw new IllegalStateException("Cassette is not recording: " + path);
+    }
+    byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+    ByteBuffer entry = ByteBuffer.allocate(12 + keyBytes.length + body.length);
+    entry.putInt(keyBytes.length).put(keyBytes).putInt(status).putInt(body.length).put(body);
+    entry.flip();
+    synchronized (fileChannel) {
+      while (entry.hasRemaining()) {
+        fileChannel.write(entry);
+      }
+    }
+  }
+
+  /**
+   * Look up the next recorded response for a key.
+   *
+   * @param key from {@link #key(String, String, byte[])}
+   * @return {@link RecordedResponse}, empty where nothing was recorded
+   */
+  public Optional<RecordedResponse> replay(String key) {
+    if (mode != Mode.REPLAY) {
+      throw new IllegalStateException("Cassette is not replaying: " + path);
+    }
+    return Optional.ofNullable(index.get(key)).map(Recordings::next);
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (fileChannel != null) {
+      fileChannel.close();
+    }
+  }
+
+  private static class Recordings {
+
+    private final List<RecordedResponse> responses = new ArrayList<>();
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    private void add(RecordedResponse recordedResponse) {
+      responses.add(recordedResponse);
+    }
+
+    private RecordedResponse next() {
+      int position = cursor.getAndUpdate(i -> Math.min(i + 1, responses.size() - 1));
+      return responses.get(position);
+    }
+  }
+
+  /** Recorded Response */
+  public static class RecordedResponse {
+
+    private final int status;
+    private final ByteBuffer body;
+
+    private RecordedResponse(int status, ByteBuffer body) {
+      this.status = status;
+      this.body = body;
+    }
+
+    public int getStatus() {
+      return status;
+    }
+
+    /**
+     * Get the body, a read-only view onto the mapped cassette.
+     *
+     * @return {@link ByteBuffer}
+     */
+    public ByteBuffer getBody() {
+      return body.asReadOnlyBuffer();
+    }
+  }
+}
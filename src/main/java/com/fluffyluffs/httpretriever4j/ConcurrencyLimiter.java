@@ -0,0 +1,322 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency Limiter
+ *
+ * <p>Finds the number of requests each host can take in flight from the round-trip latencies it
+ * observes. Successes move the limit by a latency gradient: the limit grows by a queue allowance
+ * of roughly its square root while latency stays near the best seen, and shrinks in proportion
+ * once latency rises. Failures, 429s and 5xx responses cut it multiplicatively. Requests over the
+ * limit wait up to the configured time for a permit and are then rejected with {@link
+ * RejectedExecutionException}.
+ *
+ * <p>Thread safe: share one limiter between all criteria calling the same hosts.
+ */
+public class ConcurrencyLimiter {
+
+  // re-learn the no-load latency periodically so a permanent shift is followed
+  private static final int MIN_RTT_RESET_SAMPLES = 1000;
+
+  private final int initialLimit;
+  private final int minLimit;
+  private final int maxLimit;
+  private final double tolerance;
+  private final double backoffRatio;
+  private final double smoothing;
+  private final long maxWaitNanos;
+  private final Map<String, HostLimit> hostLimits = new ConcurrentHashMap<>();
+
+  private ConcurrencyLimiter(ConcurrencyLimiterBuilder builder) {
+    this.initialLimit = builder.initialLimit;
+    this.minLimit = builder.minLimit;
+    this.maxLimit = builder.maxLimit;
+    this.tolerance = builder.tolerance;
+    this.backoffRatio = builder.backoffRatio;
+    this.smoothing = builder.smoothing;
+    this.maxWaitNanos = builder.maxWait.toNanos();
+  }
+
+  /**
+   * Acquire a permit for a request to the host, waiting up to the configured time.
+   *
+   * @param host host and port
+   * @return {@link Permit} to release once the response body is complete
+   * @throws RejectedExecutionException where no permit became available in time
+   */
+  public Permit acquire(String host) {
+    HostLimit hostLimit = hostLimits.computeIfAbsent(host, key -> new HostLimit());
+    hostLimit.acquire(host);
+    return new Permit(hostLimit);
+  }
+
+  /**
+   * Get the limiter metrics for a host.
+   *
+   * @param host host and port
+   * @return {@link LimiterMetrics}, with the initial limit where the host has not been seen
+   */
+  public LimiterMetrics getMetrics(String host) {
+    HostLimit hostLimit = hostLimits.get(host);
+    return hostLimit == null
+        ? new LimiterMetrics(host, initialLimit, 0, 0, 0, 0)
+        : hostLimit.metrics(host);
+  }
+
+  /** Permit for one request, released exactly once. */
+  public static final class Permit {
+
+    private final HostLimit hostLimit;
+    private final long startNanos = System.nanoTime();
+    private final AtomicBoolean released = new AtomicBoolean();
+    private volatile int responseCode = -1;
+
+    private Permit(HostLimit hostLimit) {
+      this.hostLimit = hostLimit;
+    }
+
+    /**
+     * Record the response code. A permit released without one counts as a failure.
+     *
+     * @param responseCode int
+     */
+    public void setResponseCode(int responseCode) {
+      this.responseCode = responseCode;
+    }
+
+    /** Release the permit, feeding the round trip into the host's limit. */
+    public void release() {
+      if (released.compareAndSet(false, true)) {
+        int code = responseCode;
+        boolean dropped = code < 0 || code == 429 || code >= 500;
+        hostLimit.release(System.nanoTime() - startNanos, dropped);
+      }
+    }
+
+    /** Release the permit without sampling, e.g. where the caller abandoned the request. */
+    public void cancel() {
+      if (released.compareAndSet(false, true)) {
+        hostLimit.cancel();
+      }
+    }
+  }
+
+  private class HostLimit {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+
+    private double limit = initialLimit;
+    private int inFlight;
+    private long rejected;
+    private long minRttNanos = Long.MAX_VALUE;
+    private long lastRttNanos;
+    private int samples;
+
+    private void acquire(String host) {
+      lock.lock();
+      try {
+        long remaining = maxWaitNanos;
+        while (inFlight >= (int) limit) {
+          if (remaining <= 0) {
+            rejected++;
+            throw new RejectedExecutionException(
+                String.format("Concurrency limit of %d reached for %s", (int) limit, host));
+          }
+          remaining = available.awaitNanos(remaining);
+        }
+        inFlight++;
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        throw new RejectedExecutionException(ex);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void release(long rttNanos, boolean dropped) {
+      lock.lock();
+      try {
+        int sampledInFlight = inFlight--;
+        lastRttNanos = rttNanos;
+        if (dropped) {
+          limit = Math.max(minLimit, limit * backoffRatio);
+        } else {
+          if (++samples % MIN_RTT_RESET_SAMPLES == 0 || rttNanos < minRttNanos) {
+            minRttNanos = rttNanos;
+          }
+          double gradient =
+              Math.max(0.5, Math.min(1.0, tolerance * minRttNanos / Math.max(1, rttNanos)));
+          // a host that is not being pushed says nothing about how much more it can take
+          double queueSize = sampledInFlight < limit / 2 ? 0 : Math.sqrt(limit);
+          double target = limit * gradient + queueSize;
+          limit =
+              Math.max(
+                  minLimit, Math.min(maxLimit, limit * (1 - smoothing) + target * smoothing));
+        }
+        available.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private void cancel() {
+      lock.lock();
+      try {
+        inFlight--;
+        available.signalAll();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private LimiterMetrics metrics(String host) {
+      lock.lock();
+      try {
+        return new LimiterMetrics(
+            host,
+            (int) limit,
+            inFlight,
+            rejected,
+            minRttNanos == Long.MAX_VALUE ? 0 : minRttNanos,
+            lastRttNanos);
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /** Concurrency Limiter Builder */
+  public static class ConcurrencyLimiterBuilder {
+
+    private int initialLimit = 20;
+    private int minLimit = 1;
+    private int maxLimit = 1000;
+    private double tolerance = 1.5;
+    private double backoffRatio = 0.9;
+    private double smoothing = 0.2;
+    private Duration maxWait = Duration.ZERO;
+
+    /**
+     * Set the limit each host starts at, defaults to 20.
+     *
+     * @param initialLimit int
+     * @return {@link ConcurrencyLimiterBuilder}
+     */
+    public ConcurrencyLimiterBuilder setInitialLimit(int initialLimit) {
+      this.initialLimit = initialLimit;
+      return this;
+    }
+
+    /**
+     * Set the lowest limit, defaults to 1.
+     *
+     * @param minLimit int
+     * @return {@link ConcurrencyLimiterBuilder}
+     */
+    public ConcurrencyLimiterBuilder setMinLimit(int minLimit) {
+      this.minLimit = minLimit;
+      return this;
+    }
+
+    /**
+     * Set the highest limit, defaults to 1000.
+     *
+     * @param maxLimit int
+     * @return {@link ConcurrencyLimiterBuilder}
+     */
+    public ConcurrencyLimiterBuilder setMaxLimit(int maxLimit) {
+      this.maxLimit = maxLimit;
+      return this;
+    }
+
+    /**
+     * Set how far latency may rise above the best seen before the limit shrinks, defaults to 1.5.
+     *
+     * @param tolerance ratio of at least 1
+     * @return {@link ConcurrencyLimiterBuilder}
+     */
+    public ConcurrencyLimiterBuilder setTolerance(double tolerance) {
+      this.tolerance = tolerance;
+      return this;
+    }
+
+    /**
+     * Set the factor applied to the limit on a failure, defaults to 0.9.
+     *
+     * @param backoffRatio between 0 and 1
+     * @return {@link ConcurrencyLimiterBuilder}
+     */
+    public ConcurrencyLimiterBuilder setBackoffRatio(double backoffRatio) {
+      this.backoffRatio = backoffRatio;
+      return this;
+    }
+
+    /**
+     * Set the weight given to each new sample, defaults to 0.2.
+     *
+     * @param smoothing between 0 and 1
+     * @return {@link ConcurrencyLimiterBuilder}
+     */
+    public ConcurrencyLimiterBuilder setSmoothing(double smoothing) {
+      this.smoothing = smoothing;
+      return this;
+    }
+
+    /**
+     * Set how long a request over the limit waits for a permit before it is rejected, defaults to
+     * zero, shedding it immediately.
+     *
+     * @param maxWait {@link Duration}
+     * @return {@link ConcurrencyLimiterBuilder}
+     */
+    public ConcurrencyLimiterBuilder setMaxWait(Duration maxWait) {
+      this.maxWait = maxWait;
+      return this;
+    }
+
+    /**
+     * Build {@link ConcurrencyLimiter}
+     *
+     * @return {@link ConcurrencyLimiter}
+     */
+    public ConcurrencyLimiter build() {
+      if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+        throw new IllegalArgumentException("Limits must satisfy 1 <= min <= initial <= max.");
+      }
+      if (tolerance < 1d || backoffRatio <= 0d || backoffRatio >= 1d) {
+        throw new IllegalArgumentException("Tolerance must be >= 1 and backoff within (0, 1).");
+      }
+      if (smoothing <= 0d || smoothing > 1d) {
+        throw new IllegalArgumentException("Smoothing must be within (0, 1].");
+      }
+      if (maxWait == null || maxWait.isNegative()) {
+        throw new IllegalArgumentException("Max wait cannot be negative.");
+      }
+      return new ConcurrencyLimiter(this);
+    }
+  }
+}
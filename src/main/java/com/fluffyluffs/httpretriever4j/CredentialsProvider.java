@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j;
+
+/**
+ * Credentials Provider
+ *
+ * <p>Supplies the encoded {@code Authorization} header value for each request. Implementations
+ * must be thread safe and should return a cached value; this is called on the request hot path.
+ */
+public interface CredentialsProvider {
+
+  /**
+   * Get the encoded Authorization header value, e.g. {@code Bearer abc123}.
+   *
+   * @return {@link String}
+   */
+  String getAuthorization();
+
+  /**
+   * Invalidate a value the server rejected with 401 Unauthorized. Returns true where a different
+   * value is now available and the request is worth retrying once.
+   *
+   * @param rejectedAuthorization the value sent with the rejected request
+   * @return boolean
+   */
+  default boolean invalidate(String rejectedAuthorization) {
+    return false;
+  }
+}
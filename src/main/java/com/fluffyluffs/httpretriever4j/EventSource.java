@@ -0,0 +1,478 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Event Source
+ *
+ * <p>Consumes a Server-Sent Events stream, keeping one connection open and dispatching each event
+ * to an {@link EventSourceListener} as soon as its frame has been read. Where the stream ends or
+ * fails the source reconnects after the retry delay, which the server may change with a {@code
+ * retry} field, up to the max retry delay, sending the last event id seen so the server can resume
+ * where it left off. Connection attempts that fail back off exponentially from at least 100
+ * milliseconds up to the max retry delay, so a server that sets a zero retry and then fails is not
+ * polled in a tight loop.
+ *
+ * <p>A 204 No Content response, or a response that is not {@code text/event-stream}, closes the
+ * source, as do client errors; 5xx and 429 responses are retried. {@link #close()} takes effect
+ * once the blocked read returns, at the next event or heartbeat comment or the read timeout.
+ */
+public class EventSource implements AutoCloseable {
+
+  private static final Logger LOGGER = Logger.getLogger(EventSource.class.getName());
+
+  private static final String ACCEPT = "Accept";
+  private static final String CONTENT_TYPE = "Content-Type";
+  private static final String LAST_EVENT_ID = "Last-Event-ID";
+  private static final String EVENT_STREAM = "text/event-stream";
+  private static final String DEFAULT_TYPE = "message";
+  private static final int TOO_MANY_REQUESTS = 429;
+  private static final long MIN_BACK_OFF_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private static final Executor DEFAULT_EXECUTOR =
+      Executors.newCachedThreadPool(
+          runnable -> {
+            Thread thread = new Thread(runnable, "http-retriever4j-event-source");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private enum Outcome {
+    ENDED,
+    RETRY,
+    STOP
+  }
+
+  private final HttpRetrieverCriteria criteria;
+  private final EventSourceListener listener;
+  private final Executor executor;
+  private final long maxRetryNanos;
+
+  private final AtomicBoolean opened = new AtomicBoolean();
+  private final CountDownLatch closeSignal = new CountDownLatch(1);
+  private final AtomicLong connections = new AtomicLong();
+  private final AtomicLong events = new AtomicLong();
+  private volatile long retryNanos;
+  private volatile String lastEventId;
+  private volatile boolean streaming;
+  private volatile boolean closed;
+
+  private EventSource(EventSourceBuilder builder) {
+    this.criteria = builder.criteria;
+    this.listener = builder.listener;
+    this.executor = builder.executor;
+    this.retryNanos = builder.retry.toNanos();
+    this.maxRetryNanos = builder.maxRetry.toNanos();
+    this.lastEventId = builder.lastEventId;
+  }
+
+  /**
+   * Open the stream on the executor.
+   *
+   * @return {@link EventSource}
+   * @throws IllegalStateException where the source has already been opened
+   */
+  public EventSource open() {
+    if (!opened.compareAndSet(false, true)) {
+      throw new IllegalStateException("Event source already opened");
+    }
+    executor.execute(this::run);
+    return this;
+  }
+
+  /** Stop dispatching events and do not reconnect. */
+  @Override
+  public void close() {
+    closed = true;
+    closeSignal.countDown();
+  }
+
+  public boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Get the last event id seen, sent as {@code Last-Event-ID} when reconnecting.
+   *
+   * @return {@link String}, empty where no id has been seen
+   */
+  public String getLastEventId() {
+    return lastEventId;
+  }
+
+  /**
+   * Get the number of connection attempts, including the first.
+   *
+   * @return long
+   */
+  public long getConnections() {
+    return connections.get();
+  }
+
+  /**
+   * Get the number of events dispatched.
+   *
+   * @return long
+   */
+  public long getEvents() {
+    return events.get();
+  }
+
+  private void run() {
+    int failures = 0;
+    while (!closed) {
+      connections.incrementAndGet();
+      streaming = false;
+      Outcome outcome;
+      try {
+        outcome = new HttpRetriever(request()).retrieveWith(EventSink::new);
+      } catch (RuntimeException ex) {
+        LOGGER.log(Level.FINE, ex.getLocalizedMessage(), ex);
+        notifyError(ex);
+        outcome = Outcome.RETRY;
+      }
+      if (outcome == Outcome.STOP) {
+        close();
+      }
+      if (closed) {
+        return;
+      }
+
+      // a stream that opened resets the back off, however it ended
+      failures = streaming ? 0 : failures + 1;
+      try {
+        closeSignal.await(failures == 0 ? retryNanos : backOff(failures), TimeUnit.NANOSECONDS);
+      } catch (InterruptedException ex) {
+        Thread.currentThread().interrupt();
+        close();
+      }
+    }
+  }
+
+  private long backOff(int failures) {
+    long delayNanos = Math.min(maxRetryNanos, Math.max(retryNanos, MIN_BACK_OFF_NANOS));
+    // doubled towards the max rather than shifted, which could overflow to a negative delay
+    for (int i = 1; i < failures && delayNanos < maxRetryNanos; i++) {
+      delayNanos = delayNanos > maxRetryNanos / 2 ? maxRetryNanos : delayNanos * 2;
+    }
+    return delayNanos;
+  }
+
+  private HttpRetrieverCriteria request() {
+    HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder builder =
+        criteria.toBuilder().setHeader(new Header(ACCEPT, EVENT_STREAM));
+    if (!lastEventId.isEmpty()) {
+      builder.setHeader(new Header(LAST_EVENT_ID, lastEventId));
+    }
+    return builder.build();
+  }
+
+  private void notifyError(Exception ex) {
+    if (closed) {
+      return;
+    }
+    try {
+      listener.onError(ex);
+    } catch (RuntimeException listenerEx) {
+      LOGGER.log(Level.SEVERE, listenerEx.getLocalizedMessage(), listenerEx);
+    }
+  }
+
+  /** Parses frames as the bytes arrive, dispatching each event at the blank line ending it. */
+  private class EventSink implements BodySink<Outcome> {
+
+    private final ResponseInfo responseInfo;
+    private final Outcome outcome;
+    private final IOException refusal;
+
+    private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+    private final StringBuilder data = new StringBuilder();
+    private String type = "";
+    private String idBuffer = lastEventId;
+    private boolean firstLine = true;
+    private boolean lastWasCr;
+
+    private EventSink(ResponseInfo responseInfo) {
+      this.responseInfo = responseInfo;
+      int statusCode = responseInfo.getStatusCode();
+      String contentType = responseInfo.getHeader(CONTENT_TYPE).orElse("");
+      if (statusCode == HttpURLConnection.HTTP_NO_CONTENT) {
+        outcome = Outcome.STOP;
+        refusal = null;
+      } else if (statusCode / 100 != 2) {
+        outcome =
+            statusCode / 100 == 5 || statusCode == TOO_MANY_REQUESTS
+                ? Outcome.RETRY
+                : Outcome.STOP;
+        refusal =
+            new IOException(String.format("Event stream answered with status %d", statusCode));
+      } else if (!contentType.toLowerCase(Locale.ROOT).startsWith(EVENT_STREAM)) {
+        outcome = Outcome.STOP;
+        refusal =
+            new IOException(
+                String.format("Event stream answered with content type %s", contentType));
+      } else {
+        outcome = Outcome.ENDED;
+        refusal = null;
+      }
+    }
+
+    @Override
+    public Outcome consume(InputStream inputStream) throws IOException {
+      if (refusal != null || outcome != Outcome.ENDED) {
+        return finish();
+      }
+      streaming = true;
+      try {
+        listener.onOpen(responseInfo);
+      } catch (RuntimeException ex) {
+        LOGGER.log(Level.SEVERE, ex.getLocalizedMessage(), ex);
+      }
+
+      byte[] buffer = new byte[8192];
+      ByteBuffer chunk = ByteBuffer.wrap(buffer);
+      int read;
+      while (!closed && (read = inputStream.read(buffer)) >= 0) {
+        if (read > 0) {
+          chunk.clear().limit(read);
+          accept(chunk);
+        }
+      }
+      return finish();
+    }
+
+    @Override
+    public void accept(ByteBuffer chunk) {
+      while (chunk.hasRemaining()) {
+        byte b = chunk.get();
+        // CRLF ends a single line, even when split across reads
+        if (b == '\n' && lastWasCr) {
+          lastWasCr = false;
+          continue;
+        }
+        lastWasCr = b == '\r';
+        if (b == '\r' || b == '\n') {
+          line();
+        } else {
+          line.write(b);
+        }
+      }
+    }
+
+    @Override
+    public Outcome finish() {
+      // an event cut off by the end of the stream is discarded
+      if (refusal != null) {
+        notifyError(refusal);
+      }
+      return outcome;
+    }
+
+    private void line() {
+      String text = new String(line.toByteArray(), StandardCharsets.UTF_8);
+      line.reset();
+      if (firstLine) {
+        firstLine = false;
+        if (!text.isEmpty() && text.charAt(0) == '\uFEFF') {
+          text = text.substring(1);
+        }
+      }
+
+      if (text.isEmpty()) {
+        dispatch();
+        return;
+      }
+      if (text.charAt(0) == ':') {
+        // comment, typically a heartbeat
+        return;
+      }
+      int colon = text.indexOf(':');
+      String field = colon < 0 ? text : text.substring(0, colon);
+      String value = colon < 0 ? "" : text.substring(colon + 1);
+      if (value.startsWith(" ")) {
+        value = value.substring(1);
+      }
+      switch (field) {
+        case "event":
+          type = value;
+          break;
+        case "data":
+          data.append(value).append('\n');
+          break;
+        case "id":
+          if (value.indexOf('\0') < 0) {
+            idBuffer = value;
+          }
+          break;
+        case "retry":
+          if (!value.isEmpty() && value.chars().allMatch(c -> c >= '0' && c <= '9')) {
+            try {
+              retryNanos =
+                  Math.min(maxRetryNanos, TimeUnit.MILLISECONDS.toNanos(Long.parseLong(value)));
+            } catch (NumberFormatException ex) {
+              LOGGER.log(Level.FINE, "Ignoring retry {0}", value);
+            }
+          }
+          break;
+        default:
+          // unknown fields are ignored
+      }
+    }
+
+    private void dispatch() {
+      lastEventId = idBuffer;
+      if (data.length() == 0) {
+        type = "";
+        return;
+      }
+      data.setLength(data.length() - 1);
+      ServerSentEvent event =
+          new ServerSentEvent(type.isEmpty() ? DEFAULT_TYPE : type, data.toString(), idBuffer);
+      data.setLength(0);
+      type = "";
+      if (closed) {
+        return;
+      }
+      events.incrementAndGet();
+      try {
+        listener.onEvent(event);
+      } catch (RuntimeException ex) {
+        LOGGER.log(Level.SEVERE, ex.getLocalizedMessage(), ex);
+      }
+    }
+  }
+
+  /** Event Source Builder */
+  public static class EventSourceBuilder {
+
+    private HttpRetrieverCriteria criteria;
+    private EventSourceListener listener;
+    private Duration retry = Duration.ofSeconds(3);
+    private Duration maxRetry = Duration.ofSeconds(30);
+    private String lastEventId = "";
+    private Executor executor = DEFAULT_EXECUTOR;
+
+    /**
+     * Set the criteria of the stream, typically a GET. The {@code Accept} and {@code
+     * Last-Event-ID} headers are added to it.
+     *
+     * @param criteria {@link HttpRetrieverCriteria}
+     * @return {@link EventSourceBuilder}
+     */
+    public EventSourceBuilder setCriteria(HttpRetrieverCriteria criteria) {
+      this.criteria = criteria;
+      return this;
+    }
+
+    /**
+     * Set Listener
+     *
+     * @param listener {@link EventSourceListener}
+     * @return {@link EventSourceBuilder}
+     */
+    public EventSourceBuilder setListener(EventSourceListener listener) {
+      this.listener = listener;
+      return this;
+    }
+
+    /**
+     * Set the delay before reconnecting, defaults to 3 seconds. The server may change it.
+     *
+     * @param retry {@link Duration}
+     * @return {@link EventSourceBuilder}
+     */
+    public EventSourceBuilder setRetry(Duration retry) {
+      this.retry = retry;
+      return this;
+    }
+
+    /**
+     * Set the longest delay failed connection attempts back off to, defaults to 30 seconds. Also
+     * caps the retry delay a server may set.
+     *
+     * @param maxRetry {@link Duration}
+     * @return {@link EventSourceBuilder}
+     */
+    public EventSourceBuilder setMaxRetry(Duration maxRetry) {
+      this.maxRetry = maxRetry;
+      return this;
+    }
+
+    /**
+     * Set the last event id to resume from, e.g. one persisted by an earlier run.
+     *
+     * @param lastEventId {@link String}
+     * @return {@link EventSourceBuilder}
+     */
+    public EventSourceBuilder setLastEventId(String lastEventId) {
+      this.lastEventId = lastEventId;
+      return this;
+    }
+
+    /**
+     * Set the executor the stream is read on, defaults to a pool of daemon threads. Each open
+     * source holds one thread for as long as it is open.
+     *
+     * @param executor {@link Executor}
+     * @return {@link EventSourceBuilder}
+     */
+    public EventSourceBuilder setExecutor(Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * Build {@link EventSource}. May throw {@link NoSuchElementException} where a required element
+     * is missing.
+     *
+     * @return {@link EventSource}
+     */
+    public EventSource build() {
+      if (criteria == null) {
+        throw new NoSuchElementException("Missing required criteria.");
+      }
+      if (listener == null) {
+        throw new NoSuchElementException("Missing required listener.");
+      }
+      if (retry == null || maxRetry == null || lastEventId == null || executor == null) {
+        throw new NoSuchElementException("Missing required retry, last event id or executor.");
+      }
+      if (retry.isNegative() || maxRetry.compareTo(retry) < 0) {
+        throw new IllegalArgumentException("Retry must not be negative or exceed max retry.");
+      }
+      return new EventSource(this);
+    }
+  }
+}
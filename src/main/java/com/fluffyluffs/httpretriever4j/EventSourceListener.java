@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+/**
+ * Event Source Listener
+ *
+ * <p>Notified by an {@link EventSource} as events arrive. Callbacks run on the thread reading the
+ * stream, so the next event is not read until they return; hand anything expensive off to another
+ * thread.
+ */
+public interface EventSourceListener {
+
+  /**
+   * An event was received.
+   *
+   * @param event {@link ServerSentEvent}
+   */
+  void onEvent(ServerSentEvent event);
+
+  /**
+   * The stream was opened or reopened.
+   *
+   * @param responseInfo {@link ResponseInfo}
+   */
+  default void onOpen(ResponseInfo responseInfo) {}
+
+  /**
+   * The stream failed or was refused. The source reconnects unless it has closed.
+   *
+   * @param ex {@link Exception}
+   */
+  default void onError(Exception ex) {}
+}
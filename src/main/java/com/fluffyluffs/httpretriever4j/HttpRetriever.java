@@ -17,12 +17,21 @@
 package com.fluffyluffs.httpretriever4j;
 
 import com.fluffyluffs.httpretriever4j.impl.HttpRetrieverImpl;
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 import java.util.function.Function;
 
+/**
+ * HttpRetriever
+ *
+ * <p>Thread safe: a single instance may be built once and shared by any number of threads.
+ */
 public class HttpRetriever {
 
-  private final HttpRetrieverCriteria httpRetrieverCriteria;
+  private final HttpRetrieverImpl httpRetrieverImpl;
 
   /**
    * HttpRetriever
@@ -30,21 +39,23 @@ public class HttpRetriever {
    * @param httpRetrieverCriteria extends {@link HttpRetrieverCriteria}
    */
   public HttpRetriever(HttpRetrieverCriteria httpRetrieverCriteria) {
-    this.httpRetrieverCriteria = httpRetrieverCriteria;
+    this.httpRetrieverImpl = new HttpRetrieverImpl(httpRetrieverCriteria);
   }
 
   /**
-   * Retrieve
+   * Retrieve. Where {@link BodyLimits} are set the body may be held in a temp file; close the
+   * stream to delete it or to return its heap to the shared budget.
    *
    * @return InputStream
    */
   public InputStream retrieve() {
 
-    return new HttpRetrieverImpl(httpRetrieverCriteria).retrieve();
+    return httpRetrieverImpl.retrieve();
   }
 
   /**
-   * Retrieve
+   * Retrieve. The function is applied to a fully buffered copy of the body, which is closed once
+   * the function returns; use {@link #retrieveWith(BodyHandler)} to decode whilst reading.
    *
    * @param <T> response type
    * @param responseFunction response function
@@ -52,6 +63,52 @@ public class HttpRetriever {
    */
   public <T> T retrieve(Function<InputStream, T> responseFunction) {
 
-    return responseFunction.apply(new HttpRetrieverImpl(httpRetrieverCriteria).retrieve());
+    // closed here so a function that does not close the stream still frees any spilled file and
+    // the heap it holds against the shared budget
+    try (InputStream inputStream = httpRetrieverImpl.retrieve()) {
+      return responseFunction.apply(inputStream);
+    } catch (IOException ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+
+  /**
+   * Retrieve, decoding the body with the handler as it is read from the connection rather than
+   * from a buffered copy.
+   *
+   * <pre>
+   *     String body = httpRetriever.retrieveWith(BodyHandlers.ofString());
+   * </pre>
+   *
+   * @param <T> response type
+   * @param bodyHandler {@link BodyHandler}, see {@link BodyHandlers}
+   * @return T
+   */
+  public <T> T retrieveWith(BodyHandler<T> bodyHandler) {
+
+    return httpRetrieverImpl.retrieve(bodyHandler);
+  }
+
+  /**
+   * Publish the response body as chunks arrive, honouring subscriber demand. The request is sent
+   * when a subscriber subscribes; each subscription performs its own retrieval.
+   *
+   * @return {@link Flow.Publisher} of read-only {@link ByteBuffer} chunks
+   */
+  public Flow.Publisher<ByteBuffer> publish() {
+
+    return httpRetrieverImpl.publish();
+  }
+
+  /**
+   * Publish the response body as chunks arrive, reading from the connection on the supplied
+   * executor.
+   *
+   * @param executor {@link Executor} used for the blocking reads
+   * @return {@link Flow.Publisher} of read-only {@link ByteBuffer} chunks
+   */
+  public Flow.Publisher<ByteBuffer> publish(Executor executor) {
+
+    return httpRetrieverImpl.publish(executor);
   }
 }
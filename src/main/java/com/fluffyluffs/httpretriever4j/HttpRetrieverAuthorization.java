@@ -41,6 +41,16 @@ public enum HttpRetrieverAuthorization {
      * @return {@link char[]}
      */
     public abstract char [] getAuthorization(String auth);
+
+    /**
+     * Obtains a {@link CredentialsProvider} holding the encoded authorization, so it is only
+     * converted once rather than on every request.
+     * @param auth A personal access token or a colon separated username and password.
+     * @return {@link CredentialsProvider}
+     */
+    public CredentialsProvider getCredentialsProvider(String auth) {
+        return new StaticCredentialsProvider(getAuthorization(auth));
+    }
     
     private static String encodeString(String auth) {
          return Base64.getEncoder().encodeToString(Optional.ofNullable(auth).orElseThrow(() -> new IllegalStateException("Missing authentication")).getBytes(StandardCharsets.UTF_8));
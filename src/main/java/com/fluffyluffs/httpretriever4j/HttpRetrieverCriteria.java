@@ -18,35 +18,77 @@ package com.fluffyluffs.httpretriever4j;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.Flow;
 import java.util.stream.Collectors;
 
 /** HTTP Retriever Criteria */
 public class HttpRetrieverCriteria {
 
+  private final String rawUrl;
   private final String url;
+  private final URL parsedUrl;
   private final HTTPMethod hTTPMethod;
   private final String body;
+  private final Flow.Publisher<ByteBuffer> bodyPublisher;
   private final ContentType bodyContentType;
   private final ContentType acceptContentType;
   private final List<Header> headers;
   private final List<QueryParameter> queryParameters;
   private final char[] authorization;
+  private final CredentialsProvider credentialsProvider;
   private final String userAgent;
+  private final RetrievalTracer tracer;
+  private final Cassette cassette;
+  private final BodyLimits bodyLimits;
+  private final ConcurrencyLimiter concurrencyLimiter;
+  private final ServiceEndpoints service;
+  private final HttpTransport transport;
+  private final BandwidthLimiter bandwidthLimiter;
+  private final long maxBytesPerSecond;
+  private final ProgressListener progressListener;
+  private final Duration readTimeout;
+  // derived by ResultCache on first use; nothing it is derived from changes once built
+  private volatile ResultCache.RequestKey resultCacheKey;
 
   private HttpRetrieverCriteria(HttpRetrieverCriteriaBuilder httpRetrieverCriteriaBuilder) {
-    this.authorization = httpRetrieverCriteriaBuilder.authorization;
+    this.authorization =
+        Optional.ofNullable(httpRetrieverCriteriaBuilder.authorization)
+            .map(char[]::clone)
+            .orElse(null);
+    this.credentialsProvider =
+        Optional.ofNullable(httpRetrieverCriteriaBuilder.credentialsProvider)
+            .orElseGet(
+                () ->
+                    Optional.ofNullable(authorization)
+                        .map(StaticCredentialsProvider::new)
+                        .orElse(null));
     this.hTTPMethod = httpRetrieverCriteriaBuilder.hTTPMethod;
     this.body = httpRetrieverCriteriaBuilder.body;
+    this.bodyPublisher = httpRetrieverCriteriaBuilder.bodyPublisher;
     this.bodyContentType = httpRetrieverCriteriaBuilder.bodyContentType;
     this.acceptContentType = httpRetrieverCriteriaBuilder.acceptContentType;
     this.userAgent = httpRetrieverCriteriaBuilder.userAgent;
-    this.headers = httpRetrieverCriteriaBuilder.headers;
-    this.queryParameters = httpRetrieverCriteriaBuilder.queryParameters;
-
+    this.tracer = httpRetrieverCriteriaBuilder.tracer;
+    this.cassette = httpRetrieverCriteriaBuilder.cassette;
+    this.bodyLimits = httpRetrieverCriteriaBuilder.bodyLimits;
+    this.concurrencyLimiter = httpRetrieverCriteriaBuilder.concurrencyLimiter;
+    this.service = httpRetrieverCriteriaBuilder.service;
+    this.transport = httpRetrieverCriteriaBuilder.transport;
+    this.bandwidthLimiter = httpRetrieverCriteriaBuilder.bandwidthLimiter;
+    this.maxBytesPerSecond = httpRetrieverCriteriaBuilder.maxBytesPerSecond;
+    this.progressListener = httpRetrieverCriteriaBuilder.progressListener;
+    this.readTimeout = httpRetrieverCriteriaBuilder.readTimeout;
+    // copied so that later use of the builder cannot change a criteria shared between threads
+    this.headers = List.copyOf(httpRetrieverCriteriaBuilder.headers);
+    this.queryParameters = List.copyOf(httpRetrieverCriteriaBuilder.queryParameters);
+
+    this.rawUrl = httpRetrieverCriteriaBuilder.url;
     String urlWithParams =
         httpRetrieverCriteriaBuilder.url.concat(
             queryParameters.stream()
@@ -60,6 +102,48 @@ public class HttpRetrieverCriteria {
                                     : "?")
                                 .concat(params))));
     this.url = urlWithParams;
+    this.parsedUrl = parse(urlWithParams, service);
+  }
+
+  private static URL parse(String url, ServiceEndpoints service) {
+    try {
+      return service == null ? new URL(url) : service.getEndpoints().get(0).resolve(url);
+    } catch (MalformedURLException ex) {
+      // reported by getUrl()
+      return null;
+    }
+  }
+
+  /**
+   * Get a builder initialised from this criteria, e.g. to derive a request with an extra header.
+   *
+   * @return {@link HttpRetrieverCriteriaBuilder}
+   */
+  public HttpRetrieverCriteriaBuilder toBuilder() {
+    HttpRetrieverCriteriaBuilder builder =
+        new HttpRetrieverCriteriaBuilder()
+            .setAuthorization(authorization)
+            .setCredentialsProvider(credentialsProvider)
+            .setURL(rawUrl)
+            .setHTTPMethod(hTTPMethod)
+            .setBody(body)
+            .setBodyPublisher(bodyPublisher)
+            .setBodyContentType(bodyContentType)
+            .setAcceptContentType(acceptContentType)
+            .setUserAgent(userAgent)
+            .setTracer(tracer)
+            .setCassette(cassette)
+            .setBodyLimits(bodyLimits)
+            .setConcurrencyLimiter(concurrencyLimiter)
+            .setService(service)
+            .setTransport(transport)
+            .setBandwidthLimiter(bandwidthLimiter)
+            .setMaxBytesPerSecond(maxBytesPerSecond)
+            .setProgressListener(progressListener)
+            .setReadTimeout(readTimeout);
+    headers.forEach(builder::setHeader);
+    queryParameters.forEach(builder::setQueryParameter);
+    return builder;
   }
 
   /**
@@ -68,17 +152,37 @@ public class HttpRetrieverCriteria {
    * @return {@link char[]}
    */
   public char[] getAuthorization() {
-    return authorization;
+    return Optional.ofNullable(authorization).map(char[]::clone).orElse(null);
   }
 
   /**
-   * Get URL
+   * Get Credentials Provider. Where only {@link #getAuthorization()} was set this is a {@link
+   * StaticCredentialsProvider} wrapping it.
+   *
+   * @return {@link CredentialsProvider}
+   */
+  public CredentialsProvider getCredentialsProvider() {
+    return credentialsProvider;
+  }
+
+  /**
+   * Get URL. Where a service is set this is the path resolved against its first endpoint, which
+   * identifies the request for tracing and recording; requests are sent to the chosen endpoint.
    *
    * @return {@link URL}
    * @throws java.net.MalformedURLException
    */
   public URL getUrl() throws MalformedURLException {
-    return new URL(url);
+    return parsedUrl != null ? parsedUrl : new URL(url);
+  }
+
+  /**
+   * Get the path and query resolved against each endpoint of the service.
+   *
+   * @return {@link String}, null where no service is set
+   */
+  public String getServicePath() {
+    return service == null ? null : url;
   }
 
   /**
@@ -99,6 +203,15 @@ public class HttpRetrieverCriteria {
     return body;
   }
 
+  /**
+   * Get Body Publisher
+   *
+   * @return {@link Flow.Publisher} of request body chunks
+   */
+  public Flow.Publisher<ByteBuffer> getBodyPublisher() {
+    return bodyPublisher;
+  }
+
   /**
    * Get Body Content Type
    *
@@ -126,10 +239,109 @@ public class HttpRetrieverCriteria {
     return userAgent;
   }
 
+  /**
+   * Get Tracer
+   *
+   * @return {@link RetrievalTracer}, null where retrievals are not traced
+   */
+  public RetrievalTracer getTracer() {
+    return tracer;
+  }
+
+  /**
+   * Get Cassette
+   *
+   * @return {@link Cassette}, null where exchanges are neither recorded nor replayed
+   */
+  public Cassette getCassette() {
+    return cassette;
+  }
+
+  /**
+   * Get Body Limits
+   *
+   * @return {@link BodyLimits}, null where response bodies are unbounded and buffered on heap
+   */
+  public BodyLimits getBodyLimits() {
+    return bodyLimits;
+  }
+
+  /**
+   * Get Concurrency Limiter
+   *
+   * @return {@link ConcurrencyLimiter}, null where retrievals are not limited
+   */
+  public ConcurrencyLimiter getConcurrencyLimiter() {
+    return concurrencyLimiter;
+  }
+
+  /**
+   * Get Service
+   *
+   * @return {@link ServiceEndpoints}, null where requests go to the URL directly
+   */
+  public ServiceEndpoints getService() {
+    return service;
+  }
+
+  /**
+   * Get Transport
+   *
+   * @return {@link HttpTransport}, null where the default {@link HttpTransport#urlConnection()}
+   *     is used
+   */
+  public HttpTransport getTransport() {
+    return transport;
+  }
+
+  /**
+   * Get Bandwidth Limiter
+   *
+   * @return {@link BandwidthLimiter}, null where bodies are not paced by a shared limiter
+   */
+  public BandwidthLimiter getBandwidthLimiter() {
+    return bandwidthLimiter;
+  }
+
+  /**
+   * Get the cap on each body of a single retrieval.
+   *
+   * @return bytes per second, 0 where uncapped
+   */
+  public long getMaxBytesPerSecond() {
+    return maxBytesPerSecond;
+  }
+
+  /**
+   * Get Progress Listener
+   *
+   * @return {@link ProgressListener}, null where progress is not reported
+   */
+  public ProgressListener getProgressListener() {
+    return progressListener;
+  }
+
+  /**
+   * Get the longest wait for the response or for each read of its body.
+   *
+   * @return {@link Duration}, null where the default of 1 minute applies
+   */
+  public Duration getReadTimeout() {
+    return readTimeout;
+  }
+
+  ResultCache.RequestKey getResultCacheKey() {
+    return resultCacheKey;
+  }
+
+  void setResultCacheKey(ResultCache.RequestKey resultCacheKey) {
+    this.resultCacheKey = resultCacheKey;
+  }
+
   /**
    * Get the Headers to apply
    *
-   * @return List of {@link Header}
+   * @return unmodifiable List of {@link Header}
    */
   public List<Header> getHeaders() {
     return headers;
@@ -138,7 +350,7 @@ public class HttpRetrieverCriteria {
   /**
    * Get the Query Parameters to apply
    *
-   * @return List of {@link QueryParameter}
+   * @return unmodifiable List of {@link QueryParameter}
    */
   public List<QueryParameter> getQueryParameters() {
     return queryParameters;
@@ -148,12 +360,24 @@ public class HttpRetrieverCriteria {
   public static class HttpRetrieverCriteriaBuilder {
 
     private char[] authorization;
+    private CredentialsProvider credentialsProvider;
     private String url;
     private HTTPMethod hTTPMethod;
     private String body;
+    private Flow.Publisher<ByteBuffer> bodyPublisher;
     private ContentType bodyContentType;
     private ContentType acceptContentType;
     private String userAgent;
+    private RetrievalTracer tracer;
+    private Cassette cassette;
+    private BodyLimits bodyLimits;
+    private ConcurrencyLimiter concurrencyLimiter;
+    private ServiceEndpoints service;
+    private HttpTransport transport;
+    private BandwidthLimiter bandwidthLimiter;
+    private long maxBytesPerSecond;
+    private ProgressListener progressListener;
+    private Duration readTimeout;
     private List<Header> headers = new ArrayList<>();
     private List<QueryParameter> queryParameters = new ArrayList<>();
 
@@ -172,6 +396,19 @@ public class HttpRetrieverCriteria {
       return this;
     }
 
+    /**
+     * Set a credentials provider, taking precedence over {@link #setAuthorization(char[])}. A
+     * request rejected with 401 is retried once if the provider can supply a fresh value.
+     *
+     * @param credentialsProvider {@link CredentialsProvider}
+     * @return {@link HttpRetrieverCriteriaBuilder}
+     */
+    public HttpRetrieverCriteriaBuilder setCredentialsProvider(
+        CredentialsProvider credentialsProvider) {
+      this.credentialsProvider = credentialsProvider;
+      return this;
+    }
+
     /**
      * Set URL
      *
@@ -205,6 +442,18 @@ public class HttpRetrieverCriteria {
       return this;
     }
 
+    /**
+     * Set Body Publisher. The request body is streamed to the connection in chunked mode, one
+     * {@link ByteBuffer} requested at a time. Mutually exclusive with {@link #setBody(String)}.
+     *
+     * @param bodyPublisher {@link Flow.Publisher}
+     * @return {@link HttpRetrieverCriteriaBuilder}
+     */
+    public HttpRetrieverCriteriaBuilder setBodyPublisher(Flow.Publisher<ByteBuffer> bodyPublisher) {
+      this.bodyPublisher = bodyPublisher;
+      return this;
+    }
+
     public HttpRetrieverCriteriaBuilder setHeader(Header header) {
       headers.add(header);
       return this;
@@ -248,6 +497,125 @@ public class HttpRetrieverCriteria {
       return this;
     }
 
+    /**
+     * Set Tracer
+     *
+     * @param tracer {@link RetrievalTracer}
+     * @return {@link HttpRetrieverCriteriaBuilder}
+     */
+    public HttpRetrieverCriteriaBuilder setTracer(RetrievalTracer tracer) {
+      this.tracer = tracer;
+      return this;
+    }
+
+    /**
+     * Set a cassette to record exchanges to or, in replay mode, serve them from without any network
+     * access. Applies to every way of retrieving, including {@link HttpRetriever#publish()}.
+     *
+     * @param cassette {@link Cassette}
+     * @return {@link HttpRetrieverCriteriaBuilder}
+     */
+    public HttpRetrieverCriteriaBuilder setCassette(Cassette cassette) {
+      this.cassette = cassette;
+      return this;
+    }
+
+    /**
+     * Set limits on response bodies: the size kept on heap before spilling to a temp file, a heap
+     * budget shared between criteria and a hard cap after which retrieval fails.
+     *
+     * @param bodyLimits {@link BodyLimits}
+     * @return {@link HttpRetrieverCriteriaBuilder}
+     */
+    public HttpRetrieverCriteriaBuilder setBodyLimits(BodyLimits bodyLimits) {
+      this.bodyLimits = bodyLimits;
+      return this;
+    }
+
+    /**
+     * Set a limiter adapting the requests in flight to the URL's host from observed latency.
+     * Requests over the limit are rejected with {@link
+     * java.util.concurrent.RejectedExecutionException}.
+     *
+     * @param concurrencyLimiter {@link ConcurrencyLimiter}
+     * @return {@link HttpRetrieverCriteriaBuilder}
+     */
+    public HttpRetrieverCriteriaBuilder setConcurrencyLimiter(
+        ConcurrencyLimiter concurrencyLimiter) {
+      this.concurrencyLimiter = concurrencyLimiter;
+      return this;
+    }
+
+    /**
+     * Set a service whose endpoints share the requests, in which case {@link #setURL(String)}
+     * takes the path and query resolved against the chosen endpoint, e.g. {@code /orders}.
+     * Requests other than POST without a body publisher fail over to another endpoint.
+     *
+     * @param service {@link ServiceEndpoints}
+     * @return {@link HttpRetrieverCriteriaBuilder}
+     */
+    public HttpRetrieverCriteriaBuilder setService(ServiceEndpoints service) {
+      this.service = service;
+      return this;
+    }
+
+    /**
+     * Set the transport requests are sent with, defaults to {@link HttpTransport#urlConnection()}.
+     *
+     * @param transport {@link HttpTransport}
+     * @return {@link HttpRetrieverCriteriaBuilder}
+     */
+    public HttpRetrieverCriteriaBuilder setTransport(HttpTransport transport) {
+      this.transport = transport;
+      return this;
+    }
+
+    /**
+     * Set a limiter pacing the request and response bodies, shared with every other criteria it
+     * is set on so that their combined rate is capped.
+     *
+     * @param bandwidthLimiter {@link BandwidthLimiter}
+     * @return {@link HttpRetrieverCriteriaBuilder}
+     */
+    public HttpRetrieverCriteriaBuilder setBandwidthLimiter(BandwidthLimiter bandwidthLimiter) {
+      this.bandwidthLimiter = bandwidthLimiter;
+      return this;
+    }
+
+    /**
+     * Set a cap on the request body and on the response body of each retrieval, applied on top
+     * of any shared {@link BandwidthLimiter}. Defaults to 0, uncapped.
+     *
+     * @param maxBytesPerSecond long
+     * @return {@link HttpRetrieverCriteriaBuilder}
+     */
+    public HttpRetrieverCriteriaBuilder setMaxBytesPerSecond(long maxBytesPerSecond) {
+      this.maxBytesPerSecond = maxBytesPerSecond;
+      return this;
+    }
+
+    /**
+     * Set Progress Listener, notified as request and response bodies are transferred.
+     *
+     * @param progressListener {@link ProgressListener}
+     * @return {@link HttpRetrieverCriteriaBuilder}
+     */
+    public HttpRetrieverCriteriaBuilder setProgressListener(ProgressListener progressListener) {
+      this.progressListener = progressListener;
+      return this;
+    }
+
+    /**
+     * Set the longest wait for the response or for each read of its body, defaults to 1 minute.
+     *
+     * @param readTimeout {@link Duration}
+     * @return {@link HttpRetrieverCriteriaBuilder}
+     */
+    public HttpRetrieverCriteriaBuilder setReadTimeout(Duration readTimeout) {
+      this.readTimeout = readTimeout;
+      return this;
+    }
+
     /**
      * Build {@link HttpRetrieverCriteria}. May throw {@link NoSuchElementException} where a
      * required element is missing.
@@ -258,6 +626,15 @@ public class HttpRetrieverCriteria {
       validate(url, "URL");
       validate(hTTPMethod, "HTTP Method GET, POST etc");
       validate(userAgent, "Mozilla/5.0 etc");
+      if (body != null && bodyPublisher != null) {
+        throw new IllegalStateException("Only one of body or body publisher may be set.");
+      }
+      if (maxBytesPerSecond < 0) {
+        throw new IllegalArgumentException("Max bytes per second cannot be negative.");
+      }
+      if (readTimeout != null && (readTimeout.isNegative() || readTimeout.isZero())) {
+        throw new IllegalArgumentException("Read timeout must be positive.");
+      }
       queryParameters.stream()
           .forEach(
               queryParameter -> validate(queryParameter.getValue(), queryParameter.getField()));
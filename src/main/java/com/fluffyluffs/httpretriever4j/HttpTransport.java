@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+import com.fluffyluffs.httpretriever4j.impl.UrlConnectionTransport;
+import java.io.IOException;
+
+/**
+ * HTTP Transport
+ *
+ * <p>The I/O engine underneath {@link HttpRetriever}: sends a {@link TransportRequest} and hands
+ * back the {@link TransportExchange} the response is read from. Routing, credentials, tracing,
+ * body limits and recording all sit above the transport, so they behave the same whichever
+ * engine is used. Implementations must be thread safe.
+ */
+public interface HttpTransport {
+
+  /**
+   * Send the request, including its body. May return before the response has arrived, in which
+   * case {@link TransportExchange#getStatusCode()} waits for it.
+   *
+   * @param request {@link TransportRequest}
+   * @return {@link TransportExchange}
+   * @throws IOException where the request cannot be sent
+   */
+  TransportExchange send(TransportRequest request) throws IOException;
+
+  /**
+   * The default transport, built on {@link java.net.HttpURLConnection} and its keep-alive cache.
+   * Holds a thread for each request in flight.
+   *
+   * @return {@link HttpTransport}
+   */
+  static HttpTransport urlConnection() {
+    return UrlConnectionTransport.INSTANCE;
+  }
+}
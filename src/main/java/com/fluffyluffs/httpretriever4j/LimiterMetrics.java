@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+import java.util.concurrent.TimeUnit;
+
+/** Limiter Metrics, a point in time snapshot for one host of a {@link ConcurrencyLimiter}. */
+public class LimiterMetrics {
+
+  private final String host;
+  private final int limit;
+  private final int inFlight;
+  private final long rejected;
+  private final long minRttNanos;
+  private final long lastRttNanos;
+
+  LimiterMetrics(
+      String host, int limit, int inFlight, long rejected, long minRttNanos, long lastRttNanos) {
+    this.host = host;
+    this.limit = limit;
+    this.inFlight = inFlight;
+    this.rejected = rejected;
+    this.minRttNanos = minRttNanos;
+    this.lastRttNanos = lastRttNanos;
+  }
+
+  public String getHost() {
+    return host;
+  }
+
+  /**
+   * Get the current concurrency limit.
+   *
+   * @return int
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  public int getInFlight() {
+    return inFlight;
+  }
+
+  public long getRejected() {
+    return rejected;
+  }
+
+  /**
+   * Get the best round trip seen, the no-load baseline.
+   *
+   * @param timeUnit {@link TimeUnit}
+   * @return long
+   */
+  public long getMinRtt(TimeUnit timeUnit) {
+    return timeUnit.convert(minRttNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Get the most recent round trip.
+   *
+   * @param timeUnit {@link TimeUnit}
+   * @return long
+   */
+  public long getLastRtt(TimeUnit timeUnit) {
+    return timeUnit.convert(lastRttNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%s limit=%d inFlight=%d rejected=%d minRttMs=%d lastRttMs=%d",
+        host,
+        limit,
+        inFlight,
+        rejected,
+        getMinRtt(TimeUnit.MILLISECONDS),
+        getLastRtt(TimeUnit.MILLISECONDS));
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+import com.fluffyluffs.httpretriever4j.impl.NioEventLoop;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.NoSuchElementException;
+
+/**
+ * NIO Transport
+ *
+ * <p>A non-blocking HTTP/1.1 {@link HttpTransport}: one event loop thread drives every connection
+ * through a selector, keeping connections alive per host and, where enabled, pipelining GET and
+ * HEAD requests behind others in flight. Responses are parsed on the loop as they arrive and
+ * queued for the reading thread, which pauses the connection while it falls behind.
+ *
+ * <p>Handles plain http; https and other schemes are sent with {@link
+ * HttpTransport#urlConnection()}. Published request bodies are collected before sending. Build one
+ * transport and share it; {@link #close()} it when done.
+ */
+public class NioTransport implements HttpTransport, AutoCloseable {
+
+  private final NioEventLoop eventLoop;
+
+  private NioTransport(NioTransportBuilder builder) {
+    try {
+      this.eventLoop =
+          new NioEventLoop(
+              builder.maxConnectionsPerHost,
+              builder.pipelineDepth,
+              builder.keepAlive,
+              builder.readBufferSize,
+              HttpTransport.urlConnection());
+    } catch (IOException ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+
+  @Override
+  public TransportExchange send(TransportRequest request) throws IOException {
+    return eventLoop.send(request);
+  }
+
+  /** Close every connection and stop the event loop, failing requests still in flight. */
+  @Override
+  public void close() {
+    eventLoop.close();
+  }
+
+  public int getOpenConnections() {
+    return eventLoop.getOpenConnections();
+  }
+
+  /**
+   * Get the number of connections opened, which stays low while connections are reused.
+   *
+   * @return long
+   */
+  public long getConnectionsOpened() {
+    return eventLoop.getConnectionsOpened();
+  }
+
+  public long getRequests() {
+    return eventLoop.getRequests();
+  }
+
+  /** NIO Transport Builder */
+  public static class NioTransportBuilder {
+
+    private int maxConnectionsPerHost = 64;
+    private int pipelineDepth = 1;
+    private Duration keepAlive = Duration.ofSeconds(30);
+    private int readBufferSize = 64 * 1024;
+
+    /**
+     * Set the most connections open to one host at once, defaults to 64. Further requests wait
+     * for a connection to come free.
+     *
+     * @param maxConnectionsPerHost int
+     * @return {@link NioTransportBuilder}
+     */
+    public NioTransportBuilder setMaxConnectionsPerHost(int maxConnectionsPerHost) {
+      this.maxConnectionsPerHost = maxConnectionsPerHost;
+      return this;
+    }
+
+    /**
+     * Set the most requests in flight on one connection, defaults to 1, which disables
+     * pipelining. Only GET and HEAD requests are pipelined, and only where the server supports
+     * it.
+     *
+     * @param pipelineDepth int
+     * @return {@link NioTransportBuilder}
+     */
+    public NioTransportBuilder setPipelineDepth(int pipelineDepth) {
+      this.pipelineDepth = pipelineDepth;
+      return this;
+    }
+
+    /**
+     * Set how long an idle connection is kept open, defaults to 30 seconds.
+     *
+     * @param keepAlive {@link Duration}
+     * @return {@link NioTransportBuilder}
+     */
+    public NioTransportBuilder setKeepAlive(Duration keepAlive) {
+      this.keepAlive = keepAlive;
+      return this;
+    }
+
+    /**
+     * Set the size of the direct buffer every read lands in, defaults to 64 KiB.
+     *
+     * @param readBufferSize int
+     * @return {@link NioTransportBuilder}
+     */
+    public NioTransportBuilder setReadBufferSize(int readBufferSize) {
+      this.readBufferSize = readBufferSize;
+      return this;
+    }
+
+    /**
+     * Build {@link NioTransport}, starting its event loop.
+     *
+     * @return {@link NioTransport}
+     */
+    public NioTransport build() {
+      if (keepAlive == null) {
+        throw new NoSuchElementException("Missing required keep alive.");
+      }
+      if (maxConnectionsPerHost < 1 || pipelineDepth < 1 || readBufferSize < 1) {
+        throw new IllegalArgumentException(
+            "Max connections, pipeline depth and read buffer size must be positive.");
+      }
+      return new NioTransport(this);
+    }
+  }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Off Heap Allocator
+ *
+ * <p>Slab allocator of direct memory for {@link OffHeapBody}. Blocks come in power of two size
+ * classes carved from direct slabs; released blocks go back on their class's free list for reuse,
+ * so the slabs themselves are never returned. Blocks larger than a slab are allocated on their own
+ * and dropped when released.
+ *
+ * <p>Thread safe: one allocator is normally shared by every retrieval of a service.
+ */
+public class OffHeapAllocator {
+
+  private final int minBlockSize;
+  private final int slabSize;
+  private final long maxCapacity;
+  private final List<Queue<ByteBuffer>> freeLists;
+
+  private final AtomicLong reservedBytes = new AtomicLong();
+  private final AtomicLong usedBytes = new AtomicLong();
+
+  private OffHeapAllocator(OffHeapAllocatorBuilder builder) {
+    this.minBlockSize = builder.minBlockSize;
+    this.slabSize = builder.slabSize;
+    this.maxCapacity = builder.maxCapacity;
+    int sizeClasses = sizeClass(slabSize) + 1;
+    this.freeLists = new ArrayList<>(sizeClasses);
+    for (int i = 0; i < sizeClasses; i++) {
+      freeLists.add(new ConcurrentLinkedQueue<>());
+    }
+  }
+
+  /**
+   * Get the direct memory reserved in slabs and oversized blocks, in bytes.
+   *
+   * @return long
+   */
+  public long getReservedBytes() {
+    return reservedBytes.get();
+  }
+
+  /**
+   * Get the direct memory held by unreleased blocks, in bytes.
+   *
+   * @return long
+   */
+  public long getUsedBytes() {
+    return usedBytes.get();
+  }
+
+  /**
+   * Get Max Capacity
+   *
+   * @return long, the most direct memory that may be reserved
+   */
+  public long getMaxCapacity() {
+    return maxCapacity;
+  }
+
+  /**
+   * Get Slab Size
+   *
+   * @return int, the largest block carved from a slab
+   */
+  int getSlabSize() {
+    return slabSize;
+  }
+
+  /**
+   * Allocate a cleared block of at least the given size.
+   *
+   * @param size bytes
+   * @return direct {@link ByteBuffer}
+   * @throws IllegalStateException where the capacity is exhausted
+   */
+  ByteBuffer allocate(int size) {
+    int blockSize = blockSize(size);
+    ByteBuffer block;
+    if (blockSize > slabSize) {
+      reserve(blockSize);
+      block = ByteBuffer.allocateDirect(blockSize);
+    } else {
+      Queue<ByteBuffer> freeList = freeLists.get(sizeClass(blockSize));
+      block = freeList.poll();
+      if (block == null) {
+        block = carve(freeList, blockSize);
+      }
+    }
+    usedBytes.addAndGet(block.capacity());
+    return block;
+  }
+
+  /**
+   * Return a block to its free list. The block must not be used afterwards.
+   *
+   * @param block from {@link #allocate(int)}
+   */
+  void release(ByteBuffer block) {
+    usedBytes.addAndGet(-block.capacity());
+    if (block.capacity() > slabSize) {
+      reservedBytes.addAndGet(-block.capacity());
+    } else {
+      block.clear();
+      freeLists.get(sizeClass(block.capacity())).offer(block);
+    }
+  }
+
+  private ByteBuffer carve(Queue<ByteBuffer> freeList, int blockSize) {
+    // serialised per class so that concurrent misses do not each reserve a slab
+    synchronized (freeList) {
+      ByteBuffer block = freeList.poll();
+      if (block != null) {
+        return block;
+      }
+      reserve(slabSize);
+      ByteBuffer slab = ByteBuffer.allocateDirect(slabSize);
+      for (int offset = blockSize; offset < slabSize; offset += blockSize) {
+        freeList.offer(slab.position(offset).limit(offset + blockSize).slice());
+        slab.clear();
+      }
+      return slab.position(0).limit(blockSize).slice();
+    }
+  }
+
+  private void reserve(long bytes) {
+    long current;
+    do {
+      current = reservedBytes.get();
+      if (current + bytes > maxCapacity) {
+        throw new IllegalStateException(
+            String.format("Off-heap capacity of %d bytes exhausted", maxCapacity));
+      }
+    } while (!reservedBytes.compareAndSet(current, current + bytes));
+  }
+
+  private int blockSize(int size) {
+    return size <= minBlockSize ? minBlockSize : Integer.highestOneBit(size - 1) << 1;
+  }
+
+  private int sizeClass(int blockSize) {
+    return Integer.numberOfTrailingZeros(blockSize) - Integer.numberOfTrailingZeros(minBlockSize);
+  }
+
+  /** Off Heap Allocator Builder */
+  public static class OffHeapAllocatorBuilder {
+
+    private int minBlockSize = 4096;
+    private int slabSize = 1 << 20;
+    private long maxCapacity = Long.MAX_VALUE;
+
+    /**
+     * Set the smallest block handed out, a power of two, defaults to 4 KiB.
+     *
+     * @param minBlockSize bytes
+     * @return {@link OffHeapAllocatorBuilder}
+     */
+    public OffHeapAllocatorBuilder setMinBlockSize(int minBlockSize) {
+      this.minBlockSize = minBlockSize;
+      return this;
+    }
+
+    /**
+     * Set the size of the slabs blocks are carved from, a power of two, defaults to 1 MiB.
+     *
+     * @param slabSize bytes
+     * @return {@link OffHeapAllocatorBuilder}
+     */
+    public OffHeapAllocatorBuilder setSlabSize(int slabSize) {
+      this.slabSize = slabSize;
+      return this;
+    }
+
+    /**
+     * Set the most direct memory that may be reserved, defaults to unbounded.
+     *
+     * @param maxCapacity bytes
+     * @return {@link OffHeapAllocatorBuilder}
+     */
+    public OffHeapAllocatorBuilder setMaxCapacity(long maxCapacity) {
+      this.maxCapacity = maxCapacity;
+      return this;
+    }
+
+    /**
+     * Build {@link OffHeapAllocator}
+     *
+     * @return {@link OffHeapAllocator}
+     */
+    public OffHeapAllocator build() {
+      if (Integer.bitCount(minBlockSize) != 1 || Integer.bitCount(slabSize) != 1) {
+        throw new IllegalArgumentException("Block and slab sizes must be powers of two.");
+      }
+      if (minBlockSize > slabSize) {
+        throw new IllegalArgumentException("Minimum block size must not exceed the slab size.");
+      }
+      return new OffHeapAllocator(this);
+    }
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Off Heap Body
+ *
+ * <p>A response body held in direct memory from an {@link OffHeapAllocator}. Views are read-only
+ * and share the underlying memory, which {@link #release()} hands back for another body to reuse.
+ * Streams from {@link #asInputStream()} fail once the body is released, but a {@link ByteBuffer}
+ * from {@link #asByteBuffer()} cannot be revoked: reading one after release silently returns
+ * whatever body now holds the memory, so no buffer view may outlive the release. Release only once
+ * every reader has finished, as a read racing the release is not detected either.
+ */
+public final class OffHeapBody implements AutoCloseable {
+
+  private final OffHeapAllocator offHeapAllocator;
+  private final ByteBuffer block;
+  private final int size;
+  private final AtomicBoolean released = new AtomicBoolean();
+
+  OffHeapBody(OffHeapAllocator offHeapAllocator, ByteBuffer block, int size) {
+    this.offHeapAllocator = offHeapAllocator;
+    this.block = block;
+    this.size = size;
+  }
+
+  /**
+   * Get Size
+   *
+   * @return int, the body length in bytes
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Get a read-only view of the whole body, positioned at its start. The view must not be read
+   * once the body is released, as it still points at the returned memory.
+   *
+   * @return {@link ByteBuffer}
+   * @throws IllegalStateException where the body has been released
+   */
+  public ByteBuffer asByteBuffer() {
+    if (released.get()) {
+      throw new IllegalStateException("Off-heap body has been released.");
+    }
+    ByteBuffer view = block.asReadOnlyBuffer();
+    view.position(0).limit(size);
+    return view;
+  }
+
+  /**
+   * Get a stream over the body, whose reads throw {@link IOException} once the body is released.
+   *
+   * @return {@link InputStream}
+   * @throws IllegalStateException where the body has been released
+   */
+  public InputStream asInputStream() {
+    return new ViewInputStream(asByteBuffer());
+  }
+
+  /** Return the memory to the allocator. Further calls have no effect. */
+  public void release() {
+    // an empty body holds no block from the allocator
+    if (released.compareAndSet(false, true) && block.capacity() > 0) {
+      offHeapAllocator.release(block);
+    }
+  }
+
+  @Override
+  public void close() {
+    release();
+  }
+
+  private class ViewInputStream extends InputStream {
+
+    private final ByteBuffer view;
+
+    private ViewInputStream(ByteBuffer view) {
+      this.view = view;
+    }
+
+    @Override
+    public int read() throws IOException {
+      ensureHeld();
+      return view.hasRemaining() ? view.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+      ensureHeld();
+      if (length == 0) {
+        return 0;
+      }
+      if (!view.hasRemaining()) {
+        return -1;
+      }
+      int read = Math.min(length, view.remaining());
+      view.get(bytes, offset, read);
+      return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+      ensureHeld();
+      int skipped = (int) Math.max(0, Math.min(n, view.remaining()));
+      view.position(view.position() + skipped);
+      return skipped;
+    }
+
+    @Override
+    public int available() throws IOException {
+      ensureHeld();
+      return view.remaining();
+    }
+
+    private void ensureHeld() throws IOException {
+      if (released.get()) {
+        throw new IOException("Off-heap body has been released.");
+      }
+    }
+  }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+/**
+ * Progress Listener
+ *
+ * <p>Notified as a body is transferred, at most every 100ms and once more when it completes.
+ * Callbacks run on the thread doing the transfer and should return quickly.
+ */
+@FunctionalInterface
+public interface ProgressListener {
+
+  /**
+   * The transfer has moved on.
+   *
+   * @param progress {@link TransferProgress}
+   */
+  void onProgress(TransferProgress progress);
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Refreshing Token Provider
+ *
+ * <p>Caches the encoded header for an expiring token and renews it ahead of expiry on a background
+ * scheduler. Only one renewal is ever in flight; callers keep using the cached value while it is
+ * still valid and only block once it has actually expired. A token living no longer than the
+ * refresh ahead is renewed part way through its life, and renewals are never scheduled closer
+ * together than the retry delay. After a failed renewal, callers without a usable token fail at
+ * once until the retry delay has passed.
+ */
+public class RefreshingTokenProvider implements CredentialsProvider {
+
+  private static final Logger LOGGER = Logger.getLogger(RefreshingTokenProvider.class.getName());
+
+  private static final ScheduledExecutorService DEFAULT_SCHEDULER =
+      Executors.newSingleThreadScheduledExecutor(
+          runnable -> {
+            Thread thread = new Thread(runnable, "http-retriever4j-token-refresh");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final Callable<AccessToken> tokenSupplier;
+  private final HttpRetrieverAuthorization scheme;
+  private final long refreshAheadMillis;
+  private final long retryDelayMillis;
+  private final ScheduledExecutorService scheduler;
+  private final Clock clock;
+
+  private final AtomicReference<CompletableFuture<CachedToken>> refreshing =
+      new AtomicReference<>();
+  private volatile CachedToken current;
+  private volatile long nextAttemptMillis;
+  private volatile Exception lastFailure;
+
+  private RefreshingTokenProvider(RefreshingTokenProviderBuilder builder) {
+    this.tokenSupplier = builder.tokenSupplier;
+    this.scheme = builder.scheme;
+    this.refreshAheadMillis = builder.refreshAhead.toMillis();
+    this.retryDelayMillis = builder.retryDelay.toMillis();
+    this.scheduler = builder.scheduler;
+    this.clock = builder.clock;
+  }
+
+  @Override
+  public String getAuthorization() {
+    CachedToken cached = current;
+    long now = clock.millis();
+
+    if (cached != null && now < cached.expiresAtMillis) {
+      if (now >= cached.refreshAtMillis && now >= nextAttemptMillis) {
+        refresh();
+      }
+      return cached.authorization;
+    }
+
+    failFast(now);
+    return await(refresh()).authorization;
+  }
+
+  @Override
+  public boolean invalidate(String rejectedAuthorization) {
+    CachedToken cached = current;
+    if (cached != null && !cached.authorization.equals(rejectedAuthorization)) {
+      // another thread has already renewed the token
+      return true;
+    }
+
+    try {
+      failFast(clock.millis());
+      await(refresh());
+      return true;
+    } catch (RuntimeException ex) {
+      return false;
+    }
+  }
+
+  private void failFast(long now) {
+    // without a usable token callers would otherwise each retry a failing endpoint at once
+    Exception failure = lastFailure;
+    if (failure != null && now < nextAttemptMillis) {
+      throw new RuntimeException(failure.getLocalizedMessage(), failure);
+    }
+  }
+
+  private CompletableFuture<CachedToken> refresh() {
+    while (true) {
+      CompletableFuture<CachedToken> inFlight = refreshing.get();
+      if (inFlight != null) {
+        return inFlight;
+      }
+
+      CompletableFuture<CachedToken> future = new CompletableFuture<>();
+      if (refreshing.compareAndSet(null, future)) {
+        scheduler.execute(() -> fetch(future));
+        return future;
+      }
+    }
+  }
+
+  private void fetch(CompletableFuture<CachedToken> future) {
+    try {
+      AccessToken accessToken = tokenSupplier.call();
+      long now = clock.millis();
+      long expiresAtMillis = accessToken.getExpiresAt().toEpochMilli();
+      long lifetimeMillis = Math.max(0, expiresAtMillis - now);
+      // a token living no longer than the refresh ahead would be due again at once; renew it part
+      // way through its life instead
+      long refreshAtMillis =
+          Math.max(
+              now + Math.min(retryDelayMillis, lifetimeMillis / 2),
+              expiresAtMillis - refreshAheadMillis);
+      CachedToken cached =
+          new CachedToken(
+              String.valueOf(scheme.getAuthorization(accessToken.getToken())),
+              expiresAtMillis,
+              refreshAtMillis);
+      current = cached;
+      lastFailure = null;
+      refreshing.set(null);
+      future.complete(cached);
+
+      scheduler.schedule(
+          () -> {
+            if (current == cached) {
+              refresh();
+            }
+          },
+          Math.max(retryDelayMillis, refreshAtMillis - now),
+          TimeUnit.MILLISECONDS);
+    } catch (Exception ex) {
+      LOGGER.log(Level.WARNING, "Unable to refresh token: {0}", ex.getLocalizedMessage());
+      nextAttemptMillis = clock.millis() + retryDelayMillis;
+      lastFailure = ex;
+      refreshing.set(null);
+      future.completeExceptionally(ex);
+    }
+  }
+
+  private CachedToken await(CompletableFuture<CachedToken> future) {
+    try {
+      return future.join();
+    } catch (CompletionException ex) {
+      throw new RuntimeException(ex.getCause().getLocalizedMessage(), ex.getCause());
+    }
+  }
+
+  private static class CachedToken {
+
+    private final String authorization;
+    private final long expiresAtMillis;
+    private final long refreshAtMillis;
+
+    private CachedToken(String authorization, long expiresAtMillis, long refreshAtMillis) {
+      this.authorization = authorization;
+      this.expiresAtMillis = expiresAtMillis;
+      this.refreshAtMillis = refreshAtMillis;
+    }
+  }
+
+  /** Refreshing Token Provider Builder */
+  public static class RefreshingTokenProviderBuilder {
+
+    private Callable<AccessToken> tokenSupplier;
+    private HttpRetrieverAuthorization scheme = HttpRetrieverAuthorization.BEARER;
+    private Duration refreshAhead = Duration.ofSeconds(60);
+    private Duration retryDelay = Duration.ofSeconds(5);
+    private ScheduledExecutorService scheduler = DEFAULT_SCHEDULER;
+    private Clock clock = Clock.systemUTC();
+
+    /**
+     * Set the token supplier, typically a call to an OAuth token endpoint.
+     *
+     * @param tokenSupplier {@link Callable} of {@link AccessToken}
+     * @return {@link RefreshingTokenProviderBuilder}
+     */
+    public RefreshingTokenProviderBuilder setTokenSupplier(Callable<AccessToken> tokenSupplier) {
+      this.tokenSupplier = tokenSupplier;
+      return this;
+    }
+
+    /**
+     * Set the authorization scheme, defaults to {@link HttpRetrieverAuthorization#BEARER}.
+     *
+     * @param scheme {@link HttpRetrieverAuthorization}
+     * @return {@link RefreshingTokenProviderBuilder}
+     */
+    public RefreshingTokenProviderBuilder setScheme(HttpRetrieverAuthorization scheme) {
+      this.scheme = scheme;
+      return this;
+    }
+
+    /**
+     * Set how long before expiry the token is renewed, defaults to 60 seconds.
+     *
+     * @param refreshAhead {@link Duration}
+     * @return {@link RefreshingTokenProviderBuilder}
+     */
+    public RefreshingTokenProviderBuilder setRefreshAhead(Duration refreshAhead) {
+      this.refreshAhead = refreshAhead;
+      return this;
+    }
+
+    /**
+     * Set the minimum delay between renewal attempts after a failure, defaults to 5 seconds.
+     *
+     * @param retryDelay {@link Duration}
+     * @return {@link RefreshingTokenProviderBuilder}
+     */
+    public RefreshingTokenProviderBuilder setRetryDelay(Duration retryDelay) {
+      this.retryDelay = retryDelay;
+      return this;
+    }
+
+    /**
+     * Set the scheduler renewals run on, defaults to a shared daemon thread.
+     *
+     * @param scheduler {@link ScheduledExecutorService}
+     * @return {@link RefreshingTokenProviderBuilder}
+     */
+    public RefreshingTokenProviderBuilder setScheduler(ScheduledExecutorService scheduler) {
+      this.scheduler = scheduler;
+      return this;
+    }
+
+    /**
+     * Set the clock used to judge expiry.
+     *
+     * @param clock {@link Clock}
+     * @return {@link RefreshingTokenProviderBuilder}
+     */
+    public RefreshingTokenProviderBuilder setClock(Clock clock) {
+      this.clock = clock;
+      return this;
+    }
+
+    /**
+     * Build {@link RefreshingTokenProvider}. May throw {@link NoSuchElementException} where a
+     * required element is missing.
+     *
+     * @return {@link RefreshingTokenProvider}
+     */
+    public RefreshingTokenProvider build() {
+      validate(tokenSupplier, "token supplier");
+      validate(scheme, "authorization scheme");
+      validate(refreshAhead, "refresh ahead");
+      validate(retryDelay, "retry delay");
+      validate(scheduler, "scheduler");
+      validate(clock, "clock");
+
+      return new RefreshingTokenProvider(this);
+    }
+
+    private <T> T validate(T value, String field) {
+      return Optional.ofNullable(value)
+          .orElseThrow(
+              () -> new NoSuchElementException(String.format("Missing required %s.", field)));
+    }
+  }
+}
@@ -0,0 +1,415 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Request Scheduler
+ *
+ * <p>Runs retrievals on a fixed number of workers, bounding the connections opened upstream.
+ * Waiting requests are served by {@link RequestPriority}, with some workers reserved for {@link
+ * RequestPriority#INTERACTIVE} so a burst of lower priority work cannot hold every worker. A lower
+ * class passed over {@value #STARVATION_LIMIT} times in a row is served next, so a steady stream of
+ * higher priority work cannot starve it. Within a priority class, tenants share the workers in
+ * proportion to their weight using start-time fair queueing, so one busy tenant cannot monopolise
+ * its class. Each class has a bounded queue and rejects with {@link RejectedExecutionException}
+ * once full.
+ */
+public class RequestScheduler {
+
+  private static final String DEFAULT_TENANT = "";
+  private static final int STARVATION_LIMIT = 16;
+
+  private final Map<String, Integer> tenantWeights;
+  private final Map<RequestPriority, ClassQueue> queues = new EnumMap<>(RequestPriority.class);
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition available = lock.newCondition();
+  private final List<Thread> workers = new ArrayList<>();
+  private final int sharedWorkers;
+
+  private boolean shutdown;
+  private long sequence;
+  private int sharedRunning;
+
+  private RequestScheduler(RequestSchedulerBuilder builder) {
+    this.tenantWeights = Map.copyOf(builder.tenantWeights);
+    this.sharedWorkers = builder.maxConcurrency - builder.reservedInteractive();
+    for (RequestPriority priority : RequestPriority.values()) {
+      queues.put(
+          priority,
+          new ClassQueue(
+              priority, builder.queueCapacities.getOrDefault(priority, builder.queueCapacity)));
+    }
+    for (int i = 0; i < builder.maxConcurrency; i++) {
+      Thread worker = new Thread(this::work, "http-retriever4j-scheduler-" + i);
+      worker.setDaemon(true);
+      workers.add(worker);
+      worker.start();
+    }
+  }
+
+  /**
+   * Submit a retrieval.
+   *
+   * @param <T> response type
+   * @param httpRetriever {@link HttpRetriever}
+   * @param responseFunction response function
+   * @param priority {@link RequestPriority}
+   * @param tenant tenant or tag the request is accounted to
+   * @return {@link CompletableFuture} completed with the response
+   * @throws RejectedExecutionException where the priority class queue is full
+   */
+  public <T> CompletableFuture<T> submit(
+      HttpRetriever httpRetriever,
+      Function<InputStream, T> responseFunction,
+      RequestPriority priority,
+      String tenant) {
+    return submit(() -> httpRetriever.retrieve(responseFunction), priority, tenant);
+  }
+
+  /**
+   * Submit any unit of upstream work.
+   *
+   * @param <T> result type
+   * @param task {@link Callable}
+   * @param priority {@link RequestPriority}
+   * @param tenant tenant or tag the request is accounted to
+   * @return {@link CompletableFuture} completed with the result
+   * @throws RejectedExecutionException where the priority class queue is full
+   */
+  public <T> CompletableFuture<T> submit(
+      Callable<T> task, RequestPriority priority, String tenant) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    ScheduledTask scheduledTask =
+        new ScheduledTask(
+            () -> {
+              try {
+                future.complete(task.call());
+              } catch (Throwable ex) {
+                future.completeExceptionally(ex);
+              }
+            },
+            Optional.ofNullable(tenant).orElse(DEFAULT_TENANT));
+
+    ClassQueue queue =
+        queues.get(
+            Optional.ofNullable(priority)
+                .orElseThrow(() -> new NoSuchElementException("Missing required priority.")));
+    lock.lock();
+    try {
+      if (shutdown) {
+        throw new RejectedExecutionException("Scheduler has been shut down");
+      }
+      if (queue.tasks.size() >= queue.capacity) {
+        queue.rejected++;
+        throw new RejectedExecutionException(
+            String.format("%s queue is full (%d)", priority, queue.capacity));
+      }
+      queue.submitted++;
+      queue.offer(scheduledTask, sequence++);
+      available.signal();
+    } finally {
+      lock.unlock();
+    }
+    return future;
+  }
+
+  /**
+   * Get the queue metrics for a priority class.
+   *
+   * @param priority {@link RequestPriority}
+   * @return {@link SchedulerMetrics}
+   */
+  public SchedulerMetrics getMetrics(RequestPriority priority) {
+    lock.lock();
+    try {
+      ClassQueue queue = queues.get(priority);
+      return new SchedulerMetrics(
+          priority,
+          queue.tasks.size(),
+          queue.submitted,
+          queue.rejected,
+          queue.started,
+          queue.totalQueueNanos,
+          queue.maxQueueNanos);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Stop accepting work. Queued requests still run; workers exit once the queues drain. */
+  public void shutdown() {
+    lock.lock();
+    try {
+      shutdown = true;
+      available.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void work() {
+    while (true) {
+      ScheduledTask scheduledTask;
+      lock.lock();
+      try {
+        while ((scheduledTask = poll()) == null) {
+          if (shutdown) {
+            return;
+          }
+          available.awaitUninterruptibly();
+        }
+      } finally {
+        lock.unlock();
+      }
+      try {
+        scheduledTask.runnable.run();
+      } finally {
+        done(scheduledTask);
+      }
+    }
+  }
+
+  private ScheduledTask poll() {
+    ClassQueue next = null;
+    for (ClassQueue queue : queues.values()) {
+      if (!queue.tasks.isEmpty() && admits(queue)) {
+        if (queue.skipped >= STARVATION_LIMIT) {
+          next = queue;
+          break;
+        }
+        if (next == null) {
+          next = queue;
+        }
+      }
+    }
+    if (next == null) {
+      return null;
+    }
+
+    for (ClassQueue queue : queues.values()) {
+      if (queue != next && queue.priority.compareTo(next.priority) > 0 && !queue.tasks.isEmpty()) {
+        queue.skipped++;
+      }
+    }
+    next.skipped = 0;
+    if (next.priority != RequestPriority.INTERACTIVE) {
+      sharedRunning++;
+    }
+    return next.poll();
+  }
+
+  private boolean admits(ClassQueue queue) {
+    // the reserved workers only ever take interactive work
+    return queue.priority == RequestPriority.INTERACTIVE || sharedRunning < sharedWorkers;
+  }
+
+  private void done(ScheduledTask scheduledTask) {
+    if (scheduledTask.priority == RequestPriority.INTERACTIVE) {
+      return;
+    }
+    lock.lock();
+    try {
+      sharedRunning--;
+      // a worker may be waiting on the shared limit rather than on an empty queue
+      available.signal();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private int weight(String tenant) {
+    return Math.max(1, tenantWeights.getOrDefault(tenant, 1));
+  }
+
+  private static class ScheduledTask {
+
+    private final Runnable runnable;
+    private final String tenant;
+    private final long enqueuedNanos = System.nanoTime();
+    private RequestPriority priority;
+    private double startTag;
+    private long sequence;
+
+    private ScheduledTask(Runnable runnable, String tenant) {
+      this.runnable = runnable;
+      this.tenant = tenant;
+    }
+  }
+
+  /** One priority class, guarded by the scheduler lock. */
+  private class ClassQueue {
+
+    private final RequestPriority priority;
+    private final int capacity;
+    private final PriorityQueue<ScheduledTask> tasks =
+        new PriorityQueue<>(
+            Comparator.comparingDouble((ScheduledTask task) -> task.startTag)
+                .thenComparingLong(task -> task.sequence));
+    private final Map<String, Double> finishTags = new HashMap<>();
+
+    private double virtualTime;
+    private long submitted;
+    private long rejected;
+    private long started;
+    private long totalQueueNanos;
+    private long maxQueueNanos;
+    private int skipped;
+
+    private ClassQueue(RequestPriority priority, int capacity) {
+      this.priority = priority;
+      this.capacity = capacity;
+    }
+
+    private void offer(ScheduledTask scheduledTask, long sequence) {
+      double startTag = Math.max(virtualTime, finishTags.getOrDefault(scheduledTask.tenant, 0d));
+      finishTags.put(scheduledTask.tenant, startTag + 1d / weight(scheduledTask.tenant));
+      scheduledTask.startTag = startTag;
+      scheduledTask.sequence = sequence;
+      scheduledTask.priority = priority;
+      tasks.offer(scheduledTask);
+    }
+
+    private ScheduledTask poll() {
+      ScheduledTask scheduledTask = tasks.poll();
+      if (scheduledTask == null) {
+        return null;
+      }
+      if (tasks.isEmpty()) {
+        // idle: forget per-tenant history so the map does not grow with the tenant count
+        finishTags.clear();
+        virtualTime = 0;
+      } else {
+        virtualTime = scheduledTask.startTag;
+      }
+
+      long queueNanos = System.nanoTime() - scheduledTask.enqueuedNanos;
+      started++;
+      totalQueueNanos += queueNanos;
+      maxQueueNanos = Math.max(maxQueueNanos, queueNanos);
+      return scheduledTask;
+    }
+  }
+
+  /** Request Scheduler Builder */
+  public static class RequestSchedulerBuilder {
+
+    private int maxConcurrency = Runtime.getRuntime().availableProcessors();
+    private int queueCapacity = 1024;
+    private Integer reservedInteractive;
+    private final Map<RequestPriority, Integer> queueCapacities =
+        new EnumMap<>(RequestPriority.class);
+    private final Map<String, Integer> tenantWeights = new HashMap<>();
+
+    /**
+     * Set the maximum number of retrievals in flight, defaults to the number of processors.
+     *
+     * @param maxConcurrency int
+     * @return {@link RequestSchedulerBuilder}
+     */
+    public RequestSchedulerBuilder setMaxConcurrency(int maxConcurrency) {
+      this.maxConcurrency = maxConcurrency;
+      return this;
+    }
+
+    /**
+     * Set the workers kept for {@link RequestPriority#INTERACTIVE} requests alone, defaults to a
+     * quarter of the max concurrency and at least one where there is more than one worker.
+     *
+     * @param reservedInteractive int
+     * @return {@link RequestSchedulerBuilder}
+     */
+    public RequestSchedulerBuilder setReservedInteractive(int reservedInteractive) {
+      this.reservedInteractive = reservedInteractive;
+      return this;
+    }
+
+    /**
+     * Set the queue capacity for every priority class, defaults to 1024.
+     *
+     * @param queueCapacity int
+     * @return {@link RequestSchedulerBuilder}
+     */
+    public RequestSchedulerBuilder setQueueCapacity(int queueCapacity) {
+      this.queueCapacity = queueCapacity;
+      return this;
+    }
+
+    /**
+     * Set the queue capacity for one priority class.
+     *
+     * @param priority {@link RequestPriority}
+     * @param queueCapacity int
+     * @return {@link RequestSchedulerBuilder}
+     */
+    public RequestSchedulerBuilder setQueueCapacity(RequestPriority priority, int queueCapacity) {
+      queueCapacities.put(priority, queueCapacity);
+      return this;
+    }
+
+    /**
+     * Set a tenant's share of the workers within a priority class, defaults to 1.
+     *
+     * @param tenant tenant or tag
+     * @param weight int
+     * @return {@link RequestSchedulerBuilder}
+     */
+    public RequestSchedulerBuilder setTenantWeight(String tenant, int weight) {
+      tenantWeights.put(tenant, weight);
+      return this;
+    }
+
+    /**
+     * Build {@link RequestScheduler}, starting its workers.
+     *
+     * @return {@link RequestScheduler}
+     */
+    public RequestScheduler build() {
+      if (maxConcurrency < 1) {
+        throw new IllegalArgumentException("Max concurrency must be at least 1.");
+      }
+      if (queueCapacity < 0 || queueCapacities.values().stream().anyMatch(c -> c < 0)) {
+        throw new IllegalArgumentException("Queue capacity cannot be negative.");
+      }
+      if (reservedInteractive() < 0 || reservedInteractive() >= maxConcurrency) {
+        throw new IllegalArgumentException(
+            "Reserved interactive workers must leave at least one shared worker.");
+      }
+      return new RequestScheduler(this);
+    }
+
+    private int reservedInteractive() {
+      return Optional.ofNullable(reservedInteractive)
+          .orElse(maxConcurrency > 1 ? Math.max(1, maxConcurrency / 4) : 0);
+    }
+  }
+}
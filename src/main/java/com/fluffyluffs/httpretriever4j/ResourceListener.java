@@ -0,0 +1,40 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+/**
+ * Resource Listener
+ *
+ * <p>Notified by a {@link ResourceWatcher} when a watched resource changes. Callbacks run on the
+ * watcher's threads and should return quickly; hand anything expensive off to another thread.
+ */
+public interface ResourceListener {
+
+  /**
+   * The resource was retrieved for the first time or its content has changed.
+   *
+   * @param snapshot {@link ResourceSnapshot}
+   */
+  void onChange(ResourceSnapshot snapshot);
+
+  /**
+   * A poll failed or was answered with an unexpected status; polling continues.
+   *
+   * @param ex {@link Exception}
+   */
+  default void onError(Exception ex) {}
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.Optional;
+
+/** Resource Snapshot, the content of a watched resource and the validators it was served with. */
+public class ResourceSnapshot {
+
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+  private final int statusCode;
+  private final byte[] body;
+  private final byte[] contentHash;
+  private final String eTag;
+  private final String lastModified;
+
+  ResourceSnapshot(
+      int statusCode, byte[] body, byte[] contentHash, String eTag, String lastModified) {
+    this.statusCode = statusCode;
+    this.body = body;
+    this.contentHash = contentHash;
+    this.eTag = eTag;
+    this.lastModified = lastModified;
+  }
+
+  public int getStatusCode() {
+    return statusCode;
+  }
+
+  /**
+   * Get the body.
+   *
+   * @return read-only {@link ByteBuffer}
+   */
+  public ByteBuffer getBody() {
+    return ByteBuffer.wrap(body).asReadOnlyBuffer();
+  }
+
+  /**
+   * Get the SHA-256 of the body as hex.
+   *
+   * @return {@link String}
+   */
+  public String getContentHash() {
+    StringBuilder stringBuilder = new StringBuilder(contentHash.length * 2);
+    for (byte b : contentHash) {
+      stringBuilder.append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+    }
+    return stringBuilder.toString();
+  }
+
+  public Optional<String> getETag() {
+    return Optional.ofNullable(eTag);
+  }
+
+  public Optional<String> getLastModified() {
+    return Optional.ofNullable(lastModified);
+  }
+
+  boolean hasSameContent(ResourceSnapshot other) {
+    return other != null && MessageDigest.isEqual(contentHash, other.contentHash);
+  }
+}
@@ -0,0 +1,365 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Resource Watcher
+ *
+ * <p>Polls resources on a jittered schedule and notifies a {@link ResourceListener} only when their
+ * content changes. Each poll is a conditional GET carrying the previous {@code ETag} and {@code
+ * Last-Modified}, so an unchanged resource costs a 304 with no body; where the server does not
+ * support validators the content hash decides whether anything changed. A watch reschedules itself
+ * once its poll completes, so polls of one resource never overlap and a slow upstream is polled
+ * less often rather than piling up.
+ *
+ * <p>Every watch shares the watcher's scheduler pool, and a poll holds one of its threads for the
+ * whole round trip, up to the read timeout where an upstream stalls. While every thread waits on a
+ * slow upstream, polls of every other resource are delayed, so size the pool with {@link
+ * ResourceWatcherBuilder#setThreads(int)} for the polls in flight at once and bound each poll with
+ * {@link ResourceWatcherBuilder#setPollTimeout(Duration)}.
+ */
+public class ResourceWatcher {
+
+  private static final Logger LOGGER = Logger.getLogger(ResourceWatcher.class.getName());
+
+  private static final String ETAG = "ETag";
+  private static final String LAST_MODIFIED = "Last-Modified";
+  private static final String IF_NONE_MATCH = "If-None-Match";
+  private static final String IF_MODIFIED_SINCE = "If-Modified-Since";
+
+  private final ScheduledExecutorService scheduler;
+  private final double jitter;
+  private final Duration pollTimeout;
+
+  private ResourceWatcher(ResourceWatcherBuilder builder) {
+    this.jitter = builder.jitter;
+    this.pollTimeout = builder.pollTimeout;
+    this.scheduler =
+        Optional.ofNullable(builder.scheduler)
+            .orElseGet(
+                () -> {
+                  ScheduledThreadPoolExecutor executor =
+                      new ScheduledThreadPoolExecutor(
+                          builder.threads,
+                          runnable -> {
+                            Thread thread = new Thread(runnable, "http-retriever4j-watcher");
+                            thread.setDaemon(true);
+                            return thread;
+                          });
+                  executor.setRemoveOnCancelPolicy(true);
+                  return executor;
+                });
+  }
+
+  /**
+   * Watch a resource, polling it first after a random fraction of the jitter and then every
+   * interval, give or take the jitter.
+   *
+   * @param criteria {@link HttpRetrieverCriteria} of the resource
+   * @param interval {@link Duration} between polls
+   * @param listener {@link ResourceListener}
+   * @return {@link Watch}
+   */
+  public Watch watch(
+      HttpRetrieverCriteria criteria, Duration interval, ResourceListener listener) {
+    HttpRetrieverCriteria polled =
+        Optional.ofNullable(criteria)
+            .orElseThrow(() -> new NoSuchElementException("Missing required criteria."));
+    if (pollTimeout != null) {
+      polled = polled.toBuilder().setReadTimeout(pollTimeout).build();
+    }
+    Watch watch =
+        new Watch(
+            polled,
+            interval.toNanos(),
+            Optional.ofNullable(listener)
+                .orElseThrow(() -> new NoSuchElementException("Missing required listener.")));
+    long spread = (long) (interval.toNanos() * jitter);
+    watch.schedule(spread == 0 ? 0 : ThreadLocalRandom.current().nextLong(spread));
+    return watch;
+  }
+
+  /** Stop polling all watches. */
+  public void shutdown() {
+    scheduler.shutdownNow();
+  }
+
+  /** A watched resource. */
+  public final class Watch {
+
+    private final HttpRetrieverCriteria criteria;
+    private final long intervalNanos;
+    private final ResourceListener listener;
+    private final HttpRetriever retriever;
+
+    private final AtomicLong polls = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong changes = new AtomicLong();
+    private volatile ResourceSnapshot current;
+    private volatile boolean cancelled;
+    // polls of one watch never overlap, and each is handed to the next through the scheduler
+    private HttpRetriever conditional;
+    private ResourceSnapshot validated;
+
+    private Watch(HttpRetrieverCriteria criteria, long intervalNanos, ResourceListener listener) {
+      this.criteria = criteria;
+      this.intervalNanos = intervalNanos;
+      this.listener = listener;
+      this.retriever = new HttpRetriever(criteria);
+    }
+
+    /** Stop polling this resource. A poll already running completes without notifying. */
+    public void cancel() {
+      cancelled = true;
+    }
+
+    public boolean isCancelled() {
+      return cancelled;
+    }
+
+    /**
+     * Get the latest content retrieved.
+     *
+     * @return {@link Optional} of {@link ResourceSnapshot}, empty before the first retrieval
+     */
+    public Optional<ResourceSnapshot> getCurrent() {
+      return Optional.ofNullable(current);
+    }
+
+    public long getPolls() {
+      return polls.get();
+    }
+
+    /**
+     * Get the number of polls answered with 304 Not Modified.
+     *
+     * @return long
+     */
+    public long getNotModified() {
+      return notModified.get();
+    }
+
+    /**
+     * Get the number of changes notified, including the first retrieval.
+     *
+     * @return long
+     */
+    public long getChanges() {
+      return changes.get();
+    }
+
+    private void schedule(long delayNanos) {
+      if (!cancelled && !scheduler.isShutdown()) {
+        scheduler.schedule(this::poll, delayNanos, TimeUnit.NANOSECONDS);
+      }
+    }
+
+    private void poll() {
+      if (cancelled) {
+        return;
+      }
+      try {
+        polls.incrementAndGet();
+        ResourceSnapshot previous = current;
+        ResourceSnapshot snapshot = retriever(previous).retrieveWith(HashingSink::new);
+
+        if (cancelled) {
+          return;
+        }
+        if (snapshot.getStatusCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+          notModified.incrementAndGet();
+        } else if (snapshot.getStatusCode() / 100 != 2) {
+          notifyError(
+              new IOException(String.format("Watch polled status %d", snapshot.getStatusCode())));
+        } else {
+          // kept even when unchanged so the newest validators are sent next time
+          current = snapshot;
+          if (!snapshot.hasSameContent(previous)) {
+            changes.incrementAndGet();
+            listener.onChange(snapshot);
+          }
+        }
+      } catch (RuntimeException ex) {
+        LOGGER.log(Level.FINE, ex.getLocalizedMessage(), ex);
+        notifyError(ex);
+      } finally {
+        double spread = jitter * (2 * ThreadLocalRandom.current().nextDouble() - 1);
+        schedule((long) (intervalNanos * (1 + spread)));
+      }
+    }
+
+    private void notifyError(Exception ex) {
+      try {
+        listener.onError(ex);
+      } catch (RuntimeException listenerEx) {
+        LOGGER.log(Level.SEVERE, listenerEx.getLocalizedMessage(), listenerEx);
+      }
+    }
+
+    /** Reuses the retriever for as long as the validators it sends are still the latest. */
+    private HttpRetriever retriever(ResourceSnapshot previous) {
+      if (previous == null
+          || previous.getETag().isEmpty() && previous.getLastModified().isEmpty()) {
+        return retriever;
+      }
+      if (conditional == null
+          || !previous.getETag().equals(validated.getETag())
+          || !previous.getLastModified().equals(validated.getLastModified())) {
+        HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder builder = criteria.toBuilder();
+        previous.getETag().ifPresent(eTag -> builder.setHeader(new Header(IF_NONE_MATCH, eTag)));
+        previous
+            .getLastModified()
+            .ifPresent(
+                lastModified -> builder.setHeader(new Header(IF_MODIFIED_SINCE, lastModified)));
+        conditional = new HttpRetriever(builder.build());
+        validated = previous;
+      }
+      return conditional;
+    }
+  }
+
+  /** Collects the body while hashing it, so no second pass is needed to detect a change. */
+  private static class HashingSink implements BodySink<ResourceSnapshot> {
+
+    private final ResponseInfo responseInfo;
+    private final MessageDigest messageDigest;
+    private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+    private final byte[] buffer = new byte[8192];
+
+    private HashingSink(ResponseInfo responseInfo) {
+      this.responseInfo = responseInfo;
+      try {
+        this.messageDigest = MessageDigest.getInstance("SHA-256");
+      } catch (NoSuchAlgorithmException ex) {
+        throw new IllegalStateException(ex);
+      }
+    }
+
+    @Override
+    public void accept(ByteBuffer chunk) {
+      while (chunk.hasRemaining()) {
+        int length = Math.min(buffer.length, chunk.remaining());
+        chunk.get(buffer, 0, length);
+        messageDigest.update(buffer, 0, length);
+        body.write(buffer, 0, length);
+      }
+    }
+
+    @Override
+    public ResourceSnapshot finish() {
+      return new ResourceSnapshot(
+          responseInfo.getStatusCode(),
+          body.toByteArray(),
+          messageDigest.digest(),
+          responseInfo.getHeader(ETAG).orElse(null),
+          responseInfo.getHeader(LAST_MODIFIED).orElse(null));
+    }
+  }
+
+  /** Resource Watcher Builder */
+  public static class ResourceWatcherBuilder {
+
+    private int threads = 2;
+    private double jitter = 0.1;
+    private Duration pollTimeout;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Set the number of polling threads, defaults to 2. Each poll holds a thread until its
+     * response is read, so set at least the number of polls expected in flight at once. Ignored
+     * where a scheduler is set.
+     *
+     * @param threads int
+     * @return {@link ResourceWatcherBuilder}
+     */
+    public ResourceWatcherBuilder setThreads(int threads) {
+      this.threads = threads;
+      return this;
+    }
+
+    /**
+     * Set the fraction of the interval each poll is moved by at random, defaults to 0.1. Spreads
+     * polls of resources watched at the same interval rather than sending them together.
+     *
+     * @param jitter between 0 and 1
+     * @return {@link ResourceWatcherBuilder}
+     */
+    public ResourceWatcherBuilder setJitter(double jitter) {
+      this.jitter = jitter;
+      return this;
+    }
+
+    /**
+     * Set the longest a poll waits for the response or for each read of its body, overriding the
+     * read timeout of each watched criteria. A poll that times out is reported to {@link
+     * ResourceListener#onError(Exception)} and the resource polled again at the next interval.
+     *
+     * @param pollTimeout {@link Duration}
+     * @return {@link ResourceWatcherBuilder}
+     */
+    public ResourceWatcherBuilder setPollTimeout(Duration pollTimeout) {
+      this.pollTimeout = pollTimeout;
+      return this;
+    }
+
+    /**
+     * Set the scheduler polls run on, defaults to a pool of daemon threads.
+     *
+     * @param scheduler {@link ScheduledExecutorService}
+     * @return {@link ResourceWatcherBuilder}
+     */
+    public ResourceWatcherBuilder setScheduler(ScheduledExecutorService scheduler) {
+      this.scheduler = scheduler;
+      return this;
+    }
+
+    /**
+     * Build {@link ResourceWatcher}
+     *
+     * @return {@link ResourceWatcher}
+     */
+    public ResourceWatcher build() {
+      if (threads < 1) {
+        throw new IllegalArgumentException("Threads must be at least 1.");
+      }
+      if (jitter < 0d || jitter > 1d) {
+        throw new IllegalArgumentException("Jitter must be between 0 and 1.");
+      }
+      if (pollTimeout != null && (pollTimeout.isNegative() || pollTimeout.isZero())) {
+        throw new IllegalArgumentException("Poll timeout must be positive.");
+      }
+      return new ResourceWatcher(this);
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/** Response Info, the status line and headers handed to a {@link BodyHandler}. */
+public class ResponseInfo {
+
+  private final int statusCode;
+  private final Map<String, List<String>> headers;
+  private final long contentLength;
+
+  /**
+   * Response Info
+   *
+   * @param statusCode HTTP status code
+   * @param headers response headers, entries with a null name are ignored
+   * @param contentLength declared body length or -1 where unknown
+   */
+  public ResponseInfo(int statusCode, Map<String, List<String>> headers, long contentLength) {
+    this.statusCode = statusCode;
+    Map<String, List<String>> caseInsensitive = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    Optional.ofNullable(headers)
+        .ifPresent(
+            h ->
+                h.forEach(
+                    (name, values) -> {
+                      if (name != null && values != null) {
+                        caseInsensitive.put(name, List.copyOf(values));
+                      }
+                    }));
+    this.headers = Collections.unmodifiableMap(caseInsensitive);
+    this.contentLength = contentLength;
+  }
+
+  public int getStatusCode() {
+    return statusCode;
+  }
+
+  /**
+   * Get the response headers, keyed case insensitively.
+   *
+   * @return unmodifiable {@link Map}
+   */
+  public Map<String, List<String>> getHeaders() {
+    return headers;
+  }
+
+  /**
+   * Get the first value of a header.
+   *
+   * @param name header name, case insensitive
+   * @return {@link Optional} of {@link String}
+   */
+  public Optional<String> getHeader(String name) {
+    return Optional.ofNullable(headers.get(name))
+        .filter(values -> !values.isEmpty())
+        .map(values -> values.get(0));
+  }
+
+  /**
+   * Get the declared body length.
+   *
+   * @return long, -1 where unknown
+   */
+  public long getContentLength() {
+    return contentLength;
+  }
+}
@@ -0,0 +1,561 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.net.MalformedURLException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Result Cache
+ *
+ * <p>Memoizes parsed results by request and parser, so a hot lookup is a map read rather than a
+ * retrieval and a parse. A result is fresh for its time to live; for the stale window after that
+ * it is still returned immediately while a single background refresh revalidates it. Beyond the
+ * stale window, and on a miss, the caller retrieves synchronously, with concurrent callers for the
+ * same key sharing one retrieval. Only successful responses are cached.
+ *
+ * <p>Requests are keyed by method, URL, body, headers and credentials, so callers that differ in
+ * any of them never share a result; credentials providers other than a static authorization are
+ * keyed by identity. Parsers are keyed by identity too, so hold the one instance in a field rather
+ * than passing a new lambda each call. Bounded by entry count and optionally total weight,
+ * evicting the least recently or least frequently used of a small sample of entries, so eviction
+ * approximates the policy at a constant cost. Frequencies are halved after each cache's worth of
+ * loads, so that once popular entries do not stay forever. The request key is derived once
+ * per criteria, so reuse a criteria for a hot request to make each hit a single map lookup.
+ *
+ * <p>Thread safe: one cache is normally shared by a whole service.
+ */
+public class ResultCache {
+
+  private static final Logger LOGGER = Logger.getLogger(ResultCache.class.getName());
+
+  private static final int EVICTION_SAMPLE = 8;
+
+  private static final Executor DEFAULT_EXECUTOR =
+      Executors.newCachedThreadPool(
+          runnable -> {
+            Thread thread = new Thread(runnable, "http-retriever4j-cache-refresh");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  public enum EvictionPolicy {
+    LRU,
+    LFU;
+  }
+
+  private final long timeToLiveNanos;
+  private final long staleWhileRevalidateNanos;
+  private final int maxEntries;
+  private final long maxWeight;
+  private final ToLongFunction<Object> weigher;
+  private final EvictionPolicy evictionPolicy;
+  private final Executor executor;
+
+  private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+  private final Map<Key, CompletableFuture<Entry>> loading = new ConcurrentHashMap<>();
+  private final AtomicLong weight = new AtomicLong();
+  private final Object evictionLock = new Object();
+  private final AtomicLong loads = new AtomicLong();
+  // guarded by evictionLock; resumed by each eviction so that samples rotate through the entries
+  private Iterator<Map.Entry<Key, Entry>> evictionCursor = Collections.emptyIterator();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder staleHits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder loadFailures = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  private ResultCache(ResultCacheBuilder builder) {
+    this.timeToLiveNanos = builder.timeToLive.toNanos();
+    this.staleWhileRevalidateNanos = builder.staleWhileRevalidate.toNanos();
+    this.maxEntries = builder.maxEntries;
+    this.maxWeight = builder.maxWeight;
+    this.weigher = builder.weigher;
+    this.evictionPolicy = builder.evictionPolicy;
+    this.executor = builder.executor;
+  }
+
+  /**
+   * Get the parsed result of a request, retrieving and parsing only where it is not cached or has
+   * gone past its stale window.
+   *
+   * @param <T> result type
+   * @param criteria {@link HttpRetrieverCriteria}
+   * @param parser reads the body stream to its end; the same instance each call
+   * @return T
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(HttpRetrieverCriteria criteria, Function<InputStream, T> parser) {
+    Key key = new Key(requestKey(criteria), parser);
+    long now = System.nanoTime();
+
+    Entry entry = entries.get(key);
+    if (entry != null) {
+      long age = now - entry.loadedNanos;
+      if (age < timeToLiveNanos) {
+        entry.touch(now);
+        hits.increment();
+        return (T) entry.value;
+      }
+      if (age < timeToLiveNanos + staleWhileRevalidateNanos) {
+        entry.touch(now);
+        staleHits.increment();
+        refresh(key, criteria, parser, entry);
+        return (T) entry.value;
+      }
+    }
+
+    misses.increment();
+    return (T) load(key, criteria, parser).value;
+  }
+
+  /**
+   * Drop every result cached for a request, whatever its parser.
+   *
+   * @param criteria {@link HttpRetrieverCriteria}
+   */
+  public void invalidate(HttpRetrieverCriteria criteria) {
+    RequestKey requestKey = requestKey(criteria);
+    entries.keySet().stream()
+        .filter(key -> key.request.equals(requestKey))
+        .forEach(this::remove);
+  }
+
+  /** Drop every cached result. */
+  public void invalidateAll() {
+    entries.keySet().forEach(this::remove);
+  }
+
+  /**
+   * Get the cache metrics.
+   *
+   * @return {@link CacheMetrics}
+   */
+  public CacheMetrics getMetrics() {
+    return new CacheMetrics(
+        hits.sum(),
+        staleHits.sum(),
+        misses.sum(),
+        loadFailures.sum(),
+        evictions.sum(),
+        entries.size(),
+        weight.get());
+  }
+
+  private void refresh(
+      Key key, HttpRetrieverCriteria criteria, Function<InputStream, ?> parser, Entry entry) {
+    if (entry.refreshing.compareAndSet(false, true)) {
+      executor.execute(
+          () -> {
+            try {
+              load(key, criteria, parser);
+            } catch (RuntimeException ex) {
+              // keep serving the stale value, letting a later read try again
+              entry.refreshing.set(false);
+              LOGGER.log(Level.FINE, ex.getLocalizedMessage(), ex);
+            }
+          });
+    }
+  }
+
+  private Entry load(Key key, HttpRetrieverCriteria criteria, Function<InputStream, ?> parser) {
+    CompletableFuture<Entry> future = new CompletableFuture<>();
+    CompletableFuture<Entry> inFlight = loading.putIfAbsent(key, future);
+    if (inFlight != null) {
+      try {
+        return inFlight.join();
+      } catch (CompletionException ex) {
+        throw ex.getCause() instanceof RuntimeException
+            ? (RuntimeException) ex.getCause()
+            : ex;
+      }
+    }
+
+    try {
+      Object value =
+          new HttpRetriever(criteria).retrieveWith(responseInfo -> sink(responseInfo, parser));
+      Entry entry = new Entry(value, weigher.applyAsLong(value), System.nanoTime());
+      Entry replaced = entries.put(key, entry);
+      weight.addAndGet(entry.weight - (replaced == null ? 0 : replaced.weight));
+      if (evictionPolicy == EvictionPolicy.LFU && loads.incrementAndGet() % maxEntries == 0) {
+        entries.values().forEach(aged -> aged.frequency >>= 1);
+      }
+      evict();
+      future.complete(entry);
+      return entry;
+    } catch (RuntimeException ex) {
+      loadFailures.increment();
+      future.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      loading.remove(key, future);
+    }
+  }
+
+  private static BodySink<Object> sink(ResponseInfo responseInfo, Function<InputStream, ?> parser) {
+    if (responseInfo.getStatusCode() / 100 == 2) {
+      return BodyHandlers.<Object>ofStream(parser::apply).apply(responseInfo);
+    }
+    return new BodySink<>() {
+      @Override
+      public void accept(ByteBuffer chunk) {}
+
+      @Override
+      public Object finish() throws IOException {
+        throw new IOException(
+            String.format("Not caching status %d", responseInfo.getStatusCode()));
+      }
+    };
+  }
+
+  private void evict() {
+    if (entries.size() <= maxEntries && weight.get() <= maxWeight) {
+      return;
+    }
+    // sampled rather than ordered on every read, keeping hits free of shared writes beyond the
+    // entry's own access fields
+    synchronized (evictionLock) {
+      while (entries.size() > maxEntries || weight.get() > maxWeight) {
+        Map.Entry<Key, Entry> victim = sample();
+        if (victim == null) {
+          return;
+        }
+        if (entries.remove(victim.getKey(), victim.getValue())) {
+          weight.addAndGet(-victim.getValue().weight);
+          evictions.increment();
+        }
+      }
+    }
+  }
+
+  private Map.Entry<Key, Entry> sample() {
+    Map.Entry<Key, Entry> victim = null;
+    for (int i = 0; i < EVICTION_SAMPLE; i++) {
+      if (!evictionCursor.hasNext()) {
+        evictionCursor = entries.entrySet().iterator();
+        if (!evictionCursor.hasNext()) {
+          break;
+        }
+      }
+      Map.Entry<Key, Entry> candidate = evictionCursor.next();
+      if (victim == null || evictsBefore(candidate.getValue(), victim.getValue())) {
+        victim = candidate;
+      }
+    }
+    return victim;
+  }
+
+  private boolean evictsBefore(Entry entry, Entry other) {
+    if (evictionPolicy == EvictionPolicy.LFU && entry.frequency != other.frequency) {
+      return entry.frequency < other.frequency;
+    }
+    return entry.lastAccessNanos < other.lastAccessNanos;
+  }
+
+  private void remove(Key key) {
+    Entry entry = entries.remove(key);
+    if (entry != null) {
+      weight.addAndGet(-entry.weight);
+    }
+  }
+
+  private static RequestKey requestKey(HttpRetrieverCriteria criteria) {
+    RequestKey requestKey = criteria.getResultCacheKey();
+    if (requestKey == null) {
+      // racing first callers may each derive it, which is harmless as they derive the same key
+      requestKey = new RequestKey(derive(criteria), credentials(criteria));
+      criteria.setResultCacheKey(requestKey);
+    }
+    return requestKey;
+  }
+
+  private static String derive(HttpRetrieverCriteria criteria) {
+    StringBuilder requestKey = new StringBuilder(criteria.gethTTPMethod().name()).append(' ');
+    try {
+      requestKey.append(criteria.getUrl().toExternalForm());
+    } catch (MalformedURLException ex) {
+      throw new RuntimeException(ex);
+    }
+    Optional.ofNullable(criteria.getBody())
+        .ifPresent(body -> requestKey.append("\nbody:").append(digest(body.toCharArray())));
+
+    Optional.ofNullable(criteria.getAcceptContentType())
+        .ifPresent(contentType -> requestKey.append("\naccept:").append(contentType.name()));
+    Optional.ofNullable(criteria.getBodyContentType())
+        .ifPresent(contentType -> requestKey.append("\ncontent-type:").append(contentType.name()));
+    Optional.ofNullable(criteria.getUserAgent())
+        .ifPresent(userAgent -> requestKey.append("\nuser-agent:").append(userAgent));
+
+    // sorted by name, keeping the order of repeated headers, so the order they were set in does
+    // not split entries
+    List<Header> headers = new ArrayList<>(criteria.getHeaders());
+    headers.sort(Comparator.comparing(header -> header.getType().toLowerCase(Locale.ROOT)));
+    headers.forEach(
+        header ->
+            requestKey
+                .append('\n')
+                .append(header.getType().toLowerCase(Locale.ROOT))
+                .append(':')
+                .append(header.getHeader()));
+
+    char[] authorization = criteria.getAuthorization();
+    if (authorization != null) {
+      // a digest rather than the secret, which would otherwise sit in every key
+      requestKey.append("\nauthorization:").append(digest(authorization));
+      Arrays.fill(authorization, '\0');
+    }
+    return requestKey.toString();
+  }
+
+  private static String digest(char[] chars) {
+    ByteBuffer bytes = StandardCharsets.UTF_8.encode(CharBuffer.wrap(chars));
+    try {
+      MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+      messageDigest.update(bytes);
+      return new BigInteger(1, messageDigest.digest()).toString(16);
+    } catch (NoSuchAlgorithmException ex) {
+      throw new RuntimeException(ex);
+    } finally {
+      Arrays.fill(bytes.array(), (byte) 0);
+    }
+  }
+
+  private static Object credentials(HttpRetrieverCriteria criteria) {
+    // a static authorization is in the request key; any other provider is keyed by identity, as
+    // the credentials it supplies may change between calls
+    return criteria.getAuthorization() == null ? criteria.getCredentialsProvider() : null;
+  }
+
+  /** The request part of a key, held by the criteria it was derived from. */
+  static final class RequestKey {
+
+    private final String key;
+    private final Object credentials;
+    private final int hash;
+
+    private RequestKey(String key, Object credentials) {
+      this.key = key;
+      this.credentials = credentials;
+      this.hash = 31 * key.hashCode() + System.identityHashCode(credentials);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other == this
+          || other instanceof RequestKey
+              && ((RequestKey) other).credentials == credentials
+              && ((RequestKey) other).key.equals(key);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  private static final class Key {
+
+    private final RequestKey request;
+    private final Object parser;
+
+    private Key(RequestKey request, Object parser) {
+      this.request = request;
+      this.parser = parser;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      return other instanceof Key
+          && ((Key) other).parser == parser
+          && ((Key) other).request.equals(request);
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * request.hashCode() + System.identityHashCode(parser);
+    }
+  }
+
+  private static final class Entry {
+
+    private final Object value;
+    private final long weight;
+    private final long loadedNanos;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    // approximate: racing readers may lose an update, which eviction tolerates
+    private volatile long lastAccessNanos;
+    private volatile int frequency;
+
+    private Entry(Object value, long weight, long loadedNanos) {
+      this.value = value;
+      this.weight = weight;
+      this.loadedNanos = loadedNanos;
+      this.lastAccessNanos = loadedNanos;
+    }
+
+    private void touch(long now) {
+      lastAccessNanos = now;
+      if (frequency < Integer.MAX_VALUE) {
+        frequency++;
+      }
+    }
+  }
+
+  /** Result Cache Builder */
+  public static class ResultCacheBuilder {
+
+    private Duration timeToLive;
+    private Duration staleWhileRevalidate = Duration.ZERO;
+    private int maxEntries = 10_000;
+    private long maxWeight = Long.MAX_VALUE;
+    private ToLongFunction<Object> weigher = value -> 1;
+    private EvictionPolicy evictionPolicy = EvictionPolicy.LRU;
+    private Executor executor = DEFAULT_EXECUTOR;
+
+    /**
+     * Set how long a result is fresh.
+     *
+     * @param timeToLive {@link Duration}
+     * @return {@link ResultCacheBuilder}
+     */
+    public ResultCacheBuilder setTimeToLive(Duration timeToLive) {
+      this.timeToLive = timeToLive;
+      return this;
+    }
+
+    /**
+     * Set how long after going stale a result is still served while it is refreshed in the
+     * background, defaults to zero.
+     *
+     * @param staleWhileRevalidate {@link Duration}
+     * @return {@link ResultCacheBuilder}
+     */
+    public ResultCacheBuilder setStaleWhileRevalidate(Duration staleWhileRevalidate) {
+      this.staleWhileRevalidate = staleWhileRevalidate;
+      return this;
+    }
+
+    /**
+     * Set the most entries held, defaults to 10,000.
+     *
+     * @param maxEntries int
+     * @return {@link ResultCacheBuilder}
+     */
+    public ResultCacheBuilder setMaxEntries(int maxEntries) {
+      this.maxEntries = maxEntries;
+      return this;
+    }
+
+    /**
+     * Set the most total weight held, defaults to unbounded.
+     *
+     * @param maxWeight long
+     * @return {@link ResultCacheBuilder}
+     */
+    public ResultCacheBuilder setMaxWeight(long maxWeight) {
+      this.maxWeight = maxWeight;
+      return this;
+    }
+
+    /**
+     * Set how results are weighed against {@link #setMaxWeight(long)}, defaults to 1 each.
+     *
+     * @param weigher {@link ToLongFunction} of a parsed result
+     * @return {@link ResultCacheBuilder}
+     */
+    public ResultCacheBuilder setWeigher(ToLongFunction<Object> weigher) {
+      this.weigher = weigher;
+      return this;
+    }
+
+    /**
+     * Set Eviction Policy, defaults to LRU.
+     *
+     * @param evictionPolicy {@link EvictionPolicy}
+     * @return {@link ResultCacheBuilder}
+     */
+    public ResultCacheBuilder setEvictionPolicy(EvictionPolicy evictionPolicy) {
+      this.evictionPolicy = evictionPolicy;
+      return this;
+    }
+
+    /**
+     * Set the executor background refreshes run on, defaults to a pool of daemon threads.
+     *
+     * @param executor {@link Executor}
+     * @return {@link ResultCacheBuilder}
+     */
+    public ResultCacheBuilder setExecutor(Executor executor) {
+      this.executor = executor;
+      return this;
+    }
+
+    /**
+     * Build {@link ResultCache}. May throw {@link NoSuchElementException} where a required
+     * element is missing.
+     *
+     * @return {@link ResultCache}
+     */
+    public ResultCache build() {
+      if (timeToLive == null) {
+        throw new NoSuchElementException("Missing required time to live.");
+      }
+      if (staleWhileRevalidate == null || weigher == null || evictionPolicy == null) {
+        throw new NoSuchElementException("Missing required stale window, weigher or policy.");
+      }
+      if (executor == null) {
+        throw new NoSuchElementException("Missing required executor.");
+      }
+      if (maxEntries < 1 || maxWeight < 1) {
+        throw new IllegalArgumentException("Max entries and weight must be positive.");
+      }
+      return new ResultCache(this);
+    }
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j;
+
+import java.util.concurrent.TimeUnit;
+
+/** Retrieval Event */
+public class RetrievalEvent {
+
+  public enum Stage {
+    REQUEST_START,
+    CONNECTION_ACQUIRED,
+    HEADERS_RECEIVED,
+    BODY_COMPLETE,
+    FAILURE;
+  }
+
+  private final Stage stage;
+  private final String traceId;
+  private final String spanId;
+  private final String method;
+  private final String url;
+  private final long elapsedNanos;
+  private final int responseCode;
+  private final long bytes;
+  private final Throwable failure;
+
+  public RetrievalEvent(
+      Stage stage,
+      String traceId,
+      String spanId,
+      String method,
+      String url,
+      long elapsedNanos,
+      int responseCode,
+      long bytes,
+      Throwable failure) {
+    this.stage = stage;
+    this.traceId = traceId;
+    this.spanId = spanId;
+    this.method = method;
+    this.url = url;
+    this.elapsedNanos = elapsedNanos;
+    this.responseCode = responseCode;
+    this.bytes = bytes;
+    this.failure = failure;
+  }
+
+  public Stage getStage() {
+    return stage;
+  }
+
+  /**
+   * Get the W3C trace id shared by every event of the retrieval and propagated upstream.
+   *
+   * @return {@link String}
+   */
+  public String getTraceId() {
+    return traceId;
+  }
+
+  public String getSpanId() {
+    return spanId;
+  }
+
+  public String getMethod() {
+    return method;
+  }
+
+  public String getUrl() {
+    return url;
+  }
+
+  /**
+   * Get the time since the request started.
+   *
+   * @param timeUnit {@link TimeUnit}
+   * @return long
+   */
+  public long getElapsed(TimeUnit timeUnit) {
+    return timeUnit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Get the response code, -1 before headers are received.
+   *
+   * @return int
+   */
+  public int getResponseCode() {
+    return responseCode;
+  }
+
+  /**
+   * Get the body bytes read, -1 before the body is complete.
+   *
+   * @return long
+   */
+  public long getBytes() {
+    return bytes;
+  }
+
+  public Throwable getFailure() {
+    return failure;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%s %s %s trace=%s span=%s elapsedMs=%d code=%d bytes=%d%s",
+        stage,
+        method,
+        url,
+        traceId,
+        spanId,
+        getElapsed(TimeUnit.MILLISECONDS),
+        responseCode,
+        bytes,
+        failure == null ? "" : " failure=" + failure);
+  }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j;
+
+/**
+ * Retrieval Listener
+ *
+ * <p>Receives the lifecycle of sampled retrievals. Callbacks run synchronously on the retrieving
+ * thread and should return quickly; hand anything expensive off to another thread.
+ */
+public interface RetrievalListener {
+
+  default void onRequestStart(RetrievalEvent event) {}
+
+  default void onConnectionAcquired(RetrievalEvent event) {}
+
+  default void onHeadersReceived(RetrievalEvent event) {}
+
+  default void onBodyComplete(RetrievalEvent event) {}
+
+  default void onFailure(RetrievalEvent event) {}
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Retrieval Tracer
+ *
+ * <p>Decides which retrievals are sampled, reports them to a {@link RetrievalListener} and
+ * propagates a W3C {@code traceparent} header upstream. Retrievals without a tracer pay nothing.
+ */
+public class RetrievalTracer {
+
+  public static final String TRACEPARENT = "traceparent";
+
+  private final RetrievalListener listener;
+  private final double sampleRate;
+  private final boolean propagate;
+  private final Supplier<String> parentSupplier;
+
+  private RetrievalTracer(RetrievalTracerBuilder builder) {
+    this.listener = builder.listener;
+    this.sampleRate = builder.sampleRate;
+    this.propagate = builder.propagate;
+    this.parentSupplier = builder.parentSupplier;
+  }
+
+  public RetrievalListener getListener() {
+    return listener;
+  }
+
+  /**
+   * Get the fraction of root retrievals sampled, between 0 and 1. Retrievals with a parent follow
+   * the parent's sampled flag.
+   *
+   * @return double
+   */
+  public double getSampleRate() {
+    return sampleRate;
+  }
+
+  public boolean isPropagate() {
+    return propagate;
+  }
+
+  /**
+   * Get the caller's current {@code traceparent}, if any, so retrievals join its trace.
+   *
+   * @return {@link Supplier} of {@link String}, may supply null
+   */
+  public Supplier<String> getParentSupplier() {
+    return parentSupplier;
+  }
+
+  /** Retrieval Tracer Builder */
+  public static class RetrievalTracerBuilder {
+
+    private RetrievalListener listener;
+    private double sampleRate = 1d;
+    private boolean propagate = true;
+    private Supplier<String> parentSupplier = () -> null;
+
+    /**
+     * Set Listener
+     *
+     * @param listener {@link RetrievalListener}
+     * @return {@link RetrievalTracerBuilder}
+     */
+    public RetrievalTracerBuilder setListener(RetrievalListener listener) {
+      this.listener = listener;
+      return this;
+    }
+
+    /**
+     * Set the fraction of root retrievals sampled, defaults to 1.
+     *
+     * @param sampleRate double between 0 and 1
+     * @return {@link RetrievalTracerBuilder}
+     */
+    public RetrievalTracerBuilder setSampleRate(double sampleRate) {
+      this.sampleRate = sampleRate;
+      return this;
+    }
+
+    /**
+     * Set whether a {@code traceparent} header is sent upstream, defaults to true.
+     *
+     * @param propagate boolean
+     * @return {@link RetrievalTracerBuilder}
+     */
+    public RetrievalTracerBuilder setPropagate(boolean propagate) {
+      this.propagate = propagate;
+      return this;
+    }
+
+    /**
+     * Set Parent Supplier
+     *
+     * @param parentSupplier {@link Supplier} of the caller's {@code traceparent}
+     * @return {@link RetrievalTracerBuilder}
+     */
+    public RetrievalTracerBuilder setParentSupplier(Supplier<String> parentSupplier) {
+      this.parentSupplier = parentSupplier;
+      return this;
+    }
+
+    /**
+     * Build {@link RetrievalTracer}. May throw {@link NoSuchElementException} where a required
+     * element is missing.
+     *
+     * @return {@link RetrievalTracer}
+     */
+    public RetrievalTracer build() {
+      Optional.ofNullable(listener)
+          .orElseThrow(() -> new NoSuchElementException("Missing required listener."));
+      Optional.ofNullable(parentSupplier)
+          .orElseThrow(() -> new NoSuchElementException("Missing required parent supplier."));
+      if (sampleRate < 0d || sampleRate > 1d) {
+        throw new IllegalArgumentException("Sample rate must be between 0 and 1.");
+      }
+      return new RetrievalTracer(this);
+    }
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j;
+
+import java.util.concurrent.TimeUnit;
+
+/** Scheduler Metrics, a point in time snapshot for one {@link RequestPriority}. */
+public class SchedulerMetrics {
+
+  private final RequestPriority priority;
+  private final int queued;
+  private final long submitted;
+  private final long rejected;
+  private final long started;
+  private final long totalQueueNanos;
+  private final long maxQueueNanos;
+
+  SchedulerMetrics(
+      RequestPriority priority,
+      int queued,
+      long submitted,
+      long rejected,
+      long started,
+      long totalQueueNanos,
+      long maxQueueNanos) {
+    this.priority = priority;
+    this.queued = queued;
+    this.submitted = submitted;
+    this.rejected = rejected;
+    this.started = started;
+    this.totalQueueNanos = totalQueueNanos;
+    this.maxQueueNanos = maxQueueNanos;
+  }
+
+  public RequestPriority getPriority() {
+    return priority;
+  }
+
+  /**
+   * Get the number of requests currently waiting.
+   *
+   * @return int
+   */
+  public int getQueued() {
+    return queued;
+  }
+
+  public long getSubmitted() {
+    return submitted;
+  }
+
+  public long getRejected() {
+    return rejected;
+  }
+
+  public long getStarted() {
+    return started;
+  }
+
+  /**
+   * Get the mean time a started request spent queued.
+   *
+   * @param timeUnit {@link TimeUnit}
+   * @return long
+   */
+  public long getMeanQueueTime(TimeUnit timeUnit) {
+    return started == 0 ? 0 : timeUnit.convert(totalQueueNanos / started, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Get the longest time a started request spent queued.
+   *
+   * @param timeUnit {@link TimeUnit}
+   * @return long
+   */
+  public long getMaxQueueTime(TimeUnit timeUnit) {
+    return timeUnit.convert(maxQueueNanos, TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%s queued=%d submitted=%d rejected=%d started=%d meanQueueMs=%d maxQueueMs=%d",
+        priority,
+        queued,
+        submitted,
+        rejected,
+        started,
+        getMeanQueueTime(TimeUnit.MILLISECONDS),
+        getMaxQueueTime(TimeUnit.MILLISECONDS));
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+/** Server-Sent Event, one event dispatched by an {@link EventSource}. */
+public class ServerSentEvent {
+
+  private final String type;
+  private final String data;
+  private final String lastEventId;
+
+  ServerSentEvent(String type, String data, String lastEventId) {
+    this.type = type;
+    this.data = data;
+    this.lastEventId = lastEventId;
+  }
+
+  /**
+   * Get the event type, {@code message} where the event did not name one.
+   *
+   * @return {@link String}
+   */
+  public String getType() {
+    return type;
+  }
+
+  /**
+   * Get the event data, with the lines of multi-line data joined by {@code \n}.
+   *
+   * @return {@link String}
+   */
+  public String getData() {
+    return data;
+  }
+
+  /**
+   * Get the last event id seen on the stream, which may have been set by an earlier event.
+   *
+   * @return {@link String}, empty where no id has been seen
+   */
+  public String getLastEventId() {
+    return lastEventId;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s id=%s data=%s", type, lastEventId, data);
+  }
+}
@@ -0,0 +1,455 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+
+/**
+ * Service Endpoints
+ *
+ * <p>A named service served by several base URLs. Each retrieval is sent to an endpoint chosen by
+ * the {@link BalancingStrategy}; endpoints that fail repeatedly, or whose latency passes the
+ * ejection threshold, are ejected for a while so that traffic avoids them, though never more than
+ * the configured share of the service at once. Idempotent requests whose endpoint fails to connect
+ * or answers 5xx are retried on another endpoint.
+ *
+ * <p>Thread safe: share one instance between all criteria calling the service.
+ */
+public class ServiceEndpoints {
+
+  private static final Logger LOGGER = Logger.getLogger(ServiceEndpoints.class.getName());
+
+  private static final double LATENCY_SMOOTHING = 0.3;
+
+  public enum BalancingStrategy {
+    ROUND_ROBIN,
+    LEAST_OUTSTANDING,
+    POWER_OF_TWO_CHOICES;
+  }
+
+  private final String name;
+  private final List<Endpoint> endpoints;
+  private final BalancingStrategy balancingStrategy;
+  private final int failureThreshold;
+  private final long ejectionMillis;
+  private final long latencyThresholdNanos;
+  private final int maxEjected;
+  private final int maxAttempts;
+  private final Clock clock;
+  private final AtomicInteger next = new AtomicInteger();
+
+  private ServiceEndpoints(ServiceEndpointsBuilder builder) {
+    this.name = builder.name;
+    this.endpoints =
+        builder.baseUrls.stream().map(Endpoint::new).collect(Collectors.toUnmodifiableList());
+    this.balancingStrategy = builder.balancingStrategy;
+    this.failureThreshold = builder.failureThreshold;
+    this.ejectionMillis = builder.ejectionTime.toMillis();
+    this.latencyThresholdNanos =
+        builder.latencyThreshold == null ? Long.MAX_VALUE : builder.latencyThreshold.toNanos();
+    this.maxEjected = endpoints.size() * builder.maxEjectionPercent / 100;
+    this.maxAttempts = Math.min(builder.maxAttempts, endpoints.size());
+    this.clock = builder.clock;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Get Endpoints
+   *
+   * @return unmodifiable List of {@link Endpoint}
+   */
+  public List<Endpoint> getEndpoints() {
+    return endpoints;
+  }
+
+  public BalancingStrategy getBalancingStrategy() {
+    return balancingStrategy;
+  }
+
+  /**
+   * Get the most endpoints one idempotent request is sent to.
+   *
+   * @return int
+   */
+  public int getMaxAttempts() {
+    return maxAttempts;
+  }
+
+  /**
+   * Choose an endpoint and count a request outstanding against it. Ejected endpoints are only
+   * chosen where every other candidate is ejected too.
+   *
+   * @param excluded endpoints already tried by this request
+   * @return {@link Lease}, null where every endpoint is excluded
+   */
+  public Lease acquire(Collection<Endpoint> excluded) {
+    long now = clock.millis();
+    List<Endpoint> candidates = new ArrayList<>(endpoints.size());
+    List<Endpoint> ejected = new ArrayList<>(endpoints.size());
+    for (Endpoint endpoint : endpoints) {
+      if (!excluded.contains(endpoint)) {
+        (endpoint.isEjected(now) ? ejected : candidates).add(endpoint);
+      }
+    }
+    if (candidates.isEmpty()) {
+      candidates = ejected;
+    }
+    if (candidates.isEmpty()) {
+      return null;
+    }
+
+    Endpoint endpoint = choose(candidates);
+    endpoint.outstanding.incrementAndGet();
+    return new Lease(endpoint);
+  }
+
+  private Endpoint choose(List<Endpoint> candidates) {
+    int size = candidates.size();
+    switch (balancingStrategy) {
+      case LEAST_OUTSTANDING:
+        {
+          // start from a rotating offset so ties are spread rather than all landing on the first
+          int offset = Math.floorMod(next.getAndIncrement(), size);
+          Endpoint least = candidates.get(offset);
+          for (int i = 1; i < size; i++) {
+            Endpoint endpoint = candidates.get((offset + i) % size);
+            if (endpoint.outstanding.get() < least.outstanding.get()) {
+              least = endpoint;
+            }
+          }
+          return least;
+        }
+      case POWER_OF_TWO_CHOICES:
+        {
+          if (size == 1) {
+            return candidates.get(0);
+          }
+          ThreadLocalRandom random = ThreadLocalRandom.current();
+          int first = random.nextInt(size);
+          int second = (first + 1 + random.nextInt(size - 1)) % size;
+          Endpoint a = candidates.get(first);
+          Endpoint b = candidates.get(second);
+          return b.outstanding.get() < a.outstanding.get() ? b : a;
+        }
+      default:
+        return candidates.get(Math.floorMod(next.getAndIncrement(), size));
+    }
+  }
+
+  private void record(Endpoint endpoint, boolean failed, long rttNanos) {
+    boolean eject;
+    synchronized (endpoint) {
+      endpoint.requests++;
+      if (failed) {
+        endpoint.failures++;
+        endpoint.consecutiveFailures++;
+      } else {
+        endpoint.consecutiveFailures = 0;
+        endpoint.latencyNanos =
+            endpoint.latencyNanos == 0
+                ? rttNanos
+                : (long)
+                    (endpoint.latencyNanos * (1 - LATENCY_SMOOTHING)
+                        + rttNanos * LATENCY_SMOOTHING);
+      }
+      eject =
+          endpoint.consecutiveFailures >= failureThreshold
+              || endpoint.latencyNanos > latencyThresholdNanos;
+    }
+    if (eject) {
+      eject(endpoint);
+    }
+  }
+
+  private synchronized void eject(Endpoint endpoint) {
+    long now = clock.millis();
+    if (endpoint.isEjected(now)
+        || endpoints.stream().filter(other -> other.isEjected(now)).count() >= maxEjected) {
+      return;
+    }
+    synchronized (endpoint) {
+      endpoint.ejectedUntilMillis = now + ejectionMillis;
+      endpoint.ejections++;
+      endpoint.consecutiveFailures = 0;
+      endpoint.latencyNanos = 0;
+    }
+    LOGGER.log(Level.WARNING, "Ejected {0} from {1}", new Object[] {endpoint.baseUrl, name});
+  }
+
+  /** One base URL of the service. */
+  public static final class Endpoint {
+
+    private final String baseUrl;
+    private final AtomicInteger outstanding = new AtomicInteger();
+
+    // guarded by this
+    private long requests;
+    private long failures;
+    private long ejections;
+    private int consecutiveFailures;
+    private long latencyNanos;
+    private volatile long ejectedUntilMillis;
+
+    private Endpoint(String baseUrl) {
+      this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+    }
+
+    public String getBaseUrl() {
+      return baseUrl;
+    }
+
+    /**
+     * Resolve a path and query against this endpoint.
+     *
+     * @param path e.g. {@code /orders?id=1}
+     * @return {@link URL}
+     * @throws MalformedURLException where the result is not a valid URL
+     */
+    public URL resolve(String path) throws MalformedURLException {
+      return new URL(
+          path.isEmpty() || path.startsWith("/") || path.startsWith("?")
+              ? baseUrl + path
+              : baseUrl + "/" + path);
+    }
+
+    /**
+     * Get the requests currently outstanding.
+     *
+     * @return int
+     */
+    public int getOutstanding() {
+      return outstanding.get();
+    }
+
+    public synchronized long getRequests() {
+      return requests;
+    }
+
+    public synchronized long getFailures() {
+      return failures;
+    }
+
+    public synchronized long getEjections() {
+      return ejections;
+    }
+
+    private boolean isEjected(long now) {
+      return now < ejectedUntilMillis;
+    }
+
+    @Override
+    public String toString() {
+      return baseUrl;
+    }
+  }
+
+  /** One request outstanding against an endpoint, released exactly once. */
+  public final class Lease {
+
+    private final Endpoint endpoint;
+    private final long startNanos = System.nanoTime();
+    private final AtomicBoolean released = new AtomicBoolean();
+    private volatile int responseCode = -1;
+
+    private Lease(Endpoint endpoint) {
+      this.endpoint = endpoint;
+    }
+
+    public Endpoint getEndpoint() {
+      return endpoint;
+    }
+
+    /**
+     * Record the response code. A lease released without one counts as a failure.
+     *
+     * @param responseCode int
+     */
+    public void setResponseCode(int responseCode) {
+      this.responseCode = responseCode;
+    }
+
+    /** Release the lease, recording the outcome against the endpoint. */
+    public void release() {
+      if (released.compareAndSet(false, true)) {
+        endpoint.outstanding.decrementAndGet();
+        int code = responseCode;
+        record(endpoint, code < 0 || code >= 500, System.nanoTime() - startNanos);
+      }
+    }
+
+    /** Release the lease without recording an outcome. */
+    public void cancel() {
+      if (released.compareAndSet(false, true)) {
+        endpoint.outstanding.decrementAndGet();
+      }
+    }
+  }
+
+  /** Service Endpoints Builder */
+  public static class ServiceEndpointsBuilder {
+
+    private String name;
+    private final List<String> baseUrls = new ArrayList<>();
+    private BalancingStrategy balancingStrategy = BalancingStrategy.ROUND_ROBIN;
+    private int failureThreshold = 5;
+    private Duration ejectionTime = Duration.ofSeconds(30);
+    private Duration latencyThreshold;
+    private int maxEjectionPercent = 50;
+    private int maxAttempts = 2;
+    private Clock clock = Clock.systemUTC();
+
+    /**
+     * Set Name
+     *
+     * @param name {@link String}
+     * @return {@link ServiceEndpointsBuilder}
+     */
+    public ServiceEndpointsBuilder setName(String name) {
+      this.name = name;
+      return this;
+    }
+
+    /**
+     * Add an endpoint base URL, e.g. {@code http://replica-1:8080/api}.
+     *
+     * @param baseUrl {@link String}
+     * @return {@link ServiceEndpointsBuilder}
+     */
+    public ServiceEndpointsBuilder setEndpoint(String baseUrl) {
+      baseUrls.add(baseUrl);
+      return this;
+    }
+
+    /**
+     * Set Balancing Strategy, defaults to round robin.
+     *
+     * @param balancingStrategy {@link BalancingStrategy}
+     * @return {@link ServiceEndpointsBuilder}
+     */
+    public ServiceEndpointsBuilder setBalancingStrategy(BalancingStrategy balancingStrategy) {
+      this.balancingStrategy = balancingStrategy;
+      return this;
+    }
+
+    /**
+     * Set the consecutive failures after which an endpoint is ejected, defaults to 5.
+     *
+     * @param failureThreshold int
+     * @return {@link ServiceEndpointsBuilder}
+     */
+    public ServiceEndpointsBuilder setFailureThreshold(int failureThreshold) {
+      this.failureThreshold = failureThreshold;
+      return this;
+    }
+
+    /**
+     * Set how long an ejected endpoint is avoided, defaults to 30 seconds.
+     *
+     * @param ejectionTime {@link Duration}
+     * @return {@link ServiceEndpointsBuilder}
+     */
+    public ServiceEndpointsBuilder setEjectionTime(Duration ejectionTime) {
+      this.ejectionTime = ejectionTime;
+      return this;
+    }
+
+    /**
+     * Set the smoothed latency above which an endpoint is ejected, defaults to none.
+     *
+     * @param latencyThreshold {@link Duration}
+     * @return {@link ServiceEndpointsBuilder}
+     */
+    public ServiceEndpointsBuilder setLatencyThreshold(Duration latencyThreshold) {
+      this.latencyThreshold = latencyThreshold;
+      return this;
+    }
+
+    /**
+     * Set the largest share of endpoints ejected at once, defaults to 50 percent.
+     *
+     * @param maxEjectionPercent between 0 and 100
+     * @return {@link ServiceEndpointsBuilder}
+     */
+    public ServiceEndpointsBuilder setMaxEjectionPercent(int maxEjectionPercent) {
+      this.maxEjectionPercent = maxEjectionPercent;
+      return this;
+    }
+
+    /**
+     * Set the most endpoints one idempotent request is sent to, defaults to 2.
+     *
+     * @param maxAttempts int
+     * @return {@link ServiceEndpointsBuilder}
+     */
+    public ServiceEndpointsBuilder setMaxAttempts(int maxAttempts) {
+      this.maxAttempts = maxAttempts;
+      return this;
+    }
+
+    /**
+     * Set the clock used to time ejections.
+     *
+     * @param clock {@link Clock}
+     * @return {@link ServiceEndpointsBuilder}
+     */
+    public ServiceEndpointsBuilder setClock(Clock clock) {
+      this.clock = clock;
+      return this;
+    }
+
+    /**
+     * Build {@link ServiceEndpoints}. May throw {@link NoSuchElementException} where a required
+     * element is missing.
+     *
+     * @return {@link ServiceEndpoints}
+     */
+    public ServiceEndpoints build() {
+      if (name == null) {
+        throw new NoSuchElementException("Missing required name.");
+      }
+      if (baseUrls.isEmpty()) {
+        throw new NoSuchElementException("Missing required endpoint.");
+      }
+      if (balancingStrategy == null || ejectionTime == null || clock == null) {
+        throw new NoSuchElementException("Missing required balancing strategy, ejection or clock.");
+      }
+      if (failureThreshold < 1 || maxAttempts < 1) {
+        throw new IllegalArgumentException("Failure threshold and max attempts must be positive.");
+      }
+      if (maxEjectionPercent < 0 || maxEjectionPercent > 100) {
+        throw new IllegalArgumentException("Max ejection percent must be between 0 and 100.");
+      }
+      return new ServiceEndpoints(this);
+    }
+  }
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+/**
+ * Static Credentials Provider
+ *
+ * <p>Encodes the authorization once and hands out the same value for every request.
+ */
+public class StaticCredentialsProvider implements CredentialsProvider {
+
+  private final String authorization;
+
+  /**
+   * Static Credentials Provider
+   *
+   * @param authorization {@link char[]} as produced by {@link HttpRetrieverAuthorization}
+   */
+  public StaticCredentialsProvider(char[] authorization) {
+    this.authorization =
+        String.valueOf(
+            Optional.ofNullable(authorization)
+                .orElseThrow(() -> new NoSuchElementException("Missing authorization")));
+  }
+
+  @Override
+  public String getAuthorization() {
+    return authorization;
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+import java.io.IOException;
+
+/**
+ * Transfer Meter
+ *
+ * <p>Paces and counts a request body as an {@link HttpTransport} writes it. Transports call it
+ * before writing each slice of the body, in slices small enough to keep the pacing smooth, and
+ * {@link #complete()} once the body has been written.
+ */
+@FunctionalInterface
+public interface TransferMeter {
+
+  /**
+   * A slice of the body is about to be written. May block to hold the transfer to its rate.
+   *
+   * @param bytes slice length
+   * @throws IOException where interrupted whilst waiting
+   */
+  void meter(int bytes) throws IOException;
+
+  /**
+   * The whole body has been written. Transports call it once after the last slice, which reports
+   * the final progress of a body whose length was not known up front.
+   */
+  default void complete() {}
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/** Transfer Progress, a point in time view of one request or response body in transit. */
+public class TransferProgress {
+
+  /** Which way the body is going. */
+  public enum Direction {
+    UPLOAD,
+    DOWNLOAD
+  }
+
+  private final Direction direction;
+  private final long bytesTransferred;
+  private final long totalBytes;
+  private final long elapsedNanos;
+
+  /**
+   * Transfer Progress
+   *
+   * @param direction {@link Direction}
+   * @param bytesTransferred bytes so far
+   * @param totalBytes body length or -1 where unknown
+   * @param elapsedNanos time since the transfer started
+   */
+  public TransferProgress(
+      Direction direction, long bytesTransferred, long totalBytes, long elapsedNanos) {
+    this.direction = direction;
+    this.bytesTransferred = bytesTransferred;
+    this.totalBytes = totalBytes;
+    this.elapsedNanos = elapsedNanos;
+  }
+
+  public Direction getDirection() {
+    return direction;
+  }
+
+  public long getBytesTransferred() {
+    return bytesTransferred;
+  }
+
+  /**
+   * Get the body length.
+   *
+   * @return long, -1 where unknown
+   */
+  public long getTotalBytes() {
+    return totalBytes;
+  }
+
+  public long getElapsed(TimeUnit timeUnit) {
+    return timeUnit.convert(elapsedNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Get the mean rate since the transfer started.
+   *
+   * @return bytes per second
+   */
+  public double getBytesPerSecond() {
+    return elapsedNanos == 0 ? 0d : bytesTransferred * 1e9 / elapsedNanos;
+  }
+
+  /**
+   * Get the time left at the mean rate.
+   *
+   * @return {@link Optional} of {@link Duration}, empty where the length is unknown or nothing
+   *     has been transferred yet
+   */
+  public Optional<Duration> getEta() {
+    double bytesPerSecond = getBytesPerSecond();
+    if (totalBytes < 0 || bytesPerSecond == 0d) {
+      return Optional.empty();
+    }
+    long left = Math.max(0, totalBytes - bytesTransferred);
+    return Optional.of(Duration.ofNanos((long) (left * 1e9 / bytesPerSecond)));
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%s bytes=%d total=%d bytesPerSecond=%.0f elapsedMs=%d",
+        direction,
+        bytesTransferred,
+        totalBytes,
+        getBytesPerSecond(),
+        getElapsed(TimeUnit.MILLISECONDS));
+  }
+}
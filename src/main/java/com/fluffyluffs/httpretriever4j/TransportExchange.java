@@ -0,0 +1,64 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Transport Exchange
+ *
+ * <p>One request sent by an {@link HttpTransport} and its response. Either read the body to the
+ * end and close it, which may hand the connection back for reuse, or {@link #abort()}.
+ */
+public interface TransportExchange {
+
+  /**
+   * Get the status code, waiting for the response where it has not yet arrived.
+   *
+   * @return int
+   * @throws IOException where no response could be read
+   */
+  int getStatusCode() throws IOException;
+
+  /**
+   * Get the response headers. Call once the status code is known.
+   *
+   * @return {@link Map} of header name to values, empty where unavailable
+   */
+  Map<String, List<String>> getHeaders();
+
+  /**
+   * Get the declared body length. Call once the status code is known.
+   *
+   * @return long, -1 where unknown
+   */
+  long getContentLength();
+
+  /**
+   * Get the response body, read as it arrives.
+   *
+   * @return {@link InputStream}
+   * @throws IOException where the body cannot be read
+   */
+  InputStream getBody() throws IOException;
+
+  /** Abandon the exchange, closing the connection rather than reusing it. */
+  void abort();
+}
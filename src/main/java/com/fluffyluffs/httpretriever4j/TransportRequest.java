@@ -0,0 +1,227 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j;
+
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Flow;
+
+/** Transport Request, a request as handed to an {@link HttpTransport}. */
+public class TransportRequest {
+
+  private final String method;
+  private final URL url;
+  private final Map<String, String> headers;
+  private final byte[] body;
+  private final Flow.Publisher<ByteBuffer> bodyPublisher;
+  private final TransferMeter bodyMeter;
+  private final Duration connectTimeout;
+  private final Duration readTimeout;
+
+  private TransportRequest(TransportRequestBuilder builder) {
+    this.method = builder.method;
+    this.url = builder.url;
+    this.headers = Collections.unmodifiableMap(new LinkedHashMap<>(builder.headers));
+    this.body = builder.body;
+    this.bodyPublisher = builder.bodyPublisher;
+    this.bodyMeter = builder.bodyMeter;
+    this.connectTimeout = builder.connectTimeout;
+    this.readTimeout = builder.readTimeout;
+  }
+
+  public String getMethod() {
+    return method;
+  }
+
+  public URL getUrl() {
+    return url;
+  }
+
+  /**
+   * Get the request headers in the order they were set.
+   *
+   * @return unmodifiable {@link Map}, values may be null where a header is cleared
+   */
+  public Map<String, String> getHeaders() {
+    return headers;
+  }
+
+  /**
+   * Get Body
+   *
+   * @return byte[], null where there is no body or it is published
+   */
+  public byte[] getBody() {
+    return body;
+  }
+
+  /**
+   * Get Body Publisher
+   *
+   * @return {@link Flow.Publisher}, null where the body is not published
+   */
+  public Flow.Publisher<ByteBuffer> getBodyPublisher() {
+    return bodyPublisher;
+  }
+
+  /**
+   * Get the meter the body is written through.
+   *
+   * @return {@link TransferMeter}, null where the body is written unmetered
+   */
+  public TransferMeter getBodyMeter() {
+    return bodyMeter;
+  }
+
+  public Duration getConnectTimeout() {
+    return connectTimeout;
+  }
+
+  public Duration getReadTimeout() {
+    return readTimeout;
+  }
+
+  /** Transport Request Builder */
+  public static class TransportRequestBuilder {
+
+    private String method;
+    private URL url;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+    private byte[] body;
+    private Flow.Publisher<ByteBuffer> bodyPublisher;
+    private TransferMeter bodyMeter;
+    private Duration connectTimeout = Duration.ofSeconds(5);
+    private Duration readTimeout = Duration.ofMinutes(1);
+
+    /**
+     * Set Method
+     *
+     * @param method e.g. {@code GET}
+     * @return {@link TransportRequestBuilder}
+     */
+    public TransportRequestBuilder setMethod(String method) {
+      this.method = method;
+      return this;
+    }
+
+    /**
+     * Set URL
+     *
+     * @param url {@link URL}
+     * @return {@link TransportRequestBuilder}
+     */
+    public TransportRequestBuilder setUrl(URL url) {
+      this.url = url;
+      return this;
+    }
+
+    /**
+     * Set a header, replacing any value already set under the name in any case.
+     *
+     * @param name header name
+     * @param value header value
+     * @return {@link TransportRequestBuilder}
+     */
+    public TransportRequestBuilder setHeader(String name, String value) {
+      headers.keySet().removeIf(existing -> existing.equalsIgnoreCase(name));
+      headers.put(name, value);
+      return this;
+    }
+
+    /**
+     * Set Body
+     *
+     * @param body byte[]
+     * @return {@link TransportRequestBuilder}
+     */
+    public TransportRequestBuilder setBody(byte[] body) {
+      this.body = body;
+      return this;
+    }
+
+    /**
+     * Set Body Publisher
+     *
+     * @param bodyPublisher {@link Flow.Publisher}
+     * @return {@link TransportRequestBuilder}
+     */
+    public TransportRequestBuilder setBodyPublisher(Flow.Publisher<ByteBuffer> bodyPublisher) {
+      this.bodyPublisher = bodyPublisher;
+      return this;
+    }
+
+    /**
+     * Set the meter the body is written through, pacing and counting it.
+     *
+     * @param bodyMeter {@link TransferMeter}
+     * @return {@link TransportRequestBuilder}
+     */
+    public TransportRequestBuilder setBodyMeter(TransferMeter bodyMeter) {
+      this.bodyMeter = bodyMeter;
+      return this;
+    }
+
+    /**
+     * Set Connect Timeout, defaults to 5 seconds.
+     *
+     * @param connectTimeout {@link Duration}
+     * @return {@link TransportRequestBuilder}
+     */
+    public TransportRequestBuilder setConnectTimeout(Duration connectTimeout) {
+      this.connectTimeout = connectTimeout;
+      return this;
+    }
+
+    /**
+     * Set the longest wait for the next bytes of the response, defaults to 1 minute.
+     *
+     * @param readTimeout {@link Duration}
+     * @return {@link TransportRequestBuilder}
+     */
+    public TransportRequestBuilder setReadTimeout(Duration readTimeout) {
+      this.readTimeout = readTimeout;
+      return this;
+    }
+
+    /**
+     * Build {@link TransportRequest}. May throw {@link NoSuchElementException} where a required
+     * element is missing.
+     *
+     * @return {@link TransportRequest}
+     */
+    public TransportRequest build() {
+      if (method == null) {
+        throw new NoSuchElementException("Missing required method.");
+      }
+      if (url == null) {
+        throw new NoSuchElementException("Missing required url.");
+      }
+      if (connectTimeout == null || readTimeout == null) {
+        throw new NoSuchElementException("Missing required timeout.");
+      }
+      if (body != null && bodyPublisher != null) {
+        throw new IllegalArgumentException("Set either a body or a body publisher, not both.");
+      }
+      return new TransportRequest(this);
+    }
+  }
+}
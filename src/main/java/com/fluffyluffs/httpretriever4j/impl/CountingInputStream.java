@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j.impl;
+
+import com.fluffyluffs.httpretriever4j.BodyTooLargeException;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * InputStream counting the bytes read through it, optionally keeping a copy and failing once a
+ * limit is passed.
+ */
+class CountingInputStream extends FilterInputStream {
+
+  private final ByteArrayOutputStream copy;
+  private final long limit;
+  private long count;
+
+  CountingInputStream(InputStream inputStream, boolean keepCopy) {
+    this(inputStream, keepCopy, Long.MAX_VALUE);
+  }
+
+  CountingInputStream(InputStream inputStream, boolean keepCopy, long limit) {
+    super(inputStream);
+    this.copy = keepCopy ? new ByteArrayOutputStream() : null;
+    this.limit = limit;
+  }
+
+  @Override
+  public int read() throws IOException {
+    int read = super.read();
+    if (read >= 0) {
+      count++;
+      checkLimit();
+      if (copy != null) {
+        copy.write(read);
+      }
+    }
+    return read;
+  }
+
+  @Override
+  public int read(byte[] bytes, int offset, int length) throws IOException {
+    int read = super.read(bytes, offset, length);
+    if (read > 0) {
+      count += read;
+      checkLimit();
+      if (copy != null) {
+        copy.write(bytes, offset, read);
+      }
+    }
+    return read;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    // read rather than skip so the count and copy stay complete
+    byte[] buffer = new byte[(int) Math.min(n, 8192)];
+    int read = read(buffer, 0, buffer.length);
+    return Math.max(read, 0);
+  }
+
+  private void checkLimit() throws BodyTooLargeException {
+    if (count > limit) {
+      throw new BodyTooLargeException(count, limit);
+    }
+  }
+
+  long getCount() {
+    return count;
+  }
+
+  byte[] getCopy() {
+    return copy == null ? new byte[0] : copy.toByteArray();
+  }
+}
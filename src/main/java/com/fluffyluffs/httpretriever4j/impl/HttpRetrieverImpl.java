@@ -16,16 +16,40 @@
 
 package com.fluffyluffs.httpretriever4j.impl;
 
+import com.fluffyluffs.httpretriever4j.BandwidthLimiter;
+import com.fluffyluffs.httpretriever4j.BodyHandler;
+import com.fluffyluffs.httpretriever4j.BodyLimits;
+import com.fluffyluffs.httpretriever4j.BodySink;
+import com.fluffyluffs.httpretriever4j.BodyTooLargeException;
+import com.fluffyluffs.httpretriever4j.Cassette;
+import com.fluffyluffs.httpretriever4j.ConcurrencyLimiter;
+import com.fluffyluffs.httpretriever4j.CredentialsProvider;
+import com.fluffyluffs.httpretriever4j.Header;
 import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria;
 import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria.ContentType;
+import com.fluffyluffs.httpretriever4j.HttpTransport;
+import com.fluffyluffs.httpretriever4j.ProgressListener;
+import com.fluffyluffs.httpretriever4j.ResponseInfo;
+import com.fluffyluffs.httpretriever4j.RetrievalTracer;
+import com.fluffyluffs.httpretriever4j.ServiceEndpoints;
+import com.fluffyluffs.httpretriever4j.TransferProgress;
+import com.fluffyluffs.httpretriever4j.TransportExchange;
+import com.fluffyluffs.httpretriever4j.TransportRequest;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStreamWriter;
 import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -39,110 +63,571 @@ public class HttpRetrieverImpl {
   private static final String CACHE_CONTROL = "Cache-Control";
   private static final String CONTENT_TYPE = "Content-Type";
 
-  private static boolean success;
+  private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+  private static final Duration READ_TIMEOUT = Duration.ofMinutes(1);
 
   private final HttpRetrieverCriteria httpRetrieverCriteria;
 
+  // derived once from the immutable criteria; the instance holds no per-request state and may be
+  // shared by any number of threads
+  private final String accept;
+  private final String contentType;
+  private final byte[] body;
+  private final RetrievalTracer retrievalTracer;
+  private final Cassette cassette;
+  private final String cassetteKey;
+  private final BodyLimits bodyLimits;
+  private final long maxBodySize;
+  private final ConcurrencyLimiter concurrencyLimiter;
+  private final ServiceEndpoints service;
+  private final boolean failover;
+  private final HttpTransport transport;
+  private final BandwidthLimiter bandwidthLimiter;
+  private final long maxBytesPerSecond;
+  private final ProgressListener progressListener;
+
   public HttpRetrieverImpl(HttpRetrieverCriteria httpRetrieverCriteria) {
     this.httpRetrieverCriteria = httpRetrieverCriteria;
+    this.accept =
+        Optional.ofNullable(httpRetrieverCriteria.getAcceptContentType())
+            .map(ContentType::getContentType)
+            .orElse(null);
+    this.contentType =
+        Optional.ofNullable(httpRetrieverCriteria.getBodyContentType())
+            .map(ContentType::getContentType)
+            .orElse(null);
+    this.body =
+        Optional.ofNullable(httpRetrieverCriteria.getBody()).map(String::getBytes).orElse(null);
+    this.retrievalTracer = httpRetrieverCriteria.getTracer();
+    this.cassette = httpRetrieverCriteria.getCassette();
+    this.bodyLimits = httpRetrieverCriteria.getBodyLimits();
+    this.maxBodySize = bodyLimits == null ? Long.MAX_VALUE : bodyLimits.getMaxBodySize();
+    this.concurrencyLimiter = httpRetrieverCriteria.getConcurrencyLimiter();
+    this.service = httpRetrieverCriteria.getService();
+    // only requests that are safe to send twice and whose body can be sent again move on
+    this.failover =
+        service != null
+            && httpRetrieverCriteria.gethTTPMethod() != HttpRetrieverCriteria.HTTPMethod.POST
+            && httpRetrieverCriteria.getBodyPublisher() == null;
+    this.transport =
+        Optional.ofNullable(httpRetrieverCriteria.getTransport())
+            .orElseGet(HttpTransport::urlConnection);
+    this.bandwidthLimiter = httpRetrieverCriteria.getBandwidthLimiter();
+    this.maxBytesPerSecond = httpRetrieverCriteria.getMaxBytesPerSecond();
+    this.progressListener = httpRetrieverCriteria.getProgressListener();
+    try {
+      this.cassetteKey =
+          cassette == null
+              ? null
+              : Cassette.key(
+                  httpRetrieverCriteria.gethTTPMethod().name(),
+                  httpRetrieverCriteria.getUrl().toExternalForm(),
+                  body);
+    } catch (MalformedURLException ex) {
+      throw new RuntimeException(ex);
+    }
   }
 
   public InputStream retrieve() {
 
-    HttpURLConnection connection = getHttpURLConnection();
+    if (cassette != null && cassette.getMode() == Cassette.Mode.REPLAY) {
+      return replay();
+    }
 
+    Route route = route();
     try {
-      Response response =
-          Response.of(connection.getResponseCode()).orElse(Response.HTTP_INTERNAL_ERROR);
-      success = response.hasStatus();
+      return retrieve(route);
+    } finally {
+      route.release();
+    }
+  }
 
-      if (success) {
-        log(response, Level.INFO);
-        return new ByteArrayInputStream(connection.getInputStream().readAllBytes());
+  private InputStream retrieve(Route route) {
+
+    Trace trace = startTrace();
+    TransportExchange exchange = connect(trace, route);
+
+    try {
+      if (isSuccess(exchange, trace)) {
+        // closing a fully read stream hands the socket back to the keep-alive cache
+        try (InputStream inputStream = body(exchange)) {
+          if (bodyLimits != null) {
+            return buffer(exchange, inputStream, trace, route);
+          }
+          byte[] bytes = inputStream.readAllBytes();
+          bodyComplete(trace, route, exchange.getStatusCode(), bytes.length);
+          if (cassette != null) {
+            cassette.record(cassetteKey, exchange.getStatusCode(), bytes);
+          }
+          return new ByteArrayInputStream(bytes);
+        }
       }
 
-      log(response, Level.WARNING);
+      exchange.abort();
+      bodyComplete(trace, route, exchange.getStatusCode(), 0);
+      if (cassette != null) {
+        cassette.record(cassetteKey, exchange.getStatusCode(), new byte[0]);
+      }
       return InputStream.nullInputStream();
 
     } catch (IOException ex) {
+      exchange.abort();
+      if (trace != null) {
+        trace.failure(ex);
+      }
       LOGGER.log(Level.SEVERE, ex.getLocalizedMessage(), ex);
       throw new RuntimeException(ex);
+    }
+  }
+
+  /**
+   * Retrieve, consuming the body with a {@link BodySink} as it is read from the connection.
+   *
+   * @param <T> response type
+   * @param bodyHandler {@link BodyHandler}
+   * @return T
+   */
+  public <T> T retrieve(BodyHandler<T> bodyHandler) {
+
+    if (cassette != null && cassette.getMode() == Cassette.Mode.REPLAY) {
+      return replay(bodyHandler);
+    }
+
+    Route route = route();
+    try {
+      return retrieve(bodyHandler, route);
     } finally {
-      connection.disconnect();
+      route.release();
+    }
+  }
+
+  private <T> T retrieve(BodyHandler<T> bodyHandler, Route route) {
+
+    Trace trace = startTrace();
+    TransportExchange exchange = connect(trace, route);
+
+    try {
+      boolean success = isSuccess(exchange, trace);
+      int responseCode = exchange.getStatusCode();
+      if (success) {
+        // before the sink exists, as it may presize from the declared length
+        checkContentLength(exchange);
+      }
+      BodySink<T> bodySink =
+          bodyHandler.apply(
+              new ResponseInfo(
+                  responseCode,
+                  exchange.getHeaders(),
+                  exchange.getContentLength()));
+
+      try {
+        if (!success) {
+          exchange.abort();
+          bodySink.abort();
+          bodyComplete(trace, route, responseCode, 0);
+          if (cassette != null) {
+            cassette.record(cassetteKey, responseCode, new byte[0]);
+          }
+          return bodySink.finish();
+        }
+
+        try (CountingInputStream inputStream =
+            new CountingInputStream(body(exchange), cassette != null, maxBodySize)) {
+          T result = bodySink.consume(inputStream);
+          bodyComplete(trace, route, responseCode, inputStream.getCount());
+          if (cassette != null) {
+            cassette.record(cassetteKey, responseCode, inputStream.getCopy());
+          }
+          return result;
+        }
+      } catch (IOException | RuntimeException ex) {
+        bodySink.abort();
+        throw ex;
+      }
+
+    } catch (IOException ex) {
+      exchange.abort();
+      if (trace != null) {
+        trace.failure(ex);
+      }
+      LOGGER.log(Level.SEVERE, ex.getLocalizedMessage(), ex);
+      throw new RuntimeException(ex);
+    }
+  }
+
+  private InputStream buffer(
+      TransportExchange exchange,
+      InputStream inputStream,
+      Trace trace,
+      Route route)
+      throws IOException {
+    checkContentLength(exchange);
+    CountingInputStream countingInputStream =
+        new CountingInputStream(inputStream, cassette != null, maxBodySize);
+    InputStream body =
+        SpillingBody.buffer(countingInputStream, exchange.getContentLength(), bodyLimits);
+
+    bodyComplete(trace, route, exchange.getStatusCode(), countingInputStream.getCount());
+    if (cassette != null) {
+      cassette.record(cassetteKey, exchange.getStatusCode(), countingInputStream.getCopy());
+    }
+    return body;
+  }
+
+  /**
+   * Route a retrieval, choosing the service endpoint and acquiring the limiter permit.
+   *
+   * @return {@link Route} to release once the body is complete
+   */
+  Route route() {
+    if (service != null) {
+      return Route.service(service, httpRetrieverCriteria.getServicePath(), concurrencyLimiter);
+    }
+    try {
+      return Route.direct(httpRetrieverCriteria.getUrl(), concurrencyLimiter);
+    } catch (MalformedURLException ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+
+  /**
+   * Report a completed body to the trace, which may be null, and the route.
+   *
+   * @param trace {@link Trace}
+   * @param route {@link Route}
+   * @param responseCode int
+   * @param bytes body length
+   */
+  static void bodyComplete(Trace trace, Route route, int responseCode, long bytes) {
+    if (trace != null) {
+      trace.bodyComplete(responseCode, bytes);
+    }
+    route.complete(responseCode);
+  }
+
+  /**
+   * Fail before reading where the declared body length exceeds the {@link BodyLimits}.
+   *
+   * @param exchange {@link TransportExchange}
+   * @throws BodyTooLargeException where the body is too large
+   */
+  void checkContentLength(TransportExchange exchange) throws BodyTooLargeException {
+    long contentLength = exchange.getContentLength();
+    if (contentLength > maxBodySize) {
+      throw new BodyTooLargeException(contentLength, maxBodySize);
+    }
+  }
+
+  /**
+   * Open the response body, paced and reported where the criteria ask for it.
+   *
+   * @param exchange {@link TransportExchange}
+   * @return {@link InputStream}
+   * @throws IOException where the body cannot be read
+   */
+  InputStream body(TransportExchange exchange) throws IOException {
+    InputStream inputStream = exchange.getBody();
+    Transfer transfer =
+        transfer(TransferProgress.Direction.DOWNLOAD, exchange.getContentLength());
+    return transfer == null ? inputStream : new MeteredInputStream(inputStream, transfer);
+  }
+
+  private Transfer transfer(TransferProgress.Direction direction, long totalBytes) {
+    if (bandwidthLimiter == null && maxBytesPerSecond <= 0 && progressListener == null) {
+      return null;
+    }
+    List<BandwidthLimiter> bandwidthLimiters = new ArrayList<>(2);
+    if (bandwidthLimiter != null) {
+      bandwidthLimiters.add(bandwidthLimiter);
+    }
+    if (maxBytesPerSecond > 0) {
+      // a bucket of its own, so the cap holds for this body alone
+      bandwidthLimiters.add(
+          new BandwidthLimiter.BandwidthLimiterBuilder()
+              .setBytesPerSecond(maxBytesPerSecond)
+              .build());
+    }
+    return new Transfer(direction, bandwidthLimiters, progressListener, totalBytes);
+  }
+
+  long getMaxBodySize() {
+    return maxBodySize;
+  }
+
+  /**
+   * Check whether responses are served from the cassette rather than the network.
+   *
+   * @return boolean
+   */
+  boolean isReplaying() {
+    return cassette != null && cassette.getMode() == Cassette.Mode.REPLAY;
+  }
+
+  /**
+   * Check whether exchanges are recorded to a cassette.
+   *
+   * @return boolean
+   */
+  boolean isRecording() {
+    return cassette != null && !isReplaying();
+  }
+
+  /**
+   * Record an exchange where a cassette is recording; otherwise does nothing.
+   *
+   * @param status response code
+   * @param body response body
+   * @throws IOException where the write fails
+   */
+  void record(int status, byte[] body) throws IOException {
+    if (isRecording()) {
+      cassette.record(cassetteKey, status, body);
     }
   }
 
+  /**
+   * Replay the recorded body, empty where the recorded response was unsuccessful.
+   *
+   * @return {@link InputStream}
+   * @throws NoSuchElementException where nothing was recorded for the request
+   */
+  InputStream replay() {
+    Cassette.RecordedResponse recordedResponse = recordedResponse();
+
+    return isSuccess(recordedResponse.getStatus())
+        ? new ByteBufferInputStream(recordedResponse.getBody())
+        : InputStream.nullInputStream();
+  }
+
+  private <T> T replay(BodyHandler<T> bodyHandler) {
+    Cassette.RecordedResponse recordedResponse = recordedResponse();
+    ByteBuffer body = recordedResponse.getBody();
+    BodySink<T> bodySink =
+        bodyHandler.apply(
+            new ResponseInfo(recordedResponse.getStatus(), Map.of(), body.remaining()));
+
+    try {
+      if (isSuccess(recordedResponse.getStatus())) {
+        return bodySink.consume(new ByteBufferInputStream(body));
+      }
+      bodySink.abort();
+      return bodySink.finish();
+    } catch (IOException ex) {
+      bodySink.abort();
+      LOGGER.log(Level.SEVERE, ex.getLocalizedMessage(), ex);
+      throw new RuntimeException(ex);
+    } catch (RuntimeException ex) {
+      bodySink.abort();
+      throw ex;
+    }
+  }
+
+  private Cassette.RecordedResponse recordedResponse() {
+    return cassette
+        .replay(cassetteKey)
+        .orElseThrow(() -> new NoSuchElementException("No recorded exchange for " + cassetteKey));
+  }
+
+  /**
+   * Publish the response body as it arrives, reading on a shared daemon executor.
+   *
+   * @return {@link Flow.Publisher} of response body chunks
+   */
+  public Flow.Publisher<ByteBuffer> publish() {
+    return publish(ResponseBodyPublisher.DEFAULT_EXECUTOR);
+  }
+
+  /**
+   * Publish the response body as it arrives. Every subscription performs its own retrieval and
+   * reads from the connection on the supplied executor only while the subscriber has outstanding
+   * demand.
+   *
+   * @param executor {@link Executor} used for the blocking reads
+   * @return {@link Flow.Publisher} of response body chunks
+   */
+  public Flow.Publisher<ByteBuffer> publish(Executor executor) {
+    return new ResponseBodyPublisher(this, executor);
+  }
+
+  /**
+   * Start tracing a retrieval.
+   *
+   * @return {@link Trace} or null where no {@link RetrievalTracer} is configured
+   */
+  Trace startTrace() {
+    if (retrievalTracer == null) {
+      return null;
+    }
+    try {
+      return Trace.start(
+          retrievalTracer,
+          httpRetrieverCriteria.gethTTPMethod().name(),
+          httpRetrieverCriteria.getUrl());
+    } catch (MalformedURLException ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+
+  boolean isSuccess(TransportExchange exchange, Trace trace) throws IOException {
+    int responseCode = exchange.getStatusCode();
+    if (trace != null) {
+      trace.headersReceived(responseCode);
+    }
+
+    return isSuccess(responseCode);
+  }
+
+  private boolean isSuccess(int responseCode) {
+    Response response = Response.of(responseCode).orElse(Response.HTTP_INTERNAL_ERROR);
+    boolean success = response.hasStatus();
+
+    // an unchanged resource is the expected answer to a conditional request
+    log(
+        response,
+        success || response == Response.HTTP_NOT_MODIFIED ? Level.FINE : Level.WARNING);
+    return success;
+  }
+
   private void log(Response response, Level level) {
-    LOGGER.log(
-        level, "Recieved {0}:{1}", new Object[] {response.name(), response.getReponseCode()});
+    if (LOGGER.isLoggable(level)) {
+      LOGGER.log(
+          level, "Recieved {0}:{1}", new Object[] {response.name(), response.getReponseCode()});
+    }
   }
 
-  private HttpURLConnection getHttpURLConnection() {
+  /**
+   * Open the connection along the route, failing over to another service endpoint where the
+   * request may be repeated and the endpoint cannot be reached or answers 5xx.
+   *
+   * @param trace {@link Trace}, may be null
+   * @param route {@link Route}
+   * @return {@link TransportExchange}
+   */
+  TransportExchange connect(Trace trace, Route route) {
+    while (true) {
+      TransportExchange exchange;
+      try {
+        exchange = connect(trace, route.getUrl());
+      } catch (RuntimeException ex) {
+        if (failover && route.failover(-1)) {
+          LOGGER.log(Level.FINE, "Failing over to {0}", route.getUrl());
+          continue;
+        }
+        throw ex;
+      }
+
+      if (failover) {
+        int responseCode = responseCode(exchange);
+        if ((responseCode < 0 || responseCode >= HttpURLConnection.HTTP_INTERNAL_ERROR)
+            && route.failover(responseCode)) {
+          LOGGER.log(Level.FINE, "Failing over to {0}", route.getUrl());
+          exchange.abort();
+          continue;
+        }
+      }
+      return exchange;
+    }
+  }
 
+  private static int responseCode(TransportExchange exchange) {
     try {
+      return exchange.getStatusCode();
+    } catch (IOException ex) {
+      return -1;
+    }
+  }
+
+  /**
+   * Open the connection, retrying once with renewed credentials where the server answers 401 and
+   * the {@link CredentialsProvider} has a fresh value. Streamed bodies are not replayed.
+   *
+   * @param trace {@link Trace}, may be null
+   * @param url {@link URL}
+   * @return {@link TransportExchange}
+   */
+  private TransportExchange connect(Trace trace, URL url) {
 
-      HttpURLConnection connection =
-          (HttpURLConnection) httpRetrieverCriteria.getUrl().openConnection();
-      connection.addRequestProperty(
-          AUTH,
-          Optional.ofNullable(httpRetrieverCriteria.getAuthorization())
-              .map(auth -> String.valueOf(auth))
-              .orElse(null));
-      connection.setRequestProperty(USER_AGENT, httpRetrieverCriteria.getUserAgent());
-      connection.setRequestProperty(
-          ACCEPT,
-          Optional.ofNullable(httpRetrieverCriteria.getAcceptContentType())
-              .map(ContentType::getContentType)
-              .orElse(null));
-      connection.setRequestProperty(CACHE_CONTROL, "no-cache");
-      connection.setRequestMethod(httpRetrieverCriteria.gethTTPMethod().name());
-      connection.setConnectTimeout(Long.valueOf(TimeUnit.SECONDS.toMillis(5)).intValue());
-      connection.setReadTimeout(Long.valueOf(TimeUnit.MINUTES.toMillis(1)).intValue());
-      connection.setUseCaches(false);
-
-      Optional.ofNullable(httpRetrieverCriteria.getBodyContentType())
-          .ifPresent(
-              contentType -> {
-                connection.setRequestProperty(CONTENT_TYPE, contentType.getContentType());
-              });
-      Optional.ofNullable(httpRetrieverCriteria.getBody())
-          .ifPresent(body -> writeBody(connection, body));
-
-      httpRetrieverCriteria
-          .getHeaders()
-          .forEach(
-              header -> {
-                String headerType =
-                    Optional.ofNullable(header.getType())
-                        .orElseThrow(
-                            () -> new NoSuchElementException("Header type cannot be null"));
-                String headerString =
-                    Optional.ofNullable(header.getHeader())
-                        .orElseThrow(() -> new NoSuchElementException("Header cannot be null"));
-
-                connection.setRequestProperty(headerType, headerString);
-              });
-
-      connection.connect();
-
-      return connection;
+    CredentialsProvider credentialsProvider = httpRetrieverCriteria.getCredentialsProvider();
+    if (credentialsProvider == null) {
+      return send(url, null, trace);
+    }
+
+    String authorization = credentialsProvider.getAuthorization();
+    TransportExchange exchange = send(url, authorization, trace);
+    try {
+      if (exchange.getStatusCode() == HttpURLConnection.HTTP_UNAUTHORIZED
+          && httpRetrieverCriteria.getBodyPublisher() == null
+          && credentialsProvider.invalidate(authorization)) {
+        LOGGER.log(Level.FINE, "Retrying with renewed credentials");
+        exchange.abort();
+        return send(url, credentialsProvider.getAuthorization(), trace);
+      }
+      return exchange;
     } catch (IOException ex) {
+      exchange.abort();
+      if (trace != null) {
+        trace.failure(ex);
+      }
       LOGGER.log(Level.SEVERE, ex.getLocalizedMessage(), ex);
       throw new RuntimeException(ex);
     }
   }
 
-  private void writeBody(HttpURLConnection secureConnection, String body) {
-    secureConnection.setDoOutput(true);
-    secureConnection.setRequestProperty(
-        "Content-Length", "" + Integer.toString(body.getBytes().length));
-    try (OutputStreamWriter outputStreamWriter =
-        new OutputStreamWriter(secureConnection.getOutputStream())) {
-      outputStreamWriter.write(body);
-      outputStreamWriter.flush();
-      outputStreamWriter.close();
+  private TransportExchange send(URL url, String authorization, Trace trace) {
+
+    try {
+
+      TransportRequest.TransportRequestBuilder request =
+          new TransportRequest.TransportRequestBuilder()
+              .setMethod(httpRetrieverCriteria.gethTTPMethod().name())
+              .setUrl(url)
+              .setConnectTimeout(CONNECT_TIMEOUT)
+              .setReadTimeout(
+                  Optional.ofNullable(httpRetrieverCriteria.getReadTimeout())
+                      .orElse(READ_TIMEOUT));
+      Optional.ofNullable(authorization).ifPresent(auth -> request.setHeader(AUTH, auth));
+      request.setHeader(USER_AGENT, httpRetrieverCriteria.getUserAgent());
+      request.setHeader(ACCEPT, accept);
+      request.setHeader(CACHE_CONTROL, "no-cache");
+
+      if (contentType != null) {
+        request.setHeader(CONTENT_TYPE, contentType);
+      }
+      for (Header header : httpRetrieverCriteria.getHeaders()) {
+        if (header.getType() == null) {
+          throw new NoSuchElementException("Header type cannot be null");
+        }
+        if (header.getHeader() == null) {
+          throw new NoSuchElementException("Header cannot be null");
+        }
+        request.setHeader(header.getType(), header.getHeader());
+      }
+      if (trace != null && retrievalTracer.isPropagate()) {
+        request.setHeader(RetrievalTracer.TRACEPARENT, trace.traceparent());
+      }
+      request.setBody(body).setBodyPublisher(httpRetrieverCriteria.getBodyPublisher());
+      if (body != null || httpRetrieverCriteria.getBodyPublisher() != null) {
+        request.setBodyMeter(
+            transfer(TransferProgress.Direction.UPLOAD, body == null ? -1 : body.length));
+      }
+
+      TransportExchange exchange = transport.send(request.build());
+      if (trace != null) {
+        trace.connectionAcquired();
+      }
+
+      return exchange;
     } catch (IOException ex) {
-      throw new RuntimeException(ex.getLocalizedMessage(), ex);
+      if (trace != null) {
+        trace.failure(ex);
+      }
+      LOGGER.log(Level.SEVERE, ex.getLocalizedMessage(), ex);
+      throw new RuntimeException(ex);
+    } catch (RuntimeException ex) {
+      if (trace != null) {
+        trace.failure(ex);
+      }
+      throw ex;
     }
   }
 }
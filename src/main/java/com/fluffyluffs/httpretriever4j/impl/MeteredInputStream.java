@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j.impl;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/** InputStream pacing and counting a response body through a {@link Transfer}. */
+class MeteredInputStream extends FilterInputStream {
+
+  private final Transfer transfer;
+
+  MeteredInputStream(InputStream inputStream, Transfer transfer) {
+    super(inputStream);
+    this.transfer = transfer;
+  }
+
+  @Override
+  public int read() throws IOException {
+    int read = super.read();
+    if (read < 0) {
+      transfer.complete();
+    } else {
+      transfer.meter(1);
+    }
+    return read;
+  }
+
+  @Override
+  public int read(byte[] bytes, int offset, int length) throws IOException {
+    // read in slices so that a large buffer does not defeat the pacing
+    int read = super.read(bytes, offset, Math.min(length, Transfer.SLICE));
+    if (read < 0) {
+      transfer.complete();
+    } else if (read > 0) {
+      transfer.meter(read);
+    }
+    return read;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    byte[] buffer = new byte[(int) Math.min(n, Transfer.SLICE)];
+    int read = read(buffer, 0, buffer.length);
+    return Math.max(read, 0);
+  }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j.impl;
+
+import com.fluffyluffs.httpretriever4j.TransferMeter;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/** OutputStream writing a request body through a {@link TransferMeter}, slice by slice. */
+class MeteredOutputStream extends FilterOutputStream {
+
+  private final TransferMeter transferMeter;
+
+  MeteredOutputStream(OutputStream outputStream, TransferMeter transferMeter) {
+    super(outputStream);
+    this.transferMeter = transferMeter;
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    transferMeter.meter(1);
+    out.write(b);
+  }
+
+  @Override
+  public void write(byte[] bytes, int offset, int length) throws IOException {
+    while (length > 0) {
+      int slice = Math.min(length, Transfer.SLICE);
+      transferMeter.meter(slice);
+      out.write(bytes, offset, slice);
+      offset += slice;
+      length -= slice;
+    }
+  }
+}
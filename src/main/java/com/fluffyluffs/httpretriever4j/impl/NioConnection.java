@@ -0,0 +1,380 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * NIO Connection
+ *
+ * <p>One HTTP/1.1 connection driven by the {@link NioEventLoop}. Requests are written in the
+ * order they were sent and responses parsed incrementally in the same order, so several requests
+ * may be pipelined on the connection. Only touched on the event loop.
+ */
+final class NioConnection {
+
+  private static final int MAX_LINE = 64 * 1024;
+
+  private enum State {
+    STATUS_LINE,
+    HEADERS,
+    FIXED_BODY,
+    CHUNK_SIZE,
+    CHUNK_DATA,
+    CHUNK_DATA_END,
+    TRAILERS,
+    BODY_TO_CLOSE
+  }
+
+  final NioEventLoop.HostPool pool;
+  final SocketChannel channel;
+  final ArrayDeque<NioExchange> inFlight = new ArrayDeque<>();
+  SelectionKey key;
+  boolean connected;
+  boolean closed;
+  boolean keepAlive = true;
+  long connectDeadline;
+  long idleSince;
+  int requests;
+
+  private final NioEventLoop eventLoop;
+  private final ArrayDeque<ByteBuffer> writes = new ArrayDeque<>();
+  private final ByteArrayOutputStream line = new ByteArrayOutputStream();
+  private boolean paused;
+
+  private State state = State.STATUS_LINE;
+  private String version;
+  private int statusCode;
+  private Map<String, List<String>> headers;
+  private String lastHeader;
+  private long remaining;
+
+  NioConnection(NioEventLoop eventLoop, NioEventLoop.HostPool pool, SocketChannel channel) {
+    this.eventLoop = eventLoop;
+    this.pool = pool;
+    this.channel = channel;
+  }
+
+  /**
+   * Queue a request behind any already in flight.
+   *
+   * @param exchange {@link NioExchange}
+   */
+  void send(NioExchange exchange) {
+    inFlight.add(exchange);
+    exchange.connection = this;
+    exchange.attempts++;
+    requests++;
+    if (exchange.close) {
+      keepAlive = false;
+    }
+    writes.add(ByteBuffer.wrap(exchange.request));
+    updateInterest();
+  }
+
+  /**
+   * Whether another request may be pipelined behind those in flight.
+   *
+   * @param depth most requests in flight at once
+   * @return boolean
+   */
+  boolean canPipeline(int depth) {
+    if (closed || !keepAlive || paused || inFlight.isEmpty() || inFlight.size() >= depth) {
+      return false;
+    }
+    for (NioExchange exchange : inFlight) {
+      if (!exchange.idempotent) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  void finishConnect() throws IOException {
+    if (channel.finishConnect()) {
+      connected = true;
+      updateInterest();
+    }
+  }
+
+  void write() throws IOException {
+    while (!writes.isEmpty()) {
+      ByteBuffer buffer = writes.peek();
+      channel.write(buffer);
+      if (buffer.hasRemaining()) {
+        break;
+      }
+      writes.poll();
+    }
+    updateInterest();
+  }
+
+  void resumeReading() {
+    if (paused && !closed) {
+      paused = false;
+      updateInterest();
+    }
+  }
+
+  /**
+   * Parse the bytes read, handing each response to the exchange at the head of the queue.
+   *
+   * @param buffer bytes read, consumed entirely unless the connection is closed part way
+   * @throws IOException where the response is malformed
+   */
+  void parse(ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining() && !closed) {
+      NioExchange exchange = inFlight.peek();
+      if (exchange == null) {
+        throw new IOException("Unexpected bytes on idle connection");
+      }
+      exchange.responseStarted = true;
+      switch (state) {
+        case STATUS_LINE:
+          String statusLine = readLine(buffer);
+          if (statusLine != null) {
+            statusLine(statusLine);
+          }
+          break;
+        case HEADERS:
+          String headerLine = readLine(buffer);
+          if (headerLine != null) {
+            headerLine(exchange, headerLine);
+          }
+          break;
+        case FIXED_BODY:
+        case CHUNK_DATA:
+          int length = (int) Math.min(remaining, buffer.remaining());
+          body(exchange, buffer, length);
+          remaining -= length;
+          if (remaining == 0) {
+            if (state == State.FIXED_BODY) {
+              complete();
+            } else {
+              state = State.CHUNK_DATA_END;
+            }
+          }
+          break;
+        case CHUNK_SIZE:
+          String sizeLine = readLine(buffer);
+          if (sizeLine != null) {
+            chunkSize(sizeLine);
+          }
+          break;
+        case CHUNK_DATA_END:
+          if (readLine(buffer) != null) {
+            state = State.CHUNK_SIZE;
+          }
+          break;
+        case TRAILERS:
+          String trailer = readLine(buffer);
+          if (trailer != null && trailer.isEmpty()) {
+            complete();
+          }
+          break;
+        case BODY_TO_CLOSE:
+          body(exchange, buffer, buffer.remaining());
+          break;
+        default:
+          throw new IllegalStateException(state.name());
+      }
+    }
+    updateInterest();
+  }
+
+  /**
+   * The server closed its end.
+   *
+   * @throws IOException where a response was cut short
+   */
+  void endOfStream() throws IOException {
+    if (state == State.BODY_TO_CLOSE && !inFlight.isEmpty()) {
+      complete();
+      return;
+    }
+    throw new IOException("Connection closed by server");
+  }
+
+  void close() {
+    closed = true;
+    if (key != null) {
+      key.cancel();
+    }
+    try {
+      channel.close();
+    } catch (IOException ex) {
+      // nothing more to do with a connection being discarded
+    }
+  }
+
+  private void statusLine(String statusLine) throws IOException {
+    // HTTP-version SP status-code SP [ reason-phrase ]
+    String[] parts = statusLine.split(" ", 3);
+    if (parts.length < 2 || !parts[0].startsWith("HTTP/")) {
+      throw new IOException("Malformed status line: " + statusLine);
+    }
+    try {
+      statusCode = Integer.parseInt(parts[1]);
+    } catch (NumberFormatException ex) {
+      throw new IOException("Malformed status line: " + statusLine, ex);
+    }
+    version = parts[0];
+    headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    lastHeader = null;
+    state = State.HEADERS;
+  }
+
+  private void headerLine(NioExchange exchange, String headerLine) throws IOException {
+    if (!headerLine.isEmpty()) {
+      if ((headerLine.charAt(0) == ' ' || headerLine.charAt(0) == '\t') && lastHeader != null) {
+        // obsolete line folding continues the previous value
+        List<String> values = headers.get(lastHeader);
+        int last = values.size() - 1;
+        values.set(last, values.get(last) + ' ' + headerLine.trim());
+        return;
+      }
+      int colon = headerLine.indexOf(':');
+      if (colon <= 0) {
+        throw new IOException("Malformed header: " + headerLine);
+      }
+      lastHeader = headerLine.substring(0, colon).trim();
+      headers
+          .computeIfAbsent(lastHeader, name -> new ArrayList<>())
+          .add(headerLine.substring(colon + 1).trim());
+      return;
+    }
+
+    if (statusCode >= 100 && statusCode < 200) {
+      // interim response, the final one follows
+      state = State.STATUS_LINE;
+      return;
+    }
+
+    String connection = header("Connection").toLowerCase(Locale.ROOT);
+    if (connection.contains("close")
+        || ("HTTP/1.0".equals(version) && !connection.contains("keep-alive"))) {
+      keepAlive = false;
+    }
+
+    long contentLength = -1;
+    boolean bodyless = exchange.head || statusCode == 204 || statusCode == 304;
+    if (bodyless) {
+      state = State.STATUS_LINE;
+    } else if (header("Transfer-Encoding").toLowerCase(Locale.ROOT).contains("chunked")) {
+      state = State.CHUNK_SIZE;
+    } else if (!header("Content-Length").isEmpty()) {
+      try {
+        contentLength = Long.parseLong(header("Content-Length"));
+      } catch (NumberFormatException ex) {
+        throw new IOException("Malformed Content-Length: " + header("Content-Length"), ex);
+      }
+      remaining = contentLength;
+      bodyless = contentLength == 0;
+      state = bodyless ? State.STATUS_LINE : State.FIXED_BODY;
+    } else {
+      // delimited by the server closing the connection
+      keepAlive = false;
+      state = State.BODY_TO_CLOSE;
+    }
+
+    Map<String, List<String>> fields = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+    headers.forEach((name, values) -> fields.put(name, Collections.unmodifiableList(values)));
+    exchange.onHead(statusCode, Collections.unmodifiableMap(fields), contentLength);
+    if (bodyless) {
+      complete();
+    }
+  }
+
+  private void chunkSize(String sizeLine) throws IOException {
+    int extension = sizeLine.indexOf(';');
+    String size = (extension < 0 ? sizeLine : sizeLine.substring(0, extension)).trim();
+    try {
+      remaining = Long.parseLong(size, 16);
+    } catch (NumberFormatException ex) {
+      throw new IOException("Malformed chunk size: " + sizeLine, ex);
+    }
+    if (remaining < 0) {
+      throw new IOException("Malformed chunk size: " + sizeLine);
+    }
+    state = remaining == 0 ? State.TRAILERS : State.CHUNK_DATA;
+  }
+
+  private void body(NioExchange exchange, ByteBuffer buffer, int length) {
+    if (length > 0 && exchange.onBody(buffer, length, this)) {
+      paused = true;
+    }
+  }
+
+  private void complete() {
+    NioExchange exchange = inFlight.poll();
+    state = State.STATUS_LINE;
+    // the reader holds everything of this response it will get, so reading may go on
+    paused = false;
+    exchange.onComplete();
+    eventLoop.exchangeComplete(this, exchange);
+  }
+
+  private String header(String name) {
+    List<String> values = headers.get(name);
+    return values == null ? "" : String.join(",", values);
+  }
+
+  private String readLine(ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      byte b = buffer.get();
+      if (b == '\n') {
+        byte[] bytes = line.toByteArray();
+        line.reset();
+        int length = bytes.length;
+        if (length > 0 && bytes[length - 1] == '\r') {
+          length--;
+        }
+        return new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+      }
+      if (line.size() >= MAX_LINE) {
+        throw new IOException("Response line too long");
+      }
+      line.write(b);
+    }
+    return null;
+  }
+
+  private void updateInterest() {
+    if (closed || key == null || !key.isValid()) {
+      return;
+    }
+    int ops =
+        connected
+            ? (paused ? 0 : SelectionKey.OP_READ) | (writes.isEmpty() ? 0 : SelectionKey.OP_WRITE)
+            : SelectionKey.OP_CONNECT;
+    if (key.interestOps() != ops) {
+      key.interestOps(ops);
+    }
+  }
+}
@@ -0,0 +1,532 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j.impl;
+
+import com.fluffyluffs.httpretriever4j.HttpTransport;
+import com.fluffyluffs.httpretriever4j.TransportExchange;
+import com.fluffyluffs.httpretriever4j.TransportRequest;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
+import java.net.URL;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * NIO Event Loop
+ *
+ * <p>A single thread multiplexing every connection of a transport over one {@link Selector}.
+ * Connections are pooled per host and kept alive between requests; idempotent requests may be
+ * pipelined behind others in flight. All reads land in one direct buffer owned by the loop, from
+ * which each response is parsed as it arrives. Callers only ever hand the loop tasks, so the pools
+ * and connections need no locking.
+ */
+public final class NioEventLoop {
+
+  private static final Logger LOGGER = Logger.getLogger(NioEventLoop.class.getName());
+
+  private static final long TICK_MILLIS = 250;
+  private static final int MAX_ATTEMPTS = 2;
+  private static final Set<String> COMPUTED_HEADERS =
+      Set.of("host", "content-length", "transfer-encoding");
+
+  private final int maxConnectionsPerHost;
+  private final int pipelineDepth;
+  private final long keepAliveNanos;
+  private final HttpTransport fallback;
+
+  private final Selector selector;
+  private final ByteBuffer readBuffer;
+  private final ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+  private final Map<String, HostPool> pools = new HashMap<>();
+  private final AtomicInteger openConnections = new AtomicInteger();
+  private final AtomicLong connectionsOpened = new AtomicLong();
+  private final AtomicLong requests = new AtomicLong();
+  private volatile boolean closed;
+  private volatile boolean terminated;
+
+  /**
+   * NIO Event Loop, started on a daemon thread.
+   *
+   * @param maxConnectionsPerHost most connections open to one host and port
+   * @param pipelineDepth most requests in flight on one connection, 1 to disable pipelining
+   * @param keepAlive {@link Duration} an idle connection is kept open for
+   * @param readBufferSize size of the direct read buffer
+   * @param fallback {@link HttpTransport} for requests other than plain http
+   * @throws IOException where the selector cannot be opened
+   */
+  public NioEventLoop(
+      int maxConnectionsPerHost,
+      int pipelineDepth,
+      Duration keepAlive,
+      int readBufferSize,
+      HttpTransport fallback)
+      throws IOException {
+    this.maxConnectionsPerHost = maxConnectionsPerHost;
+    this.pipelineDepth = pipelineDepth;
+    this.keepAliveNanos = keepAlive.toNanos();
+    this.fallback = fallback;
+    this.selector = Selector.open();
+    this.readBuffer = ByteBuffer.allocateDirect(readBufferSize);
+
+    Thread thread = new Thread(this::run, "http-retriever4j-nio");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  /**
+   * Send a request. Requests other than plain http go to the fallback transport.
+   *
+   * @param request {@link TransportRequest}
+   * @return {@link TransportExchange}
+   * @throws IOException where the request cannot be sent
+   */
+  public TransportExchange send(TransportRequest request) throws IOException {
+    URL url = request.getUrl();
+    if (!"http".equalsIgnoreCase(url.getProtocol())) {
+      return fallback.send(request);
+    }
+    if (closed) {
+      throw new IOException("Transport closed");
+    }
+
+    String host = url.getHost();
+    int port = url.getPort() == -1 ? url.getDefaultPort() : url.getPort();
+    // resolved on the caller so a slow lookup never stalls the loop
+    InetSocketAddress address =
+        new InetSocketAddress(
+            host.startsWith("[") ? host.substring(1, host.length() - 1) : host, port);
+    if (address.isUnresolved()) {
+      throw new UnknownHostException(host);
+    }
+
+    byte[] body = body(request);
+    if (body != null && request.getBodyMeter() != null) {
+      // paced here, as the loop cannot wait; the socket then sees each body in one go
+      for (int offset = 0; offset < body.length; offset += Transfer.SLICE) {
+        request.getBodyMeter().meter(Math.min(Transfer.SLICE, body.length - offset));
+      }
+      request.getBodyMeter().complete();
+    }
+    String method = request.getMethod();
+    NioExchange exchange =
+        new NioExchange(
+            this,
+            host + ':' + port,
+            address,
+            encode(request, body),
+            body == null && ("GET".equals(method) || "HEAD".equals(method)),
+            "HEAD".equals(method),
+            closeRequested(request),
+            request.getConnectTimeout().toNanos(),
+            request.getReadTimeout().toNanos());
+    requests.incrementAndGet();
+    execute(() -> dispatch(exchange));
+    return exchange;
+  }
+
+  /** Close every connection and stop the loop, failing requests still in flight. */
+  public void close() {
+    closed = true;
+    selector.wakeup();
+  }
+
+  public int getOpenConnections() {
+    return openConnections.get();
+  }
+
+  public long getConnectionsOpened() {
+    return connectionsOpened.get();
+  }
+
+  public long getRequests() {
+    return requests.get();
+  }
+
+  /**
+   * Run a task on the loop.
+   *
+   * @param task {@link Runnable}
+   */
+  void execute(Runnable task) {
+    tasks.add(task);
+    if (terminated) {
+      // the loop has gone, the tasks only have exchanges to fail
+      runTasks();
+    } else {
+      selector.wakeup();
+    }
+  }
+
+  void abort(NioExchange exchange) {
+    if (closed) {
+      return;
+    }
+    if (exchange.connection != null) {
+      close(exchange.connection, new IOException("Exchange aborted"));
+    } else {
+      HostPool pool = pools.get(exchange.hostKey);
+      if (pool != null) {
+        pool.waiting.remove(exchange);
+      }
+    }
+  }
+
+  /**
+   * A response has been read in full.
+   *
+   * @param connection {@link NioConnection}
+   * @param exchange {@link NioExchange}
+   */
+  void exchangeComplete(NioConnection connection, NioExchange exchange) {
+    exchange.connection = null;
+    if (!connection.keepAlive) {
+      close(connection, new IOException("Connection closed by server"));
+      return;
+    }
+    if (connection.inFlight.isEmpty()) {
+      connection.idleSince = System.nanoTime();
+      connection.pool.idle.push(connection);
+    }
+    serveWaiting(connection.pool);
+  }
+
+  private void run() {
+    try {
+      while (!closed) {
+        selector.select(TICK_MILLIS);
+        runTasks();
+        Iterator<SelectionKey> selected = selector.selectedKeys().iterator();
+        while (selected.hasNext()) {
+          SelectionKey key = selected.next();
+          selected.remove();
+          handle(key);
+        }
+        expire(System.nanoTime());
+      }
+    } catch (IOException | RuntimeException ex) {
+      LOGGER.log(Level.SEVERE, ex.getLocalizedMessage(), ex);
+    } finally {
+      closed = true;
+      terminated = true;
+      for (HostPool pool : new ArrayList<>(pools.values())) {
+        for (NioConnection connection : new ArrayList<>(pool.connections)) {
+          close(connection, new IOException("Transport closed"));
+        }
+        pool.waiting.forEach(exchange -> exchange.onFailure(new IOException("Transport closed")));
+        pool.waiting.clear();
+      }
+      runTasks();
+      try {
+        selector.close();
+      } catch (IOException ex) {
+        LOGGER.log(Level.FINE, ex.getLocalizedMessage(), ex);
+      }
+    }
+  }
+
+  private void runTasks() {
+    Runnable task;
+    while ((task = tasks.poll()) != null) {
+      try {
+        task.run();
+      } catch (RuntimeException ex) {
+        LOGGER.log(Level.SEVERE, ex.getLocalizedMessage(), ex);
+      }
+    }
+  }
+
+  private void handle(SelectionKey key) {
+    NioConnection connection = (NioConnection) key.attachment();
+    try {
+      if (key.isValid() && key.isConnectable()) {
+        connection.finishConnect();
+      }
+      if (key.isValid() && key.isWritable()) {
+        connection.write();
+      }
+      if (key.isValid() && key.isReadable()) {
+        readBuffer.clear();
+        int read = connection.channel.read(readBuffer);
+        if (read < 0) {
+          connection.endOfStream();
+          if (!connection.closed) {
+            close(connection, null);
+          }
+        } else if (read > 0) {
+          readBuffer.flip();
+          connection.parse(readBuffer);
+        }
+      }
+    } catch (IOException ex) {
+      close(connection, ex);
+    } catch (CancelledKeyException ex) {
+      close(connection, new IOException("Connection closed", ex));
+    }
+  }
+
+  private void dispatch(NioExchange exchange) {
+    if (closed) {
+      exchange.onFailure(new IOException("Transport closed"));
+      return;
+    }
+    if (exchange.isAborted()) {
+      return;
+    }
+    HostPool pool = pools.computeIfAbsent(exchange.hostKey, hostKey -> new HostPool());
+    NioConnection connection;
+    try {
+      connection = acquire(pool, exchange);
+    } catch (IOException ex) {
+      exchange.onFailure(ex);
+      return;
+    }
+    if (connection == null) {
+      pool.waiting.add(exchange);
+    } else {
+      connection.send(exchange);
+    }
+  }
+
+  private void serveWaiting(HostPool pool) {
+    while (!pool.waiting.isEmpty()) {
+      NioExchange exchange = pool.waiting.peek();
+      if (closed) {
+        pool.waiting.poll();
+        exchange.onFailure(new IOException("Transport closed"));
+        continue;
+      }
+      if (exchange.isAborted()) {
+        pool.waiting.poll();
+        continue;
+      }
+      NioConnection connection;
+      try {
+        connection = acquire(pool, exchange);
+      } catch (IOException ex) {
+        pool.waiting.poll();
+        exchange.onFailure(ex);
+        continue;
+      }
+      if (connection == null) {
+        return;
+      }
+      pool.waiting.poll();
+      connection.send(exchange);
+    }
+  }
+
+  /**
+   * Find a connection for the exchange: an idle one, one it may be pipelined on or a new one.
+   *
+   * @return {@link NioConnection}, null where the host is at its connection limit
+   * @throws IOException where a new connection cannot be opened
+   */
+  private NioConnection acquire(HostPool pool, NioExchange exchange) throws IOException {
+    NioConnection idle = pool.idle.poll();
+    if (idle != null) {
+      return idle;
+    }
+    if (exchange.idempotent && pipelineDepth > 1) {
+      for (NioConnection connection : pool.connections) {
+        if (connection.canPipeline(pipelineDepth)) {
+          return connection;
+        }
+      }
+    }
+    if (pool.connections.size() >= maxConnectionsPerHost) {
+      return null;
+    }
+    return open(pool, exchange);
+  }
+
+  private NioConnection open(HostPool pool, NioExchange exchange) throws IOException {
+    SocketChannel channel = SocketChannel.open();
+    try {
+      channel.configureBlocking(false);
+      channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+      NioConnection connection = new NioConnection(this, pool, channel);
+      connection.connected = channel.connect(exchange.address);
+      connection.connectDeadline = System.nanoTime() + exchange.connectTimeoutNanos;
+      connection.key =
+          channel.register(
+              selector,
+              connection.connected ? SelectionKey.OP_READ : SelectionKey.OP_CONNECT,
+              connection);
+      pool.connections.add(connection);
+      openConnections.incrementAndGet();
+      connectionsOpened.incrementAndGet();
+      return connection;
+    } catch (IOException ex) {
+      channel.close();
+      throw ex;
+    }
+  }
+
+  /**
+   * Close a connection, sending its unanswered requests again where that is safe.
+   *
+   * @param connection {@link NioConnection}
+   * @param ex cause, null where the connection simply ended
+   */
+  private void close(NioConnection connection, IOException ex) {
+    if (connection.closed) {
+      return;
+    }
+    connection.close();
+    HostPool pool = connection.pool;
+    pool.connections.remove(connection);
+    pool.idle.remove(connection);
+    openConnections.decrementAndGet();
+
+    List<NioExchange> retries = new ArrayList<>();
+    for (NioExchange exchange : connection.inFlight) {
+      exchange.connection = null;
+      if (exchange.isAborted()) {
+        continue;
+      }
+      // a kept alive connection may be closed by the server just as a request is sent; a request
+      // with no answer at all goes again where it is idempotent or went on a reused connection
+      if (!closed
+          && connection.connected
+          && !exchange.responseStarted
+          && exchange.attempts < MAX_ATTEMPTS
+          && (exchange.idempotent || connection.requests > 1)) {
+        retries.add(exchange);
+      } else {
+        exchange.onFailure(ex == null ? new IOException("Connection closed by server") : ex);
+      }
+    }
+    connection.inFlight.clear();
+
+    if (!retries.isEmpty()) {
+      LOGGER.log(Level.FINE, "Retrying {0} requests on a new connection", retries.size());
+      // ahead of those already waiting, as they were sent first
+      for (int i = retries.size() - 1; i >= 0; i--) {
+        pool.waiting.addFirst(retries.get(i));
+      }
+    }
+    serveWaiting(pool);
+  }
+
+  private void expire(long now) {
+    for (HostPool pool : new ArrayList<>(pools.values())) {
+      for (NioConnection connection : new ArrayList<>(pool.connections)) {
+        if (!connection.connected && now - connection.connectDeadline > 0) {
+          close(connection, new SocketTimeoutException("Connect timed out"));
+        }
+      }
+      for (NioConnection connection : new ArrayList<>(pool.idle)) {
+        if (now - connection.idleSince > keepAliveNanos) {
+          close(connection, null);
+        }
+      }
+    }
+    pools.values().removeIf(pool -> pool.connections.isEmpty() && pool.waiting.isEmpty());
+  }
+
+  private static boolean closeRequested(TransportRequest request) {
+    for (Map.Entry<String, String> header : request.getHeaders().entrySet()) {
+      if (header.getKey().equalsIgnoreCase("Connection")
+          && "close".equalsIgnoreCase(header.getValue())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static byte[] body(TransportRequest request) throws IOException {
+    if (request.getBodyPublisher() == null) {
+      return request.getBody();
+    }
+    // collected up front so the loop never waits on a publisher
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    RequestBodySubscriber requestBodySubscriber = new RequestBodySubscriber(outputStream);
+    request.getBodyPublisher().subscribe(requestBodySubscriber);
+    requestBodySubscriber.await();
+    return outputStream.toByteArray();
+  }
+
+  private static byte[] encode(TransportRequest request, byte[] body) {
+    URL url = request.getUrl();
+    StringBuilder head = new StringBuilder(256);
+    head.append(request.getMethod())
+        .append(' ')
+        .append(url.getFile().isEmpty() ? "/" : url.getFile())
+        .append(" HTTP/1.1\r\n");
+    head.append("Host: ").append(url.getHost());
+    if (url.getPort() != -1) {
+      head.append(':').append(url.getPort());
+    }
+    head.append("\r\n");
+    request
+        .getHeaders()
+        .forEach(
+            (name, value) -> {
+              if (value != null && !COMPUTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                if (value.indexOf('\r') >= 0 || value.indexOf('\n') >= 0) {
+                  throw new IllegalArgumentException("Illegal character in header " + name);
+                }
+                head.append(name).append(": ").append(value).append("\r\n");
+              }
+            });
+    if (body != null) {
+      head.append("Content-Length: ").append(body.length).append("\r\n");
+    } else if ("POST".equals(request.getMethod()) || "PUT".equals(request.getMethod())) {
+      head.append("Content-Length: 0\r\n");
+    }
+    head.append("\r\n");
+
+    byte[] headBytes = head.toString().getBytes(StandardCharsets.ISO_8859_1);
+    if (body == null || body.length == 0) {
+      return headBytes;
+    }
+    byte[] bytes = new byte[headBytes.length + body.length];
+    System.arraycopy(headBytes, 0, bytes, 0, headBytes.length);
+    System.arraycopy(body, 0, bytes, headBytes.length, body.length);
+    return bytes;
+  }
+
+  /** The connections to one host and port, and the requests waiting for one. */
+  static final class HostPool {
+
+    final List<NioConnection> connections = new ArrayList<>();
+    final ArrayDeque<NioConnection> idle = new ArrayDeque<>();
+    final ArrayDeque<NioExchange> waiting = new ArrayDeque<>();
+  }
+}
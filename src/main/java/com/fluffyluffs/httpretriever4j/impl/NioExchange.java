@@ -0,0 +1,341 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j.impl;
+
+import com.fluffyluffs.httpretriever4j.TransportExchange;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.InetSocketAddress;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * NIO Exchange
+ *
+ * <p>Hands a response parsed on the event loop to the thread reading it. Body bytes are queued as
+ * they arrive; once more than {@link #HIGH_WATER} bytes are waiting the connection stops reading
+ * until the reader has caught up.
+ */
+final class NioExchange implements TransportExchange {
+
+  static final int HIGH_WATER = 256 * 1024;
+  private static final int LOW_WATER = 64 * 1024;
+
+  final String hostKey;
+  final InetSocketAddress address;
+  final byte[] request;
+  final boolean idempotent;
+  final boolean head;
+  final boolean close;
+  final long connectTimeoutNanos;
+
+  private final NioEventLoop eventLoop;
+  private final long readTimeoutNanos;
+
+  // only touched on the event loop
+  NioConnection connection;
+  int attempts;
+  boolean responseStarted;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition changed = lock.newCondition();
+  private final ArrayDeque<byte[]> chunks = new ArrayDeque<>();
+  private int chunkOffset;
+  private long queued;
+  private boolean headReceived;
+  private int statusCode = -1;
+  private Map<String, List<String>> headers = Map.of();
+  private long contentLength = -1;
+  private boolean complete;
+  private boolean aborted;
+  private IOException failure;
+  private NioConnection pausedConnection;
+
+  NioExchange(
+      NioEventLoop eventLoop,
+      String hostKey,
+      InetSocketAddress address,
+      byte[] request,
+      boolean idempotent,
+      boolean head,
+      boolean close,
+      long connectTimeoutNanos,
+      long readTimeoutNanos) {
+    this.eventLoop = eventLoop;
+    this.hostKey = hostKey;
+    this.address = address;
+    this.request = request;
+    this.idempotent = idempotent;
+    this.head = head;
+    this.close = close;
+    this.connectTimeoutNanos = connectTimeoutNanos;
+    this.readTimeoutNanos = readTimeoutNanos;
+  }
+
+  @Override
+  public int getStatusCode() throws IOException {
+    lock.lock();
+    try {
+      awaitHead();
+      return statusCode;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public Map<String, List<String>> getHeaders() {
+    lock.lock();
+    try {
+      return headers;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public long getContentLength() {
+    lock.lock();
+    try {
+      return contentLength;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public InputStream getBody() throws IOException {
+    lock.lock();
+    try {
+      awaitHead();
+      return new BodyInputStream();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public void abort() {
+    lock.lock();
+    try {
+      if (aborted || complete) {
+        // a complete response has already left the connection free for reuse
+        aborted = true;
+        chunks.clear();
+        return;
+      }
+      aborted = true;
+      chunks.clear();
+      if (failure == null) {
+        failure = new IOException("Exchange aborted");
+      }
+      changed.signalAll();
+    } finally {
+      lock.unlock();
+    }
+    eventLoop.execute(() -> eventLoop.abort(this));
+  }
+
+  boolean isAborted() {
+    lock.lock();
+    try {
+      return aborted;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  void onHead(int statusCode, Map<String, List<String>> headers, long contentLength) {
+    lock.lock();
+    try {
+      this.statusCode = statusCode;
+      this.headers = headers;
+      this.contentLength = contentLength;
+      headReceived = true;
+      changed.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Queue body bytes for the reader.
+   *
+   * @param buffer read buffer, advanced past the bytes taken
+   * @param length bytes to take
+   * @param connection {@link NioConnection} the bytes were read from
+   * @return true where the connection should stop reading until the reader catches up
+   */
+  boolean onBody(ByteBuffer buffer, int length, NioConnection connection) {
+    lock.lock();
+    try {
+      if (aborted) {
+        buffer.position(buffer.position() + length);
+        return false;
+      }
+      byte[] chunk = new byte[length];
+      buffer.get(chunk);
+      chunks.add(chunk);
+      queued += length;
+      changed.signalAll();
+      if (queued > HIGH_WATER) {
+        pausedConnection = connection;
+        return true;
+      }
+      return false;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  void onComplete() {
+    lock.lock();
+    try {
+      complete = true;
+      pausedConnection = null;
+      changed.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  void onFailure(IOException ex) {
+    lock.lock();
+    try {
+      if (!complete && failure == null) {
+        failure = ex;
+      }
+      changed.signalAll();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  // callers hold the lock
+  private void awaitHead() throws IOException {
+    while (!headReceived && failure == null) {
+      awaitChange();
+    }
+    if (!headReceived) {
+      throw new IOException(failure.getMessage(), failure);
+    }
+  }
+
+  // callers hold the lock
+  private void awaitChange() throws IOException {
+    try {
+      if (!changed.await(readTimeoutNanos, TimeUnit.NANOSECONDS)) {
+        abort();
+        throw new SocketTimeoutException("Read timed out");
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted whilst awaiting response");
+    }
+  }
+
+  private class BodyInputStream extends InputStream {
+
+    private boolean closed;
+
+    @Override
+    public int read() throws IOException {
+      byte[] single = new byte[1];
+      return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+      if (length == 0) {
+        return 0;
+      }
+      NioConnection resume = null;
+      int read;
+      lock.lock();
+      try {
+        if (closed) {
+          throw new IOException("Stream closed");
+        }
+        while (chunks.isEmpty()) {
+          if (failure != null) {
+            throw new IOException(failure.getMessage(), failure);
+          }
+          if (complete) {
+            return -1;
+          }
+          awaitChange();
+        }
+        byte[] chunk = chunks.peek();
+        read = Math.min(length, chunk.length - chunkOffset);
+        System.arraycopy(chunk, chunkOffset, bytes, offset, read);
+        chunkOffset += read;
+        if (chunkOffset == chunk.length) {
+          chunks.poll();
+          chunkOffset = 0;
+        }
+        queued -= read;
+        if (pausedConnection != null && queued <= LOW_WATER) {
+          resume = pausedConnection;
+          pausedConnection = null;
+        }
+      } finally {
+        lock.unlock();
+      }
+      if (resume != null) {
+        NioConnection paused = resume;
+        eventLoop.execute(paused::resumeReading);
+      }
+      return read;
+    }
+
+    @Override
+    public int available() {
+      lock.lock();
+      try {
+        return (int) Math.min(Integer.MAX_VALUE, queued);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    @Override
+    public void close() {
+      boolean unread;
+      lock.lock();
+      try {
+        if (closed) {
+          return;
+        }
+        closed = true;
+        unread = !complete;
+      } finally {
+        lock.unlock();
+      }
+      // the rest of the body is still to come, so the connection cannot be reused
+      if (unread) {
+        abort();
+      }
+    }
+  }
+}
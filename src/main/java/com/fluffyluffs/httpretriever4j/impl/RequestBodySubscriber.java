@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j.impl;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+
+/**
+ * Request Body Subscriber
+ *
+ * <p>Writes request body chunks to the connection one at a time, only requesting the next chunk
+ * once the previous one has been written.
+ */
+class RequestBodySubscriber implements Flow.Subscriber<ByteBuffer> {
+
+  private final OutputStream outputStream;
+  private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+  private Flow.Subscription subscription;
+  private byte[] scratch = new byte[0];
+
+  RequestBodySubscriber(OutputStream outputStream) {
+    this.outputStream = outputStream;
+  }
+
+  @Override
+  public void onSubscribe(Flow.Subscription subscription) {
+    if (this.subscription != null) {
+      subscription.cancel();
+      return;
+    }
+    this.subscription = subscription;
+    subscription.request(1);
+  }
+
+  @Override
+  public void onNext(ByteBuffer item) {
+    try {
+      if (item.hasArray()) {
+        outputStream.write(
+            item.array(), item.arrayOffset() + item.position(), item.remaining());
+      } else {
+        int length = item.remaining();
+        if (scratch.length < length) {
+          scratch = new byte[length];
+        }
+        item.duplicate().get(scratch, 0, length);
+        outputStream.write(scratch, 0, length);
+      }
+      subscription.request(1);
+    } catch (IOException ex) {
+      subscription.cancel();
+      completion.completeExceptionally(ex);
+    }
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    completion.completeExceptionally(throwable);
+  }
+
+  @Override
+  public void onComplete() {
+    completion.complete(null);
+  }
+
+  /**
+   * Block until the publisher has completed or failed.
+   *
+   * @throws IOException where writing failed or the publisher signalled an error
+   */
+  void await() throws IOException {
+    try {
+      completion.get();
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      subscription.cancel();
+      throw new IOException("Interrupted whilst writing request body", ex);
+    } catch (ExecutionException ex) {
+      if (ex.getCause() instanceof IOException) {
+        throw (IOException) ex.getCause();
+      }
+      throw new IOException(ex.getCause());
+    }
+  }
+}
@@ -15,7 +15,6 @@
  */
 package com.fluffyluffs.httpretriever4j.impl;
 
-import java.util.Arrays;
 import java.util.Optional;
 
 /**
@@ -27,10 +26,19 @@ public enum Response {
   HTTP_OK(200, true),
   HTTP_CREATED(201, true),
   HTTP_NO_CONTENT(204, true),
+  HTTP_NOT_MODIFIED(304, false),
   HTTP_UNAUTHORIZED(401, false),
   HTTP_NOT_FOUND(404, false),
   HTTP_INTERNAL_ERROR(500, false);
 
+  private static final Response[] BY_CODE = new Response[600];
+
+  static {
+    for (Response response : values()) {
+      BY_CODE[response.reponseCode] = response;
+    }
+  }
+
   private final int reponseCode;
   private final boolean status;
 
@@ -48,7 +56,9 @@ public enum Response {
   }
 
   public static Optional<Response> of(int value) {
-    return Arrays.stream(values()).filter(v -> value == v.getReponseCode()).findFirst();
+    return value >= 0 && value < BY_CODE.length
+        ? Optional.ofNullable(BY_CODE[value])
+        : Optional.empty();
   }
   
   
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j.impl;
+
+import com.fluffyluffs.httpretriever4j.BodyTooLargeException;
+import com.fluffyluffs.httpretriever4j.TransportExchange;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Response Body Publisher
+ *
+ * <p>Cold publisher: each subscriber gets its own retrieval. Chunks are read from the connection
+ * as they arrive and only while the subscriber has outstanding demand.
+ */
+class ResponseBodyPublisher implements Flow.Publisher<ByteBuffer> {
+
+  private static final Logger LOGGER = Logger.getLogger(ResponseBodyPublisher.class.getName());
+
+  private static final int CHUNK_SIZE = 8192;
+
+  /** Default executor for the blocking reads, kept off the common pool. */
+  static final ExecutorService DEFAULT_EXECUTOR =
+      Executors.newCachedThreadPool(
+          runnable -> {
+            Thread thread = new Thread(runnable, "http-retriever4j-publisher");
+            thread.setDaemon(true);
+            return thread;
+          });
+
+  private final HttpRetrieverImpl httpRetrieverImpl;
+  private final Executor executor;
+
+  ResponseBodyPublisher(HttpRetrieverImpl httpRetrieverImpl, Executor executor) {
+    this.httpRetrieverImpl = httpRetrieverImpl;
+    this.executor = executor;
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+    ResponseBodySubscription subscription = new ResponseBodySubscription(subscriber);
+    subscriber.onSubscribe(subscription);
+  }
+
+  private class ResponseBodySubscription implements Flow.Subscription, Runnable {
+
+    private final Flow.Subscriber<? super ByteBuffer> subscriber;
+    private final AtomicLong demand = new AtomicLong();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicBoolean cancelled = new AtomicBoolean();
+    private final AtomicReference<IllegalArgumentException> illegalRequest =
+        new AtomicReference<>();
+
+    // only touched from within the serialised drain loop
+    private TransportExchange exchange;
+    private InputStream inputStream;
+    private Trace trace;
+    private Route route;
+    private ByteArrayOutputStream recording;
+    private long bytes;
+    private boolean done;
+
+    private ResponseBodySubscription(Flow.Subscriber<? super ByteBuffer> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void request(long n) {
+      if (n <= 0) {
+        // signalled from the drain loop, as onNext may be running there on another thread
+        illegalRequest.compareAndSet(
+            null, new IllegalArgumentException("Non-positive subscription request: " + n));
+      } else {
+        demand.getAndAccumulate(
+            n, (current, add) -> current + add < 0 ? Long.MAX_VALUE : current + add);
+      }
+      schedule();
+    }
+
+    @Override
+    public void cancel() {
+      cancelled.set(true);
+      schedule();
+    }
+
+    private void schedule() {
+      if (wip.getAndIncrement() == 0) {
+        executor.execute(this);
+      }
+    }
+
+    @Override
+    public void run() {
+      do {
+        if (!done) {
+          drain();
+        }
+      } while (wip.decrementAndGet() != 0);
+    }
+
+    private void drain() {
+      try {
+        if (stopped()) {
+          return;
+        }
+        if (inputStream == null) {
+          if (httpRetrieverImpl.isReplaying()) {
+            // served from the cassette without a route or a connection
+            inputStream = httpRetrieverImpl.replay();
+          } else {
+            open();
+            if (inputStream == null) {
+              complete();
+              return;
+            }
+          }
+        }
+        while (demand.get() > 0 && !cancelled.get() && illegalRequest.get() == null) {
+          byte[] chunk = new byte[CHUNK_SIZE];
+          int read = inputStream.read(chunk);
+          if (read < 0) {
+            complete();
+            return;
+          }
+          if (read > 0) {
+            bytes += read;
+            if (bytes > httpRetrieverImpl.getMaxBodySize()) {
+              throw new BodyTooLargeException(bytes, httpRetrieverImpl.getMaxBodySize());
+            }
+            if (recording != null) {
+              recording.write(chunk, 0, read);
+            }
+            demand.decrementAndGet();
+            subscriber.onNext(ByteBuffer.wrap(chunk, 0, read).asReadOnlyBuffer());
+          }
+        }
+        stopped();
+      } catch (IOException ex) {
+        if (trace != null) {
+          trace.failure(ex);
+        }
+        fail(ex);
+      } catch (RuntimeException ex) {
+        if (trace != null) {
+          trace.failure(ex);
+        }
+        fail(ex);
+      }
+    }
+
+    private void open() throws IOException {
+      route = httpRetrieverImpl.route();
+      trace = httpRetrieverImpl.startTrace();
+      exchange = httpRetrieverImpl.connect(trace, route);
+      if (httpRetrieverImpl.isSuccess(exchange, trace)) {
+        httpRetrieverImpl.checkContentLength(exchange);
+        inputStream = httpRetrieverImpl.body(exchange);
+        if (httpRetrieverImpl.isRecording()) {
+          recording = new ByteArrayOutputStream();
+        }
+      }
+    }
+
+    private void complete() throws IOException {
+      if (exchange != null) {
+        int statusCode = exchange.getStatusCode();
+        HttpRetrieverImpl.bodyComplete(trace, route, statusCode, bytes);
+        httpRetrieverImpl.record(
+            statusCode, recording == null ? new byte[0] : recording.toByteArray());
+      }
+      // a body read to its end is closed, handing the connection back for reuse; an unsuccessful
+      // response was never opened, so its exchange is aborted as retrieve() does
+      finish(inputStream == null);
+      subscriber.onComplete();
+    }
+
+    /**
+     * Stop reading where the subscription was cancelled or given an illegal request, signalling
+     * the latter unless cancelled first.
+     *
+     * @return true where stopped
+     */
+    private boolean stopped() {
+      IllegalArgumentException illegal = illegalRequest.get();
+      if (illegal == null && !cancelled.get()) {
+        return false;
+      }
+      cancelRoute();
+      finish(true);
+      if (!cancelled.get()) {
+        subscriber.onError(illegal);
+      }
+      return true;
+    }
+
+    private void cancelRoute() {
+      if (route != null) {
+        route.cancel();
+      }
+    }
+
+    private void fail(Exception ex) {
+      LOGGER.log(Level.SEVERE, ex.getLocalizedMessage(), ex);
+      finish(true);
+      subscriber.onError(ex);
+    }
+
+    private void finish(boolean abort) {
+      done = true;
+      if (inputStream != null) {
+        try {
+          inputStream.close();
+        } catch (IOException ex) {
+          LOGGER.log(Level.FINE, ex.getLocalizedMessage(), ex);
+        }
+      }
+      if (abort && exchange != null) {
+        exchange.abort();
+      }
+      if (route != null) {
+        route.release();
+      }
+    }
+  }
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j.impl;
+
+import com.fluffyluffs.httpretriever4j.ConcurrencyLimiter;
+import com.fluffyluffs.httpretriever4j.ServiceEndpoints;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Route
+ *
+ * <p>Where one retrieval is sent: the endpoint leased from a {@link ServiceEndpoints}, if any, and
+ * the {@link ConcurrencyLimiter} permit held for its host. Failing over swaps both.
+ */
+class Route {
+
+  private final ServiceEndpoints service;
+  private final String servicePath;
+  private final ConcurrencyLimiter concurrencyLimiter;
+  private final List<ServiceEndpoints.Endpoint> tried = new ArrayList<>(2);
+
+  private URL url;
+  private ServiceEndpoints.Lease lease;
+  private ConcurrencyLimiter.Permit permit;
+
+  private Route(
+      ServiceEndpoints service, String servicePath, ConcurrencyLimiter concurrencyLimiter) {
+    this.service = service;
+    this.servicePath = servicePath;
+    this.concurrencyLimiter = concurrencyLimiter;
+  }
+
+  /**
+   * Route straight to a URL.
+   *
+   * @param url {@link URL}
+   * @param concurrencyLimiter {@link ConcurrencyLimiter}, may be null
+   * @return {@link Route}
+   */
+  static Route direct(URL url, ConcurrencyLimiter concurrencyLimiter) {
+    Route route = new Route(null, null, concurrencyLimiter);
+    route.url = url;
+    route.acquirePermit();
+    return route;
+  }
+
+  /**
+   * Route to an endpoint chosen from a service.
+   *
+   * @param service {@link ServiceEndpoints}
+   * @param servicePath path and query resolved against the endpoint
+   * @param concurrencyLimiter {@link ConcurrencyLimiter}, may be null
+   * @return {@link Route}
+   */
+  static Route service(
+      ServiceEndpoints service, String servicePath, ConcurrencyLimiter concurrencyLimiter) {
+    Route route = new Route(service, servicePath, concurrencyLimiter);
+    ServiceEndpoints.Lease lease = service.acquire(route.tried);
+    if (lease == null) {
+      throw new NoSuchElementException("No endpoint available for " + service.getName());
+    }
+    route.use(lease);
+    return route;
+  }
+
+  URL getUrl() {
+    return url;
+  }
+
+  /**
+   * Move to an endpoint not yet tried, recording the outcome against the current one.
+   *
+   * @param responseCode from the current endpoint, -1 where it could not be reached
+   * @return false where there is no service or no endpoint left to try
+   */
+  boolean failover(int responseCode) {
+    if (service == null || tried.size() >= service.getMaxAttempts()) {
+      return false;
+    }
+    ServiceEndpoints.Lease next = service.acquire(tried);
+    if (next == null) {
+      return false;
+    }
+    complete(responseCode);
+    release();
+    use(next);
+    return true;
+  }
+
+  private void use(ServiceEndpoints.Lease lease) {
+    this.lease = lease;
+    tried.add(lease.getEndpoint());
+    try {
+      url = lease.getEndpoint().resolve(servicePath);
+      acquirePermit();
+    } catch (MalformedURLException ex) {
+      lease.cancel();
+      throw new RuntimeException(ex);
+    } catch (RuntimeException ex) {
+      lease.cancel();
+      throw ex;
+    }
+  }
+
+  private void acquirePermit() {
+    permit = concurrencyLimiter == null ? null : concurrencyLimiter.acquire(url.getAuthority());
+  }
+
+  /**
+   * Record the response code with the endpoint and the limiter.
+   *
+   * @param responseCode int
+   */
+  void complete(int responseCode) {
+    if (permit != null) {
+      permit.setResponseCode(responseCode);
+    }
+    if (lease != null) {
+      lease.setResponseCode(responseCode);
+    }
+  }
+
+  /** Release, feeding the outcome to the endpoint and the limiter. */
+  void release() {
+    if (permit != null) {
+      permit.release();
+    }
+    if (lease != null) {
+      lease.release();
+    }
+  }
+
+  /** Release without recording an outcome, where the caller abandoned the retrieval. */
+  void cancel() {
+    if (permit != null) {
+      permit.cancel();
+    }
+    if (lease != null) {
+      lease.cancel();
+    }
+  }
+}
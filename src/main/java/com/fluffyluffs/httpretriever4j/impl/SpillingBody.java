@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j.impl;
+
+import com.fluffyluffs.httpretriever4j.BodyLimits;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Spilling Body
+ *
+ * <p>Buffers a response body on heap while it fits within the {@link BodyLimits}, otherwise in a
+ * temp file deleted when the returned stream is closed.
+ */
+final class SpillingBody {
+
+  private static final int CHUNK_SIZE = 8192;
+
+  private SpillingBody() {}
+
+  /**
+   * Buffer the remainder of the stream.
+   *
+   * @param inputStream body to buffer
+   * @param contentLength declared length, -1 where unknown
+   * @param bodyLimits {@link BodyLimits}
+   * @return {@link InputStream} over the buffered body
+   * @throws IOException where reading or spilling fails
+   */
+  static InputStream buffer(InputStream inputStream, long contentLength, BodyLimits bodyLimits)
+      throws IOException {
+    long threshold = bodyLimits.getInMemoryThreshold();
+    HeapBuffer heapBuffer =
+        new HeapBuffer(
+            contentLength >= 0 && contentLength <= threshold ? (int) contentLength : CHUNK_SIZE);
+    byte[] chunk = new byte[CHUNK_SIZE];
+    int read = 0;
+    // a body declared larger than the threshold goes straight to disk
+    boolean spill = contentLength > threshold;
+
+    try {
+      while (!spill && (read = inputStream.read(chunk)) >= 0) {
+        spill = heapBuffer.size() + read > threshold || !bodyLimits.tryReserve(read);
+        if (!spill) {
+          heapBuffer.write(chunk, 0, read);
+        }
+      }
+      if (!spill) {
+        return heapBuffer.toInputStream(bodyLimits);
+      }
+    } catch (IOException | RuntimeException ex) {
+      bodyLimits.release(heapBuffer.size());
+      throw ex;
+    }
+
+    try {
+      return spill(heapBuffer, chunk, read, inputStream, bodyLimits);
+    } finally {
+      bodyLimits.release(heapBuffer.size());
+    }
+  }
+
+  private static InputStream spill(
+      HeapBuffer heapBuffer, byte[] chunk, int read, InputStream inputStream, BodyLimits bodyLimits)
+      throws IOException {
+    Path file =
+        bodyLimits.getSpillDirectory() == null
+            ? Files.createTempFile("http-retriever4j", ".body")
+            : Files.createTempFile(bodyLimits.getSpillDirectory(), "http-retriever4j", ".body");
+
+    try (OutputStream outputStream = Files.newOutputStream(file)) {
+      heapBuffer.writeTo(outputStream);
+      outputStream.write(chunk, 0, Math.max(read, 0));
+      inputStream.transferTo(outputStream);
+    } catch (IOException | RuntimeException ex) {
+      Files.deleteIfExists(file);
+      throw ex;
+    }
+
+    bodyLimits.spilled();
+    return Files.newInputStream(file, StandardOpenOption.DELETE_ON_CLOSE);
+  }
+
+  /** Hands its buffer to the returned stream rather than copying it. */
+  private static class HeapBuffer extends ByteArrayOutputStream {
+
+    private HeapBuffer(int size) {
+      super(size);
+    }
+
+    private InputStream toInputStream(BodyLimits bodyLimits) {
+      return new HeapBodyInputStream(buf, count, bodyLimits);
+    }
+  }
+
+  /** Returns its bytes to the in-memory budget when closed. */
+  private static class HeapBodyInputStream extends ByteArrayInputStream {
+
+    private final BodyLimits bodyLimits;
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private HeapBodyInputStream(byte[] bytes, int length, BodyLimits bodyLimits) {
+      super(bytes, 0, length);
+      this.bodyLimits = bodyLimits;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (released.compareAndSet(false, true)) {
+        bodyLimits.release(count);
+      }
+    }
+  }
+}
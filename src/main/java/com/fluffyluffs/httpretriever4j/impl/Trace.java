@@ -0,0 +1,150 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j.impl;
+
+import com.fluffyluffs.httpretriever4j.RetrievalEvent;
+import com.fluffyluffs.httpretriever4j.RetrievalEvent.Stage;
+import com.fluffyluffs.httpretriever4j.RetrievalListener;
+import com.fluffyluffs.httpretriever4j.RetrievalTracer;
+import java.net.URL;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Pattern;
+
+/**
+ * Trace
+ *
+ * <p>Per-retrieval trace state. Only created when a {@link RetrievalTracer} is configured; unsampled
+ * traces still propagate context but never build events.
+ */
+final class Trace {
+
+  private static final Pattern TRACEPARENT =
+      Pattern.compile("^[0-9a-f]{2}-[0-9a-f]{32}-[0-9a-f]{16}-[0-9a-f]{2}$");
+
+  private final RetrievalListener listener;
+  private final boolean sampled;
+  private final String traceId;
+  private final String spanId;
+  private final String method;
+  private final String url;
+  private final long startNanos;
+
+  private Trace(
+      RetrievalListener listener,
+      boolean sampled,
+      String traceId,
+      String spanId,
+      String method,
+      String url) {
+    this.listener = listener;
+    this.sampled = sampled;
+    this.traceId = traceId;
+    this.spanId = spanId;
+    this.method = method;
+    this.url = url;
+    this.startNanos = System.nanoTime();
+  }
+
+  /**
+   * Start a trace for one retrieval.
+   *
+   * @param retrievalTracer {@link RetrievalTracer}, may be null
+   * @param method HTTP method
+   * @param url {@link URL}
+   * @return {@link Trace} or null where no tracer is configured
+   */
+  static Trace start(RetrievalTracer retrievalTracer, String method, URL url) {
+    if (retrievalTracer == null) {
+      return null;
+    }
+
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    String parent = retrievalTracer.getParentSupplier().get();
+    String traceId;
+    boolean sampled;
+    if (parent != null && TRACEPARENT.matcher(parent).matches()) {
+      traceId = parent.substring(3, 35);
+      sampled = (Integer.parseInt(parent.substring(53, 55), 16) & 1) == 1;
+    } else {
+      traceId = hex(random.nextLong()) + hex(random.nextLong());
+      sampled = random.nextDouble() < retrievalTracer.getSampleRate();
+    }
+
+    Trace trace =
+        new Trace(
+            retrievalTracer.getListener(),
+            sampled,
+            traceId,
+            hex(random.nextLong()),
+            method,
+            sampled ? url.toExternalForm() : null);
+    if (sampled) {
+      trace.listener.onRequestStart(trace.event(Stage.REQUEST_START, -1, -1, null));
+    }
+    return trace;
+  }
+
+  /**
+   * Get the {@code traceparent} header value for this retrieval.
+   *
+   * @return {@link String}
+   */
+  String traceparent() {
+    return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+  }
+
+  void connectionAcquired() {
+    if (sampled) {
+      listener.onConnectionAcquired(event(Stage.CONNECTION_ACQUIRED, -1, -1, null));
+    }
+  }
+
+  void headersReceived(int responseCode) {
+    if (sampled) {
+      listener.onHeadersReceived(event(Stage.HEADERS_RECEIVED, responseCode, -1, null));
+    }
+  }
+
+  void bodyComplete(int responseCode, long bytes) {
+    if (sampled) {
+      listener.onBodyComplete(event(Stage.BODY_COMPLETE, responseCode, bytes, null));
+    }
+  }
+
+  void failure(Throwable throwable) {
+    if (sampled) {
+      listener.onFailure(event(Stage.FAILURE, -1, -1, throwable));
+    }
+  }
+
+  private RetrievalEvent event(Stage stage, int responseCode, long bytes, Throwable throwable) {
+    return new RetrievalEvent(
+        stage,
+        traceId,
+        spanId,
+        method,
+        url,
+        System.nanoTime() - startNanos,
+        responseCode,
+        bytes,
+        throwable);
+  }
+
+  private static String hex(long value) {
+    String hex = Long.toHexString(value);
+    return "0000000000000000".substring(hex.length()) + hex;
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j.impl;
+
+import com.fluffyluffs.httpretriever4j.BandwidthLimiter;
+import com.fluffyluffs.httpretriever4j.ProgressListener;
+import com.fluffyluffs.httpretriever4j.TransferMeter;
+import com.fluffyluffs.httpretriever4j.TransferProgress;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Transfer
+ *
+ * <p>One body passing through the {@link BandwidthLimiter}s that apply to it, reporting its
+ * progress as it goes. Used by a single thread.
+ */
+final class Transfer implements TransferMeter {
+
+  private static final Logger LOGGER = Logger.getLogger(Transfer.class.getName());
+
+  /** Largest slice metered at once, small enough to keep the pacing smooth. */
+  static final int SLICE = 8192;
+
+  private static final long REPORT_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+  private final TransferProgress.Direction direction;
+  private final List<BandwidthLimiter> bandwidthLimiters;
+  private final ProgressListener progressListener;
+  private final long totalBytes;
+  private final long start = System.nanoTime();
+
+  private long bytes;
+  private long lastReport = start;
+  private boolean complete;
+
+  Transfer(
+      TransferProgress.Direction direction,
+      List<BandwidthLimiter> bandwidthLimiters,
+      ProgressListener progressListener,
+      long totalBytes) {
+    this.direction = direction;
+    this.bandwidthLimiters = bandwidthLimiters;
+    this.progressListener = progressListener;
+    this.totalBytes = totalBytes;
+  }
+
+  @Override
+  public void meter(int length) throws InterruptedIOException {
+    try {
+      for (BandwidthLimiter bandwidthLimiter : bandwidthLimiters) {
+        bandwidthLimiter.acquire(length);
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted whilst pacing transfer");
+    }
+    bytes += length;
+    if (bytes == totalBytes) {
+      complete();
+    } else {
+      report(false);
+    }
+  }
+
+  /** The body has ended; reports the final progress once. */
+  @Override
+  public void complete() {
+    if (!complete) {
+      complete = true;
+      report(true);
+    }
+  }
+
+  private void report(boolean force) {
+    if (progressListener == null) {
+      return;
+    }
+    long now = System.nanoTime();
+    if (!force && now - lastReport < REPORT_INTERVAL_NANOS) {
+      return;
+    }
+    lastReport = now;
+    try {
+      progressListener.onProgress(new TransferProgress(direction, bytes, totalBytes, now - start));
+    } catch (RuntimeException ex) {
+      LOGGER.log(Level.SEVERE, ex.getLocalizedMessage(), ex);
+    }
+  }
+}
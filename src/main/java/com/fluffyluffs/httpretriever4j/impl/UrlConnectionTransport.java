@@ -0,0 +1,140 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j.impl;
+
+import com.fluffyluffs.httpretriever4j.HttpTransport;
+import com.fluffyluffs.httpretriever4j.TransferMeter;
+import com.fluffyluffs.httpretriever4j.TransportExchange;
+import com.fluffyluffs.httpretriever4j.TransportRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Flow;
+
+/**
+ * URL Connection Transport
+ *
+ * <p>Sends requests with {@link HttpURLConnection}, whose keep-alive cache reuses connections once
+ * a body has been read to the end and closed.
+ */
+public final class UrlConnectionTransport implements HttpTransport {
+
+  public static final UrlConnectionTransport INSTANCE = new UrlConnectionTransport();
+
+  private UrlConnectionTransport() {}
+
+  @Override
+  public TransportExchange send(TransportRequest request) throws IOException {
+
+    HttpURLConnection connection = (HttpURLConnection) request.getUrl().openConnection();
+    request.getHeaders().forEach(connection::setRequestProperty);
+    connection.setRequestMethod(request.getMethod());
+    connection.setConnectTimeout((int) request.getConnectTimeout().toMillis());
+    connection.setReadTimeout((int) request.getReadTimeout().toMillis());
+    connection.setUseCaches(false);
+
+    if (request.getBody() != null) {
+      writeBody(connection, request.getBody(), request.getBodyMeter());
+    }
+    Optional.ofNullable(request.getBodyPublisher())
+        .ifPresent(
+            bodyPublisher -> writeBody(connection, bodyPublisher, request.getBodyMeter()));
+
+    connection.connect();
+    return new UrlConnectionExchange(connection);
+  }
+
+  private void writeBody(
+      HttpURLConnection secureConnection, byte[] body, TransferMeter bodyMeter) {
+    secureConnection.setDoOutput(true);
+    secureConnection.setFixedLengthStreamingMode(body.length);
+    try (OutputStream outputStream = outputStream(secureConnection, bodyMeter)) {
+      outputStream.write(body);
+      outputStream.flush();
+      complete(bodyMeter);
+    } catch (IOException ex) {
+      throw new RuntimeException(ex.getLocalizedMessage(), ex);
+    }
+  }
+
+  private void writeBody(
+      HttpURLConnection secureConnection,
+      Flow.Publisher<ByteBuffer> bodyPublisher,
+      TransferMeter bodyMeter) {
+    secureConnection.setDoOutput(true);
+    secureConnection.setChunkedStreamingMode(0);
+    try (OutputStream outputStream = outputStream(secureConnection, bodyMeter)) {
+      RequestBodySubscriber requestBodySubscriber = new RequestBodySubscriber(outputStream);
+      bodyPublisher.subscribe(requestBodySubscriber);
+      requestBodySubscriber.await();
+      complete(bodyMeter);
+    } catch (IOException ex) {
+      throw new RuntimeException(ex.getLocalizedMessage(), ex);
+    }
+  }
+
+  private static void complete(TransferMeter bodyMeter) {
+    if (bodyMeter != null) {
+      bodyMeter.complete();
+    }
+  }
+
+  private static OutputStream outputStream(
+      HttpURLConnection secureConnection, TransferMeter bodyMeter) throws IOException {
+    OutputStream outputStream = secureConnection.getOutputStream();
+    return bodyMeter == null ? outputStream : new MeteredOutputStream(outputStream, bodyMeter);
+  }
+
+  private static class UrlConnectionExchange implements TransportExchange {
+
+    private final HttpURLConnection connection;
+
+    private UrlConnectionExchange(HttpURLConnection connection) {
+      this.connection = connection;
+    }
+
+    @Override
+    public int getStatusCode() throws IOException {
+      return connection.getResponseCode();
+    }
+
+    @Override
+    public Map<String, List<String>> getHeaders() {
+      return Optional.ofNullable(connection.getHeaderFields()).orElse(Map.of());
+    }
+
+    @Override
+    public long getContentLength() {
+      return connection.getContentLengthLong();
+    }
+
+    @Override
+    public InputStream getBody() throws IOException {
+      return connection.getInputStream();
+    }
+
+    @Override
+    public void abort() {
+      connection.disconnect();
+    }
+  }
+}
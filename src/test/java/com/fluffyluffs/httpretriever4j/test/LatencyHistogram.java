@@ -0,0 +1,103 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j.test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency Histogram
+ *
+ * <p>Lock free log-linear histogram of microsecond latencies, accurate to within 1/128 of the
+ * recorded value. Covers 1us to several days; larger values are clamped to the top bucket.
+ */
+public class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 7;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int MAGNITUDES = 33;
+
+  private final AtomicLongArray counts = new AtomicLongArray(MAGNITUDES * SUB_BUCKETS);
+  private final AtomicLong total = new AtomicLong();
+  private final AtomicLong sumMicros = new AtomicLong();
+  private final AtomicLong maxMicros = new AtomicLong();
+
+  public void record(long nanos) {
+    long micros = Math.max(0, TimeUnit.NANOSECONDS.toMicros(nanos));
+    counts.incrementAndGet(index(micros));
+    total.incrementAndGet();
+    sumMicros.addAndGet(micros);
+    maxMicros.accumulateAndGet(micros, Math::max);
+  }
+
+  public long getCount() {
+    return total.get();
+  }
+
+  public long getMaxMicros() {
+    return maxMicros.get();
+  }
+
+  public long getMeanMicros() {
+    long count = total.get();
+    return count == 0 ? 0 : sumMicros.get() / count;
+  }
+
+  /**
+   * Get the value at a percentile.
+   *
+   * @param percentile between 0 and 100
+   * @return upper bound of the bucket holding the percentile, in microseconds
+   */
+  public long getPercentileMicros(double percentile) {
+    long count = total.get();
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100d * count));
+    long seen = 0;
+    for (int i = 0; i < counts.length(); i++) {
+      seen += counts.get(i);
+      if (seen >= rank) {
+        return Math.min(upperBound(i), maxMicros.get());
+      }
+    }
+    return maxMicros.get();
+  }
+
+  private static int index(long micros) {
+    if (micros < SUB_BUCKETS) {
+      return (int) micros;
+    }
+    // keep the top SUB_BUCKET_BITS + 1 bits, the leading one selecting the magnitude
+    int magnitude = 64 - Long.numberOfLeadingZeros(micros) - SUB_BUCKET_BITS;
+    if (magnitude >= MAGNITUDES) {
+      return MAGNITUDES * SUB_BUCKETS - 1;
+    }
+    int subBucket = (int) (micros >>> (magnitude - 1)) - SUB_BUCKETS;
+    return magnitude * SUB_BUCKETS + subBucket;
+  }
+
+  private static long upperBound(int index) {
+    int magnitude = index / SUB_BUCKETS;
+    int subBucket = index % SUB_BUCKETS;
+    if (magnitude == 0) {
+      return subBucket;
+    }
+    return ((long) (subBucket + SUB_BUCKETS + 1) << (magnitude - 1)) - 1;
+  }
+}
@@ -0,0 +1,411 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j.test;
+
+import com.fluffyluffs.httpretriever4j.HttpRetriever;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria.HTTPMethod;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Load Generator
+ *
+ * <p>Open loop: requests are issued on a fixed schedule whether or not earlier ones have finished,
+ * so a slow upstream shows up as queueing rather than as a lower request rate. Latency is measured
+ * from each request's intended start time, correcting for coordinated omission; the uncorrected
+ * service time is reported alongside for comparison.
+ *
+ * <pre>
+ *     java -cp target/classes:target/test-classes \
+ *         com.fluffyluffs.httpretriever4j.test.LoadGenerator [rate/s] [seconds] [threads]
+ * </pre>
+ */
+public class LoadGenerator {
+
+  private final List<RequestTemplate> templates;
+  private final int totalWeight;
+  private final double rate;
+  private final Duration duration;
+  private final Duration warmup;
+  private final int threads;
+
+  private LoadGenerator(LoadGeneratorBuilder builder) {
+    this.templates = List.copyOf(builder.templates);
+    this.totalWeight = templates.stream().mapToInt(template -> template.weight).sum();
+    this.rate = builder.rate;
+    this.duration = builder.duration;
+    this.warmup = builder.warmup;
+    this.threads = builder.threads;
+  }
+
+  /**
+   * Run the warmup and then the measured phase, blocking until every issued request completes.
+   *
+   * @return {@link LoadReport}
+   * @throws InterruptedException where interrupted whilst waiting
+   */
+  public LoadReport run() throws InterruptedException {
+    ExecutorService executorService = Executors.newFixedThreadPool(threads);
+    try {
+      if (!warmup.isZero()) {
+        drive(executorService, warmup, new LoadReport(rate));
+      }
+      LoadReport loadReport = new LoadReport(rate);
+      loadReport.begin();
+      drive(executorService, duration, loadReport);
+      executorService.shutdown();
+      executorService.awaitTermination(1, TimeUnit.MINUTES);
+      loadReport.end();
+      return loadReport;
+    } finally {
+      executorService.shutdownNow();
+    }
+  }
+
+  private void drive(ExecutorService executorService, Duration phase, LoadReport loadReport) {
+    long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+    long startNanos = System.nanoTime();
+    long requests = (long) (phase.toNanos() / (double) intervalNanos);
+
+    for (long i = 0; i < requests; i++) {
+      long intendedNanos = startNanos + i * intervalNanos;
+      long waitNanos;
+      while ((waitNanos = intendedNanos - System.nanoTime()) > 0) {
+        LockSupport.parkNanos(waitNanos);
+      }
+      RequestTemplate template = pick();
+      loadReport.sent.incrementAndGet();
+      executorService.execute(() -> execute(template, intendedNanos, loadReport));
+    }
+  }
+
+  private void execute(RequestTemplate template, long intendedNanos, LoadReport loadReport) {
+    long actualNanos = System.nanoTime();
+    boolean ok;
+    try {
+      ok = template.httpRetriever.retrieve(template.validator::test);
+    } catch (RuntimeException ex) {
+      ok = false;
+    }
+    long endNanos = System.nanoTime();
+    loadReport.corrected.record(endNanos - intendedNanos);
+    loadReport.uncorrected.record(endNanos - actualNanos);
+    if (!ok) {
+      loadReport.errors.incrementAndGet();
+    }
+  }
+
+  private RequestTemplate pick() {
+    int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+    for (RequestTemplate template : templates) {
+      ticket -= template.weight;
+      if (ticket < 0) {
+        return template;
+      }
+    }
+    return templates.get(templates.size() - 1);
+  }
+
+  private static class RequestTemplate {
+
+    private final HttpRetriever httpRetriever;
+    private final int weight;
+    private final Predicate<InputStream> validator;
+
+    private RequestTemplate(
+        HttpRetrieverCriteria httpRetrieverCriteria, int weight, Predicate<InputStream> validator) {
+      this.httpRetriever = new HttpRetriever(httpRetrieverCriteria);
+      this.weight = weight;
+      this.validator = validator;
+    }
+  }
+
+  /** Load Report */
+  public static class LoadReport {
+
+    private final double targetRate;
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private final LatencyHistogram corrected = new LatencyHistogram();
+    private final LatencyHistogram uncorrected = new LatencyHistogram();
+
+    private long startNanos;
+    private long endNanos;
+    private long gcCount;
+    private long gcMillis;
+    private long heapPeakBytes;
+
+    private LoadReport(double targetRate) {
+      this.targetRate = targetRate;
+    }
+
+    private void begin() {
+      ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+      for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+        gcCount -= gc.getCollectionCount();
+        gcMillis -= gc.getCollectionTime();
+      }
+      startNanos = System.nanoTime();
+    }
+
+    private void end() {
+      endNanos = System.nanoTime();
+      for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+        gcCount += gc.getCollectionCount();
+        gcMillis += gc.getCollectionTime();
+      }
+      heapPeakBytes =
+          ManagementFactory.getMemoryPoolMXBeans().stream()
+              .filter(pool -> pool.getType() == MemoryType.HEAP)
+              .mapToLong(pool -> pool.getPeakUsage().getUsed())
+              .sum();
+    }
+
+    public long getSent() {
+      return sent.get();
+    }
+
+    public long getCompleted() {
+      return corrected.getCount();
+    }
+
+    public long getErrors() {
+      return errors.get();
+    }
+
+    public double getErrorRate() {
+      return getCompleted() == 0 ? 0d : (double) getErrors() / getCompleted();
+    }
+
+    /**
+     * Get the achieved throughput in completed requests per second.
+     *
+     * @return double
+     */
+    public double getThroughput() {
+      return getCompleted() / ((endNanos - startNanos) / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /**
+     * Get the coordinated omission corrected latency histogram.
+     *
+     * @return {@link LatencyHistogram}
+     */
+    public LatencyHistogram getLatency() {
+      return corrected;
+    }
+
+    /**
+     * Get the service time histogram, measured from when a worker actually started the request.
+     *
+     * @return {@link LatencyHistogram}
+     */
+    public LatencyHistogram getServiceTime() {
+      return uncorrected;
+    }
+
+    public long getGcCount() {
+      return gcCount;
+    }
+
+    public long getGcMillis() {
+      return gcMillis;
+    }
+
+    public long getHeapPeakBytes() {
+      return heapPeakBytes;
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder report = new StringBuilder();
+      report.append(
+          String.format(
+              "target %.1f/s achieved %.1f/s sent %d completed %d errors %d (%.2f%%)%n",
+              targetRate,
+              getThroughput(),
+              getSent(),
+              getCompleted(),
+              getErrors(),
+              getErrorRate() * 100));
+      appendLatency(report, "latency (corrected)", corrected);
+      appendLatency(report, "service time", uncorrected);
+      report.append(
+          String.format(
+              "gc %d collections %d ms, peak heap %d MiB%n",
+              gcCount, gcMillis, heapPeakBytes >> 20));
+      return report.toString();
+    }
+
+    private static void appendLatency(
+        StringBuilder report, String name, LatencyHistogram latencyHistogram) {
+      report.append(
+          String.format(
+              "%-20s mean %6dus p50 %6dus p90 %6dus p99 %6dus p99.9 %6dus max %6dus%n",
+              name,
+              latencyHistogram.getMeanMicros(),
+              latencyHistogram.getPercentileMicros(50),
+              latencyHistogram.getPercentileMicros(90),
+              latencyHistogram.getPercentileMicros(99),
+              latencyHistogram.getPercentileMicros(99.9),
+              latencyHistogram.getMaxMicros()));
+    }
+  }
+
+  /** Load Generator Builder */
+  public static class LoadGeneratorBuilder {
+
+    private final List<RequestTemplate> templates = new ArrayList<>();
+    private double rate = 100;
+    private Duration duration = Duration.ofSeconds(60);
+    private Duration warmup = Duration.ofSeconds(5);
+    private int threads = 64;
+
+    /**
+     * Add a request template to the mix. The response is treated as successful when it is
+     * non-empty; unsuccessful responses from {@link HttpRetriever} are empty.
+     *
+     * @param httpRetrieverCriteria {@link HttpRetrieverCriteria}
+     * @param weight share of the mix
+     * @return {@link LoadGeneratorBuilder}
+     */
+    public LoadGeneratorBuilder addTemplate(HttpRetrieverCriteria httpRetrieverCriteria, int weight) {
+      return addTemplate(httpRetrieverCriteria, weight, LoadGeneratorBuilder::nonEmpty);
+    }
+
+    /**
+     * Add a request template to the mix.
+     *
+     * @param httpRetrieverCriteria {@link HttpRetrieverCriteria}
+     * @param weight share of the mix
+     * @param validator consumes the response, returning false for an error
+     * @return {@link LoadGeneratorBuilder}
+     */
+    public LoadGeneratorBuilder addTemplate(
+        HttpRetrieverCriteria httpRetrieverCriteria,
+        int weight,
+        Predicate<InputStream> validator) {
+      if (weight < 1) {
+        throw new IllegalArgumentException("Weight must be at least 1.");
+      }
+      templates.add(new RequestTemplate(httpRetrieverCriteria, weight, validator));
+      return this;
+    }
+
+    public LoadGeneratorBuilder setRate(double rate) {
+      this.rate = rate;
+      return this;
+    }
+
+    public LoadGeneratorBuilder setDuration(Duration duration) {
+      this.duration = duration;
+      return this;
+    }
+
+    public LoadGeneratorBuilder setWarmup(Duration warmup) {
+      this.warmup = warmup;
+      return this;
+    }
+
+    public LoadGeneratorBuilder setThreads(int threads) {
+      this.threads = threads;
+      return this;
+    }
+
+    public LoadGenerator build() {
+      if (templates.isEmpty()) {
+        throw new NoSuchElementException("Missing required request template.");
+      }
+      if (rate <= 0 || threads < 1) {
+        throw new IllegalArgumentException("Rate and threads must be positive.");
+      }
+      return new LoadGenerator(this);
+    }
+
+    private static boolean nonEmpty(InputStream inputStream) {
+      try {
+        return inputStream.readAllBytes().length > 0;
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+  }
+
+  /**
+   * Drive a local stand-in server with a small/large response mix and print the report.
+   *
+   * @param args rate per second, duration in seconds, worker threads
+   * @throws Exception where the server cannot start
+   */
+  public static void main(String[] args) throws Exception {
+    double rate = args.length > 0 ? Double.parseDouble(args[0]) : 500;
+    long seconds = args.length > 1 ? Long.parseLong(args[1]) : 60;
+    int threads = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+
+    Logger.getLogger("com.fluffyluffs.httpretriever4j").setLevel(Level.SEVERE);
+    byte[] large = new byte[256 * 1024];
+    try (LocalServer localServer =
+        new LocalServer(32)
+            .handle("/small", LocalServer.respond(200, "{\"name\": \"Cabbage\"}"))
+            .handle(
+                "/large",
+                exchange -> {
+                  exchange.sendResponseHeaders(200, large.length);
+                  try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(large);
+                  }
+                })) {
+      LoadReport loadReport =
+          new LoadGeneratorBuilder()
+              .addTemplate(criteria(localServer.url("/small")), 9)
+              .addTemplate(criteria(localServer.url("/large")), 1)
+              .setRate(rate)
+              .setDuration(Duration.ofSeconds(seconds))
+              .setThreads(threads)
+              .build()
+              .run();
+      System.out.print(loadReport);
+    }
+  }
+
+  private static HttpRetrieverCriteria criteria(String url) {
+    return new HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder()
+        .setURL(url)
+        .setUserAgent("Mozilla/5.0")
+        .setHTTPMethod(HTTPMethod.GET)
+        .build();
+  }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j.test;
+
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/** Local HTTP server standing in for an upstream during tests. */
+public class LocalServer implements AutoCloseable {
+
+  private final HttpServer httpServer;
+  private final ExecutorService executorService;
+
+  public LocalServer(int threads) throws IOException {
+    httpServer = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+    executorService = Executors.newFixedThreadPool(threads);
+    httpServer.setExecutor(executorService);
+    httpServer.start();
+  }
+
+  public LocalServer handle(String path, HttpHandler httpHandler) {
+    httpServer.createContext(path, httpHandler);
+    return this;
+  }
+
+  public String url(String path) {
+    return String.format(
+        "http://%s:%d%s",
+        httpServer.getAddress().getHostString(), httpServer.getAddress().getPort(), path);
+  }
+
+  public static HttpHandler respond(int code, String body) {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    return exchange -> {
+      exchange.getRequestBody().readAllBytes();
+      exchange.sendResponseHeaders(code, bytes.length == 0 ? -1 : bytes.length);
+      try (OutputStream outputStream = exchange.getResponseBody()) {
+        outputStream.write(bytes);
+      }
+    };
+  }
+
+  @Override
+  public void close() {
+    httpServer.stop(0);
+    executorService.shutdownNow();
+  }
+}
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.fluffyluffs.httpretriever4j.BandwidthLimiter;
+import com.fluffyluffs.httpretriever4j.BodyHandlers;
+import com.fluffyluffs.httpretriever4j.HttpRetriever;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria.HTTPMethod;
+import com.fluffyluffs.httpretriever4j.NioTransport;
+import com.fluffyluffs.httpretriever4j.TransferProgress;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** TestBandwidthLimiter */
+public class TestBandwidthLimiter {
+
+  private static final int SIZE = 256 * 1024;
+  private static final long RATE = 512 * 1024;
+
+  private final byte[] large = new byte[SIZE];
+  private final List<TransferProgress> progress = new CopyOnWriteArrayList<>();
+
+  private LocalServer localServer;
+
+  @Before
+  public void setUp() throws Exception {
+    Arrays.fill(large, (byte) 'x');
+    localServer = new LocalServer(4);
+    localServer.handle(
+        "/large",
+        exchange -> {
+          exchange.getRequestBody().readAllBytes();
+          exchange.sendResponseHeaders(200, large.length);
+          try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(large);
+          }
+        });
+    localServer.handle(
+        "/upload",
+        exchange ->
+            LocalServer.respond(
+                    200, String.valueOf(exchange.getRequestBody().readAllBytes().length))
+                .handle(exchange));
+  }
+
+  @After
+  public void tearDown() {
+    localServer.close();
+  }
+
+  @Test
+  public void test_download_is_capped_and_reported() throws Exception {
+    long start = System.nanoTime();
+    try (InputStream inputStream =
+        new HttpRetriever(
+                criteria("/large", HTTPMethod.GET, null).setMaxBytesPerSecond(RATE).build())
+            .retrieve()) {
+      assertArrayEquals(large, inputStream.readAllBytes());
+    }
+    assertTrue(elapsedMillis(start) >= 300);
+
+    TransferProgress last = progress.get(progress.size() - 1);
+    assertEquals(TransferProgress.Direction.DOWNLOAD, last.getDirection());
+    assertEquals(SIZE, last.getBytesTransferred());
+    assertEquals(SIZE, last.getTotalBytes());
+  }
+
+  @Test
+  public void test_upload_is_capped_and_reported() {
+    long start = System.nanoTime();
+    String body = new String(large);
+    assertEquals(
+        String.valueOf(SIZE),
+        new HttpRetriever(
+                criteria("/upload", HTTPMethod.POST, body).setMaxBytesPerSecond(RATE).build())
+            .retrieveWith(BodyHandlers.ofString()));
+    assertTrue(elapsedMillis(start) >= 300);
+
+    assertTrue(
+        progress.stream()
+            .anyMatch(
+                transferProgress ->
+                    transferProgress.getDirection() == TransferProgress.Direction.UPLOAD
+                        && transferProgress.getBytesTransferred() == SIZE));
+  }
+
+  @Test
+  public void test_nio_upload_is_capped() {
+    try (NioTransport nioTransport = new NioTransport.NioTransportBuilder().build()) {
+      long start = System.nanoTime();
+      assertEquals(
+          String.valueOf(SIZE),
+          new HttpRetriever(
+                  criteria("/upload", HTTPMethod.POST, new String(large))
+                      .setMaxBytesPerSecond(RATE)
+                      .setTransport(nioTransport)
+                      .build())
+              .retrieveWith(BodyHandlers.ofString()));
+      assertTrue(elapsedMillis(start) >= 300);
+    }
+  }
+
+  @Test
+  public void test_published_upload_reports_completion() {
+    Flow.Publisher<ByteBuffer> publisher =
+        subscriber -> {
+          try (SubmissionPublisher<ByteBuffer> submissionPublisher = new SubmissionPublisher<>()) {
+            submissionPublisher.subscribe(subscriber);
+            for (int offset = 0; offset < SIZE; offset += 8192) {
+              submissionPublisher.submit(ByteBuffer.wrap(large, offset, 8192));
+            }
+          }
+        };
+
+    try (NioTransport nioTransport = new NioTransport.NioTransportBuilder().build()) {
+      for (HttpRetrieverCriteria criteria :
+          List.of(
+              criteria("/upload", HTTPMethod.POST, null).setBodyPublisher(publisher).build(),
+              criteria("/upload", HTTPMethod.POST, null)
+                  .setBodyPublisher(publisher)
+                  .setTransport(nioTransport)
+                  .build())) {
+        progress.clear();
+        assertEquals(
+            String.valueOf(SIZE),
+            new HttpRetriever(criteria).retrieveWith(BodyHandlers.ofString()));
+
+        TransferProgress last =
+            progress.stream()
+                .filter(
+                    transferProgress ->
+                        transferProgress.getDirection() == TransferProgress.Direction.UPLOAD)
+                .reduce((first, second) -> second)
+                .orElseThrow();
+        assertEquals(SIZE, last.getBytesTransferred());
+        assertEquals(-1, last.getTotalBytes());
+      }
+    }
+  }
+
+  @Test
+  public void test_shared_limiter_paces_concurrent_downloads() throws Exception {
+    BandwidthLimiter bandwidthLimiter =
+        new BandwidthLimiter.BandwidthLimiterBuilder().setBytesPerSecond(RATE * 2).build();
+    HttpRetrieverCriteria criteria =
+        criteria("/large", HTTPMethod.GET, null).setBandwidthLimiter(bandwidthLimiter).build();
+
+    long start = System.nanoTime();
+    CompletableFuture<byte[]> first =
+        CompletableFuture.supplyAsync(
+            () -> new HttpRetriever(criteria).retrieveWith(BodyHandlers.ofByteArray()));
+    CompletableFuture<byte[]> second =
+        CompletableFuture.supplyAsync(
+            () -> new HttpRetriever(criteria).retrieveWith(BodyHandlers.ofByteArray()));
+    assertArrayEquals(large, first.get(10, TimeUnit.SECONDS));
+    assertArrayEquals(large, second.get(10, TimeUnit.SECONDS));
+
+    // 512K through a 1M/s bucket, less the initial burst
+    assertTrue(elapsedMillis(start) >= 300);
+    assertEquals(2L * SIZE, bandwidthLimiter.getBytesAcquired());
+  }
+
+  @Test
+  public void test_acquire_paces_beyond_burst() throws Exception {
+    BandwidthLimiter bandwidthLimiter =
+        new BandwidthLimiter.BandwidthLimiterBuilder()
+            .setBytesPerSecond(10_000)
+            .setBurst(1_000)
+            .build();
+
+    long start = System.nanoTime();
+    for (int i = 0; i < 5; i++) {
+      bandwidthLimiter.acquire(1_000);
+    }
+    assertTrue(elapsedMillis(start) >= 350);
+    assertEquals(5_000, bandwidthLimiter.getBytesAcquired());
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void test_missing_rate() {
+    new BandwidthLimiter.BandwidthLimiterBuilder().build();
+  }
+
+  private HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder criteria(
+      String path, HTTPMethod method, String body) {
+    return new HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder()
+        .setURL(localServer.url(path))
+        .setUserAgent("Mozilla/5.0")
+        .setHTTPMethod(method)
+        .setBody(body)
+        .setProgressListener(progress::add);
+  }
+
+  private static long elapsedMillis(long start) {
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.fluffyluffs.httpretriever4j.BatchCombiner;
+import com.fluffyluffs.httpretriever4j.BatchResponse;
+import com.fluffyluffs.httpretriever4j.BatchingSender;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria.HTTPMethod;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** TestBatchingSender */
+public class TestBatchingSender {
+
+  private final List<String> received = new CopyOnWriteArrayList<>();
+  private final List<String> contentTypes = new CopyOnWriteArrayList<>();
+
+  private LocalServer localServer;
+
+  @Before
+  public void setUp() throws Exception {
+    localServer = new LocalServer(4);
+    localServer.handle(
+        "/events",
+        exchange -> {
+          received.add(
+              new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+          contentTypes.add(exchange.getRequestHeaders().getFirst("Content-Type"));
+          LocalServer.respond(200, "accepted").handle(exchange);
+        });
+    localServer.handle("/broken", LocalServer.respond(500, "broken"));
+  }
+
+  @After
+  public void tearDown() {
+    localServer.close();
+  }
+
+  @Test
+  public void test_full_batch_is_sent_as_json_array() throws Exception {
+    BatchingSender batchingSender =
+        new BatchingSender.BatchingSenderBuilder()
+            .setCriteria(criteria("/events"))
+            .setMaxBatchSize(3)
+            .setLinger(Duration.ofMinutes(1))
+            .build();
+
+    List<CompletableFuture<BatchResponse>> futures = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      futures.add(batchingSender.send("{\"n\":" + i + "}"));
+    }
+
+    for (int i = 0; i < 3; i++) {
+      BatchResponse batchResponse = futures.get(i).get(10, TimeUnit.SECONDS);
+      assertEquals(200, batchResponse.getStatusCode());
+      assertEquals("accepted", batchResponse.getBody());
+      assertEquals(3, batchResponse.getBatchSize());
+      assertEquals(i, batchResponse.getIndex());
+    }
+    assertEquals(1, received.size());
+    assertEquals("[{\"n\":0},{\"n\":1},{\"n\":2}]", received.get(0));
+    assertEquals(
+        HttpRetrieverCriteria.ContentType.JSON.getContentType(), contentTypes.get(0));
+    assertEquals(3, batchingSender.getSent());
+    assertEquals(1, batchingSender.getBatches());
+  }
+
+  @Test
+  public void test_lingering_batch_is_sent_as_ndjson() throws Exception {
+    BatchingSender batchingSender =
+        new BatchingSender.BatchingSenderBuilder()
+            .setCriteria(criteria("/events"))
+            .setBatchCombiner(BatchCombiner.ndjson())
+            .setLinger(Duration.ofMillis(50))
+            .build();
+
+    CompletableFuture<BatchResponse> first = batchingSender.send("{\"n\":0}");
+    CompletableFuture<BatchResponse> second = batchingSender.send("{\"n\":1}");
+
+    assertEquals(2, first.get(10, TimeUnit.SECONDS).getBatchSize());
+    assertEquals(1, second.get(10, TimeUnit.SECONDS).getIndex());
+    assertEquals(1, received.size());
+    assertEquals("{\"n\":0}\n{\"n\":1}\n", received.get(0));
+    assertEquals("application/x-ndjson", contentTypes.get(0));
+  }
+
+  @Test
+  public void test_batch_length_sends_early() throws Exception {
+    BatchingSender batchingSender =
+        new BatchingSender.BatchingSenderBuilder()
+            .setCriteria(criteria("/events"))
+            .setMaxBatchLength(10)
+            .setLinger(Duration.ofMinutes(1))
+            .build();
+
+    CompletableFuture<BatchResponse> first = batchingSender.send("\"abcde\"");
+    CompletableFuture<BatchResponse> second = batchingSender.send("\"fghij\"");
+
+    assertEquals(2, first.get(10, TimeUnit.SECONDS).getBatchSize());
+    assertEquals(2, second.get(10, TimeUnit.SECONDS).getBatchSize());
+    assertEquals("[\"abcde\",\"fghij\"]", received.get(0));
+  }
+
+  @Test
+  public void test_close_flushes_and_rejects() throws Exception {
+    BatchingSender batchingSender =
+        new BatchingSender.BatchingSenderBuilder()
+            .setCriteria(criteria("/events"))
+            .setLinger(Duration.ofMinutes(1))
+            .build();
+
+    CompletableFuture<BatchResponse> future = batchingSender.send("1");
+    batchingSender.close();
+
+    assertEquals(1, future.get(10, TimeUnit.SECONDS).getBatchSize());
+    assertEquals("[1]", received.get(0));
+    try {
+      batchingSender.send("2");
+      fail("Expected RejectedExecutionException");
+    } catch (RejectedExecutionException ex) {
+      assertTrue(ex.getMessage().contains("closed"));
+    }
+  }
+
+  @Test
+  public void test_failed_batch_fails_every_caller() throws Exception {
+    BatchingSender batchingSender =
+        new BatchingSender.BatchingSenderBuilder()
+            .setCriteria(criteria("/broken"))
+            .setMaxBatchSize(2)
+            .build();
+
+    CompletableFuture<BatchResponse> first = batchingSender.send("1");
+    CompletableFuture<BatchResponse> second = batchingSender.send("2");
+
+    for (CompletableFuture<BatchResponse> future : List.of(first, second)) {
+      try {
+        future.get(10, TimeUnit.SECONDS);
+        fail("Expected ExecutionException");
+      } catch (ExecutionException ex) {
+        assertTrue(ex.getCause().getMessage().contains("500"));
+      }
+    }
+  }
+
+  @Test
+  public void test_null_body_is_rejected_before_batching() throws Exception {
+    BatchingSender batchingSender =
+        new BatchingSender.BatchingSenderBuilder()
+            .setCriteria(criteria("/events"))
+            .setMaxBatchSize(2)
+            .setLinger(Duration.ofMinutes(1))
+            .build();
+
+    try {
+      batchingSender.send(null);
+      fail("Expected NoSuchElementException");
+    } catch (NoSuchElementException ex) {
+      assertTrue(ex.getMessage().contains("body"));
+    }
+
+    CompletableFuture<BatchResponse> first = batchingSender.send("{\"n\":1}");
+    CompletableFuture<BatchResponse> second = batchingSender.send("{\"n\":2}");
+    assertEquals(2, first.get(10, TimeUnit.SECONDS).getBatchSize());
+    assertEquals(1, second.get(10, TimeUnit.SECONDS).getIndex());
+    assertEquals(List.of("[{\"n\":1},{\"n\":2}]"), received);
+    assertEquals(2, batchingSender.getSent());
+  }
+
+  private HttpRetrieverCriteria criteria(String path) {
+    return new HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder()
+        .setURL(localServer.url(path))
+        .setUserAgent("Mozilla/5.0")
+        .setHTTPMethod(HTTPMethod.POST)
+        .build();
+  }
+}
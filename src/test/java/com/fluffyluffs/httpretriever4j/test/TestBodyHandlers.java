@@ -0,0 +1,191 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.fluffyluffs.httpretriever4j.BodyHandlers;
+import com.fluffyluffs.httpretriever4j.BodyLimits;
+import com.fluffyluffs.httpretriever4j.BodyTooLargeException;
+import com.fluffyluffs.httpretriever4j.BodySink;
+import com.fluffyluffs.httpretriever4j.HttpRetriever;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria.HTTPMethod;
+import com.fluffyluffs.httpretriever4j.ResponseInfo;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/** TestBodyHandlers */
+public class TestBodyHandlers {
+
+  private static final String TEXT = "Grüße, 世界! ".repeat(2000);
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private static LocalServer localServer;
+
+  @BeforeClass
+  public static void setUpClass() throws Exception {
+    byte[] bytes = TEXT.getBytes(StandardCharsets.UTF_8);
+    localServer =
+        new LocalServer(2)
+            .handle(
+                "/text",
+                exchange -> {
+                  exchange.getResponseHeaders().add("Content-Type", "text/plain; charset=UTF-8");
+                  // chunked, with writes that split multi-byte characters
+                  exchange.sendResponseHeaders(200, 0);
+                  try (OutputStream outputStream = exchange.getResponseBody()) {
+                    for (int i = 0; i < bytes.length; i += 1001) {
+                      outputStream.write(bytes, i, Math.min(1001, bytes.length - i));
+                      outputStream.flush();
+                    }
+                  }
+                })
+            .handle("/missing", LocalServer.respond(404, "gone"));
+  }
+
+  @AfterClass
+  public static void tearDownClass() {
+    localServer.close();
+  }
+
+  @Test
+  public void test_of_string() {
+    assertEquals(TEXT, retriever("/text").retrieveWith(BodyHandlers.ofString()));
+  }
+
+  @Test
+  public void test_of_byte_array() {
+    assertArrayEquals(
+        TEXT.getBytes(StandardCharsets.UTF_8),
+        retriever("/text").retrieveWith(BodyHandlers.ofByteArray()));
+  }
+
+  @Test
+  public void test_of_file() throws IOException {
+    Path path = temporaryFolder.newFile().toPath();
+    retriever("/text").retrieveWith(BodyHandlers.ofFile(path));
+    assertEquals(TEXT, Files.readString(path));
+  }
+
+  @Test
+  public void test_of_file_unsuccessful_response_keeps_existing_file() throws IOException {
+    Path path = temporaryFolder.newFile().toPath();
+    Files.writeString(path, "kept");
+
+    assertEquals(path, retriever("/missing").retrieveWith(BodyHandlers.ofFile(path)));
+    assertEquals("kept", Files.readString(path));
+    assertEquals(1, files(path.getParent()));
+  }
+
+  @Test
+  public void test_of_file_failed_read_keeps_existing_file() throws IOException {
+    Path path = temporaryFolder.newFile().toPath();
+    Files.writeString(path, "kept");
+    HttpRetriever httpRetriever =
+        new HttpRetriever(
+            criteria("/text")
+                .setBodyLimits(new BodyLimits.BodyLimitsBuilder().setMaxBodySize(4096).build())
+                .build());
+
+    try {
+      httpRetriever.retrieveWith(BodyHandlers.ofFile(path));
+      throw new AssertionError("Expected the body to be refused");
+    } catch (RuntimeException ex) {
+      assertTrue(ex.getCause() instanceof BodyTooLargeException);
+    }
+    assertEquals("kept", Files.readString(path));
+    // the partial file is removed
+    assertEquals(1, files(path.getParent()));
+  }
+
+  @Test
+  public void test_discarding() {
+    assertNull(retriever("/text").retrieveWith(BodyHandlers.discarding()));
+  }
+
+  @Test
+  public void test_of_json_adapter() {
+    String adapted =
+        retriever("/text")
+            .retrieveWith(
+                BodyHandlers.ofJson(
+                    reader -> new BufferedReader(reader).lines().collect(Collectors.joining())));
+    assertEquals(TEXT, adapted);
+  }
+
+  @Test
+  public void test_unsuccessful_response_is_empty_with_status() {
+    int[] status = new int[1];
+    String body =
+        retriever("/missing")
+            .retrieveWith(
+                responseInfo -> {
+                  status[0] = responseInfo.getStatusCode();
+                  return BodyHandlers.ofString().apply(responseInfo);
+                });
+    assertEquals(404, status[0]);
+    assertEquals("", body);
+  }
+
+  @Test
+  public void test_string_sink_byte_at_a_time() throws IOException {
+    BodySink<String> bodySink =
+        BodyHandlers.ofString()
+            .apply(
+                new ResponseInfo(
+                    200, Map.of("content-type", List.of("text/plain; charset=utf-8")), -1));
+    for (byte b : TEXT.getBytes(StandardCharsets.UTF_8)) {
+      bodySink.accept(ByteBuffer.wrap(new byte[] {b}));
+    }
+    assertEquals(TEXT, bodySink.finish());
+  }
+
+  private static long files(Path directory) throws IOException {
+    try (Stream<Path> paths = Files.list(directory)) {
+      return paths.count();
+    }
+  }
+
+  private static HttpRetriever retriever(String path) {
+    return new HttpRetriever(criteria(path).build());
+  }
+
+  private static HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder criteria(String path) {
+    return new HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder()
+        .setURL(localServer.url(path))
+        .setUserAgent("Mozilla/5.0")
+        .setHTTPMethod(HTTPMethod.GET);
+  }
+}
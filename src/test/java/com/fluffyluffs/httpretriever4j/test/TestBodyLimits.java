@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.fluffyluffs.httpretriever4j.BodyHandlers;
+import com.fluffyluffs.httpretriever4j.BodyLimits;
+import com.fluffyluffs.httpretriever4j.BodyTooLargeException;
+import com.fluffyluffs.httpretriever4j.HttpRetriever;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria.HTTPMethod;
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/** TestBodyLimits */
+public class TestBodyLimits {
+
+  private static final byte[] SMALL = new byte[1000];
+  private static final byte[] LARGE = new byte[100_000];
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private static LocalServer localServer;
+
+  @BeforeClass
+  public static void setUpClass() throws Exception {
+    Arrays.fill(SMALL, (byte) 's');
+    Arrays.fill(LARGE, (byte) 'l');
+    localServer =
+        new LocalServer(2)
+            .handle("/small", exchange -> send(exchange, SMALL, SMALL.length))
+            .handle("/large", exchange -> send(exchange, LARGE, LARGE.length))
+            // no Content-Length, so limits are enforced on the bytes read
+            .handle("/large-chunked", exchange -> send(exchange, LARGE, 0));
+  }
+
+  private static void send(
+      HttpExchange exchange, byte[] bytes, long length) throws IOException {
+    exchange.sendResponseHeaders(200, length);
+    try (OutputStream outputStream = exchange.getResponseBody()) {
+      outputStream.write(bytes);
+    }
+  }
+
+  @AfterClass
+  public static void tearDownClass() {
+    localServer.close();
+  }
+
+  @Test
+  public void test_retrieve_function_returns_budget() {
+    BodyLimits bodyLimits = limits(10_000, Long.MAX_VALUE);
+
+    // the function reads without closing, as callers did before body limits existed
+    int length = retriever("/small", bodyLimits).retrieve(inputStream -> read(inputStream).length);
+    assertEquals(SMALL.length, length);
+    assertEquals(0, bodyLimits.getInMemoryBytes());
+
+    length = retriever("/large", bodyLimits).retrieve(inputStream -> read(inputStream).length);
+    assertEquals(LARGE.length, length);
+    assertEquals(1, bodyLimits.getSpilledBodies());
+    assertEquals(0, spillFiles());
+  }
+
+  @Test
+  public void test_small_body_stays_on_heap() throws IOException {
+    BodyLimits bodyLimits = limits(10_000, Long.MAX_VALUE);
+
+    try (InputStream inputStream = retriever("/small", bodyLimits).retrieve()) {
+      assertEquals(SMALL.length, bodyLimits.getInMemoryBytes());
+      assertArrayEquals(SMALL, inputStream.readAllBytes());
+    }
+    assertEquals(0, bodyLimits.getInMemoryBytes());
+    assertEquals(0, bodyLimits.getSpilledBodies());
+    assertEquals(0, spillFiles());
+  }
+
+  @Test
+  public void test_large_body_spills_to_disk() throws IOException {
+    for (String path : new String[] {"/large", "/large-chunked"}) {
+      BodyLimits bodyLimits = limits(10_000, Long.MAX_VALUE);
+
+      try (InputStream inputStream = retriever(path, bodyLimits).retrieve()) {
+        assertEquals(1, bodyLimits.getSpilledBodies());
+        assertEquals(0, bodyLimits.getInMemoryBytes());
+        assertArrayEquals(LARGE, inputStream.readAllBytes());
+      }
+      assertEquals(0, spillFiles());
+    }
+  }
+
+  @Test
+  public void test_global_budget_spills_once_exhausted() throws IOException {
+    BodyLimits bodyLimits =
+        new BodyLimits.BodyLimitsBuilder()
+            .setInMemoryThreshold(10_000)
+            .setGlobalInMemoryLimit(1500)
+            .setSpillDirectory(temporaryFolder.getRoot().toPath())
+            .build();
+    HttpRetriever httpRetriever = retriever("/small", bodyLimits);
+
+    try (InputStream first = httpRetriever.retrieve();
+        InputStream second = httpRetriever.retrieve()) {
+      assertEquals(SMALL.length, bodyLimits.getInMemoryBytes());
+      assertEquals(1, bodyLimits.getSpilledBodies());
+      assertArrayEquals(SMALL, first.readAllBytes());
+      assertArrayEquals(SMALL, second.readAllBytes());
+    }
+    assertEquals(0, bodyLimits.getInMemoryBytes());
+  }
+
+  @Test
+  public void test_body_over_max_size_aborts() {
+    for (String path : new String[] {"/large", "/large-chunked"}) {
+      BodyLimits bodyLimits = limits(10_000, 50_000);
+      try {
+        retriever(path, bodyLimits).retrieve();
+        fail("Expected " + path + " to exceed the limit");
+      } catch (RuntimeException ex) {
+        assertTrue(ex.getCause() instanceof BodyTooLargeException);
+      }
+      assertEquals(0, bodyLimits.getInMemoryBytes());
+      assertEquals(0, spillFiles());
+    }
+  }
+
+  @Test
+  public void test_body_handler_honours_max_size() {
+    try {
+      retriever("/large-chunked", limits(10_000, 50_000))
+          .retrieveWith(BodyHandlers.ofByteArray());
+      fail("Expected the body to exceed the limit");
+    } catch (RuntimeException ex) {
+      assertTrue(ex.getCause() instanceof BodyTooLargeException);
+    }
+  }
+
+  private BodyLimits limits(long inMemoryThreshold, long maxBodySize) {
+    return new BodyLimits.BodyLimitsBuilder()
+        .setInMemoryThreshold(inMemoryThreshold)
+        .setMaxBodySize(maxBodySize)
+        .setSpillDirectory(temporaryFolder.getRoot().toPath())
+        .build();
+  }
+
+  private long spillFiles() {
+    try (var files = Files.list(temporaryFolder.getRoot().toPath())) {
+      return files.map(Path::getFileName).filter(name -> name.toString().endsWith(".body")).count();
+    } catch (IOException ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+
+  private static byte[] read(InputStream inputStream) {
+    try {
+      return inputStream.readAllBytes();
+    } catch (IOException ex) {
+      throw new RuntimeException(ex);
+    }
+  }
+
+  private static HttpRetriever retriever(String path, BodyLimits bodyLimits) {
+    return new HttpRetriever(
+        new HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder()
+            .setURL(localServer.url(path))
+            .setUserAgent("Mozilla/5.0")
+            .setHTTPMethod(HTTPMethod.GET)
+            .setBodyLimits(bodyLimits)
+            .build());
+  }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j.test;
+
+import static org.junit.Assert.assertEquals;
+
+import com.fluffyluffs.httpretriever4j.Cassette;
+import com.fluffyluffs.httpretriever4j.HttpRetriever;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria.HTTPMethod;
+import com.fluffyluffs.httpretriever4j.Utils;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/** TestCassette */
+public class TestCassette {
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void test_record_then_replay_without_server() throws IOException {
+    Path path = temporaryFolder.newFile("exchanges.cassette").toPath();
+    AtomicInteger hits = new AtomicInteger();
+    String url;
+
+    try (LocalServer localServer =
+            new LocalServer(2)
+                .handle(
+                    "/count",
+                    exchange -> {
+                      byte[] bytes =
+                          ("hit " + hits.incrementAndGet()).getBytes(StandardCharsets.UTF_8);
+                      exchange.sendResponseHeaders(200, bytes.length);
+                      try (OutputStream outputStream = exchange.getResponseBody()) {
+                        outputStream.write(bytes);
+                      }
+                    })
+                .handle("/missing", LocalServer.respond(404, "gone"));
+        Cassette cassette = Cassette.record(path)) {
+      url = localServer.url("");
+      HttpRetriever count = new HttpRetriever(criteria(url + "/count", cassette));
+      assertEquals("hit 1", count.retrieve(Utils::convertToString));
+      assertEquals("hit 2", count.retrieve(Utils::convertToString));
+      assertEquals(
+          "",
+          new HttpRetriever(criteria(url + "/missing", cassette))
+              .retrieve(Utils::convertToString));
+    }
+
+    // the server is gone; everything below is served from the mapped file
+    try (Cassette cassette = Cassette.replay(path)) {
+      HttpRetriever count = new HttpRetriever(criteria(url + "/count", cassette));
+      assertEquals("hit 1", count.retrieve(Utils::convertToString));
+      assertEquals("hit 2", count.retrieve(Utils::convertToString));
+      assertEquals("hit 2", count.retrieve(Utils::convertToString));
+      assertEquals(
+          "",
+          new HttpRetriever(criteria(url + "/missing", cassette))
+              .retrieve(Utils::convertToString));
+    }
+    assertEquals(2, hits.get());
+  }
+
+  @Test
+  public void test_publish_records_and_replays() throws Exception {
+    Path path = temporaryFolder.newFile("published.cassette").toPath();
+    String url;
+
+    try (LocalServer localServer =
+            new LocalServer(2).handle("/hello", LocalServer.respond(200, "hello"));
+        Cassette cassette = Cassette.record(path)) {
+      url = localServer.url("/hello");
+      assertEquals("hello", published(new HttpRetriever(criteria(url, cassette))));
+    }
+
+    try (Cassette cassette = Cassette.replay(path)) {
+      HttpRetriever hello = new HttpRetriever(criteria(url, cassette));
+      assertEquals("hello", published(hello));
+      assertEquals("hello", hello.retrieve(Utils::convertToString));
+    }
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void test_replay_miss() throws IOException {
+    Path path = temporaryFolder.newFile("empty.cassette").toPath();
+    Cassette.record(path).close();
+
+    try (Cassette cassette = Cassette.replay(path)) {
+      new HttpRetriever(criteria("http://localhost:1/nothing", cassette)).retrieve();
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void test_not_a_cassette() throws IOException {
+    Cassette.replay(temporaryFolder.newFile("empty.txt").toPath());
+  }
+
+  private static String published(HttpRetriever httpRetriever) throws Exception {
+    ByteArrayOutputStream received = new ByteArrayOutputStream();
+    CompletableFuture<String> body = new CompletableFuture<>();
+    httpRetriever
+        .publish()
+        .subscribe(
+            new Flow.Subscriber<ByteBuffer>() {
+              @Override
+              public void onSubscribe(Flow.Subscription subscription) {
+                subscription.request(Long.MAX_VALUE);
+              }
+
+              @Override
+              public void onNext(ByteBuffer item) {
+                byte[] bytes = new byte[item.remaining()];
+                item.get(bytes);
+                received.writeBytes(bytes);
+              }
+
+              @Override
+              public void onError(Throwable throwable) {
+                body.completeExceptionally(throwable);
+              }
+
+              @Override
+              public void onComplete() {
+                body.complete(received.toString(StandardCharsets.UTF_8));
+              }
+            });
+    return body.get(5, TimeUnit.SECONDS);
+  }
+
+  private static HttpRetrieverCriteria criteria(String url, Cassette cassette) {
+    return new HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder()
+        .setURL(url)
+        .setUserAgent("Mozilla/5.0")
+        .setHTTPMethod(HTTPMethod.GET)
+        .setCassette(cassette)
+        .build();
+  }
+}
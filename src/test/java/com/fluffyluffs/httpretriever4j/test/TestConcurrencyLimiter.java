@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.fluffyluffs.httpretriever4j.ConcurrencyLimiter;
+import com.fluffyluffs.httpretriever4j.HttpRetriever;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria.HTTPMethod;
+import com.fluffyluffs.httpretriever4j.LimiterMetrics;
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** TestConcurrencyLimiter */
+public class TestConcurrencyLimiter {
+
+  private static LocalServer localServer;
+  private static String host;
+
+  @BeforeClass
+  public static void setUpClass() throws Exception {
+    localServer =
+        new LocalServer(16)
+            .handle("/fast", LocalServer.respond(200, "ok"))
+            .handle("/unavailable", LocalServer.respond(503, ""))
+            .handle(
+                "/slow",
+                exchange -> {
+                  try {
+                    Thread.sleep(200);
+                  } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                  }
+                  LocalServer.respond(200, "ok").handle(exchange);
+                });
+    host = new URL(localServer.url("/")).getAuthority();
+  }
+
+  @AfterClass
+  public static void tearDownClass() {
+    localServer.close();
+  }
+
+  @Test
+  public void test_requests_over_limit_are_shed() {
+    ConcurrencyLimiter concurrencyLimiter =
+        new ConcurrencyLimiter.ConcurrencyLimiterBuilder().setInitialLimit(2).build();
+
+    ConcurrencyLimiter.Permit first = concurrencyLimiter.acquire(host);
+    ConcurrencyLimiter.Permit second = concurrencyLimiter.acquire(host);
+    try {
+      retriever("/fast", concurrencyLimiter).retrieve();
+      fail("Expected the request to be shed");
+    } catch (RejectedExecutionException ex) {
+      assertEquals(1, concurrencyLimiter.getMetrics(host).getRejected());
+    }
+    first.cancel();
+    second.cancel();
+
+    retriever("/fast", concurrencyLimiter).retrieve();
+    assertEquals(0, concurrencyLimiter.getMetrics(host).getInFlight());
+  }
+
+  @Test
+  public void test_failures_shrink_the_limit() {
+    ConcurrencyLimiter concurrencyLimiter =
+        new ConcurrencyLimiter.ConcurrencyLimiterBuilder().setInitialLimit(20).build();
+    HttpRetriever httpRetriever = retriever("/unavailable", concurrencyLimiter);
+
+    for (int i = 0; i < 10; i++) {
+      httpRetriever.retrieve();
+    }
+
+    assertTrue(concurrencyLimiter.getMetrics(host).getLimit() < 10);
+  }
+
+  @Test
+  public void test_rising_latency_shrinks_the_limit() {
+    ConcurrencyLimiter concurrencyLimiter =
+        new ConcurrencyLimiter.ConcurrencyLimiterBuilder().setInitialLimit(20).build();
+
+    for (int i = 0; i < 5; i++) {
+      retriever("/fast", concurrencyLimiter).retrieve();
+    }
+    for (int i = 0; i < 10; i++) {
+      retriever("/slow", concurrencyLimiter).retrieve();
+    }
+
+    LimiterMetrics limiterMetrics = concurrencyLimiter.getMetrics(host);
+    assertTrue(limiterMetrics.toString(), limiterMetrics.getLimit() < 10);
+  }
+
+  @Test
+  public void test_limit_grows_under_healthy_load() throws Exception {
+    ConcurrencyLimiter concurrencyLimiter =
+        new ConcurrencyLimiter.ConcurrencyLimiterBuilder()
+            .setInitialLimit(4)
+            // ignore scheduling noise on a loaded build machine
+            .setTolerance(100)
+            .setMaxWait(Duration.ofSeconds(5))
+            .build();
+    HttpRetriever httpRetriever = retriever("/fast", concurrencyLimiter);
+    ExecutorService executorService = Executors.newFixedThreadPool(12);
+
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+        futures.add(executorService.submit(() -> httpRetriever.retrieve()));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executorService.shutdownNow();
+    }
+
+    LimiterMetrics limiterMetrics = concurrencyLimiter.getMetrics(host);
+    assertTrue(limiterMetrics.toString(), limiterMetrics.getLimit() > 4);
+    assertEquals(0, limiterMetrics.getRejected());
+  }
+
+  private static HttpRetriever retriever(String path, ConcurrencyLimiter concurrencyLimiter) {
+    return new HttpRetriever(
+        new HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder()
+            .setURL(localServer.url(path))
+            .setUserAgent("Mozilla/5.0")
+            .setHTTPMethod(HTTPMethod.GET)
+            .setConcurrencyLimiter(concurrencyLimiter)
+            .build());
+  }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j.test;
+
+import static org.junit.Assert.assertEquals;
+
+import com.fluffyluffs.httpretriever4j.Header;
+import com.fluffyluffs.httpretriever4j.HttpRetriever;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria.HTTPMethod;
+import com.fluffyluffs.httpretriever4j.QueryParameter;
+import com.fluffyluffs.httpretriever4j.Utils;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * TestConcurrentRetrieval
+ *
+ * <p>Stress test: a handful of shared {@link HttpRetriever} instances hammered by many threads
+ * against a local server. Every response must match the retriever it came from.
+ */
+public class TestConcurrentRetrieval {
+
+  private static final int THREADS = 32;
+  private static final int REQUESTS_PER_THREAD = 100;
+  private static final int RETRIEVERS = 8;
+
+  private static LocalServer localServer;
+  private static Level level;
+
+  @BeforeClass
+  public static void setUpClass() throws Exception {
+    Logger logger = Logger.getLogger("com.fluffyluffs.httpretriever4j");
+    level = logger.getLevel();
+    logger.setLevel(Level.SEVERE);
+
+    localServer =
+        new LocalServer(16)
+            .handle(
+                "/echo",
+                exchange -> {
+                  exchange.getRequestBody().readAllBytes();
+                  byte[] bytes =
+                      (exchange.getRequestURI().getQuery()
+                              + "|"
+                              + exchange.getRequestHeaders().getFirst("X-Id"))
+                          .getBytes(StandardCharsets.UTF_8);
+                  exchange.sendResponseHeaders(200, bytes.length);
+                  try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(bytes);
+                  }
+                })
+            .handle("/missing", LocalServer.respond(404, "gone"));
+  }
+
+  @AfterClass
+  public static void tearDownClass() {
+    localServer.close();
+    Logger.getLogger("com.fluffyluffs.httpretriever4j").setLevel(level);
+  }
+
+  @Test
+  public void test_shared_retrievers_under_contention() throws Exception {
+    List<HttpRetriever> httpRetrievers = new ArrayList<>();
+    List<String> expected = new ArrayList<>();
+    for (int i = 0; i < RETRIEVERS; i++) {
+      httpRetrievers.add(
+          new HttpRetriever(
+              new HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder()
+                  .setURL(localServer.url("/echo"))
+                  .setUserAgent("Mozilla/5.0")
+                  .setHTTPMethod(HTTPMethod.GET)
+                  .setQueryParameter(new QueryParameter("n", String.valueOf(i)))
+                  .setHeader(new Header("X-Id", "id-" + i))
+                  .build()));
+      expected.add("n=" + i + "|id-" + i);
+    }
+    // failures interleaved with successes must not leak into other threads' outcomes
+    HttpRetriever missing =
+        new HttpRetriever(
+            new HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder()
+                .setURL(localServer.url("/missing"))
+                .setUserAgent("Mozilla/5.0")
+                .setHTTPMethod(HTTPMethod.GET)
+                .build());
+
+    ExecutorService executorService = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    AtomicInteger mismatches = new AtomicInteger();
+    List<Future<?>> futures = new ArrayList<>();
+    for (int t = 0; t < THREADS; t++) {
+      futures.add(
+          executorService.submit(
+              () -> {
+                start.await();
+                for (int r = 0; r < REQUESTS_PER_THREAD; r++) {
+                  int i = ThreadLocalRandom.current().nextInt(RETRIEVERS + 1);
+                  if (i == RETRIEVERS) {
+                    if (!missing.retrieve(Utils::convertToString).isEmpty()) {
+                      mismatches.incrementAndGet();
+                    }
+                  } else if (!expected
+                      .get(i)
+                      .equals(httpRetrievers.get(i).retrieve(Utils::convertToString))) {
+                    mismatches.incrementAndGet();
+                  }
+                }
+                return null;
+              }));
+    }
+    start.countDown();
+
+    for (Future<?> future : futures) {
+      future.get(2, TimeUnit.MINUTES);
+    }
+    executorService.shutdown();
+    assertEquals(0, mismatches.get());
+  }
+
+  @Test
+  public void test_criteria_isolated_from_builder() {
+    HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder httpRetrieverCriteriaBuilder =
+        new HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder()
+            .setURL(localServer.url("/echo"))
+            .setUserAgent("Mozilla/5.0")
+            .setHTTPMethod(HTTPMethod.GET)
+            .setHeader(new Header("X-Id", "first"));
+    HttpRetrieverCriteria httpRetrieverCriteria = httpRetrieverCriteriaBuilder.build();
+
+    httpRetrieverCriteriaBuilder.setHeader(new Header("X-Id", "second"));
+    httpRetrieverCriteriaBuilder.setQueryParameter(new QueryParameter("n", "1"));
+
+    assertEquals(1, httpRetrieverCriteria.getHeaders().size());
+    assertEquals(0, httpRetrieverCriteria.getQueryParameters().size());
+    assertEquals(
+        "null|first", new HttpRetriever(httpRetrieverCriteria).retrieve(Utils::convertToString));
+  }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.fluffyluffs.httpretriever4j.AccessToken;
+import com.fluffyluffs.httpretriever4j.CredentialsProvider;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverAuthorization;
+import com.fluffyluffs.httpretriever4j.RefreshingTokenProvider;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+/** TestCredentialsProvider */
+public class TestCredentialsProvider {
+
+  @Test
+  public void test_static_provider_caches_encoded_value() {
+    CredentialsProvider credentialsProvider =
+        HttpRetrieverAuthorization.BASIC.getCredentialsProvider("user:passwd");
+
+    assertSame(credentialsProvider.getAuthorization(), credentialsProvider.getAuthorization());
+    assertTrue(credentialsProvider.getAuthorization().startsWith("Basic "));
+    assertFalse(credentialsProvider.invalidate(credentialsProvider.getAuthorization()));
+  }
+
+  @Test
+  public void test_concurrent_first_use_fetches_once() throws Exception {
+    AtomicInteger fetches = new AtomicInteger();
+    RefreshingTokenProvider credentialsProvider =
+        new RefreshingTokenProvider.RefreshingTokenProviderBuilder()
+            .setTokenSupplier(
+                () -> {
+                  Thread.sleep(100);
+                  return new AccessToken(
+                      "t" + fetches.incrementAndGet(), Instant.now().plusSeconds(3600));
+                })
+            .build();
+
+    ExecutorService executorService = Executors.newFixedThreadPool(16);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<String>> results = new ArrayList<>();
+    for (int i = 0; i < 16; i++) {
+      results.add(
+          executorService.submit(
+              () -> {
+                start.await();
+                return credentialsProvider.getAuthorization();
+              }));
+    }
+    start.countDown();
+
+    for (Future<String> result : results) {
+      assertEquals("Bearer t1", result.get(5, TimeUnit.SECONDS));
+    }
+    assertEquals(1, fetches.get());
+    executorService.shutdown();
+  }
+
+  @Test
+  public void test_refresh_ahead_serves_cached_value() throws Exception {
+    MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+    AtomicInteger fetches = new AtomicInteger();
+    RefreshingTokenProvider credentialsProvider =
+        new RefreshingTokenProvider.RefreshingTokenProviderBuilder()
+            .setTokenSupplier(
+                () ->
+                    new AccessToken(
+                        "t" + fetches.incrementAndGet(), clock.instant().plusSeconds(120)))
+            .setRefreshAhead(Duration.ofSeconds(60))
+            .setClock(clock)
+            .build();
+
+    assertEquals("Bearer t1", credentialsProvider.getAuthorization());
+
+    clock.advance(Duration.ofSeconds(90));
+    assertEquals("Bearer t1", credentialsProvider.getAuthorization());
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!"Bearer t2".equals(credentialsProvider.getAuthorization())
+        && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertEquals("Bearer t2", credentialsProvider.getAuthorization());
+    assertEquals(2, fetches.get());
+  }
+
+  @Test
+  public void test_invalidate_renews_only_once() {
+    AtomicInteger fetches = new AtomicInteger();
+    RefreshingTokenProvider credentialsProvider =
+        new RefreshingTokenProvider.RefreshingTokenProviderBuilder()
+            .setTokenSupplier(
+                () ->
+                    new AccessToken(
+                        "t" + fetches.incrementAndGet(), Instant.now().plusSeconds(3600)))
+            .build();
+
+    String rejected = credentialsProvider.getAuthorization();
+    assertTrue(credentialsProvider.invalidate(rejected));
+    assertEquals("Bearer t2", credentialsProvider.getAuthorization());
+
+    // a late 401 for the old token does not trigger a second renewal
+    assertTrue(credentialsProvider.invalidate(rejected));
+    assertEquals(2, fetches.get());
+  }
+
+  @Test
+  public void test_token_shorter_than_refresh_ahead_is_not_fetched_in_a_loop() throws Exception {
+    AtomicInteger fetches = new AtomicInteger();
+    RefreshingTokenProvider credentialsProvider =
+        new RefreshingTokenProvider.RefreshingTokenProviderBuilder()
+            .setTokenSupplier(
+                () ->
+                    new AccessToken(
+                        "t" + fetches.incrementAndGet(), Instant.now().plusSeconds(10)))
+            .setRefreshAhead(Duration.ofSeconds(60))
+            .setRetryDelay(Duration.ofMillis(200))
+            .build();
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+    while (System.nanoTime() < deadline) {
+      assertTrue(credentialsProvider.getAuthorization().startsWith("Bearer t"));
+    }
+    // renewed about every retry delay rather than continuously
+    assertTrue(fetches.get() >= 2);
+    assertTrue(fetches.get() <= 10);
+  }
+
+  @Test
+  public void test_failed_fetch_is_not_retried_before_retry_delay() {
+    AtomicInteger fetches = new AtomicInteger();
+    RefreshingTokenProvider credentialsProvider =
+        new RefreshingTokenProvider.RefreshingTokenProviderBuilder()
+            .setTokenSupplier(
+                () -> {
+                  fetches.incrementAndGet();
+                  throw new IllegalStateException("token endpoint down");
+                })
+            .setRetryDelay(Duration.ofMinutes(1))
+            .build();
+
+    for (int i = 0; i < 100; i++) {
+      try {
+        credentialsProvider.getAuthorization();
+        throw new AssertionError("Expected the token fetch to fail");
+      } catch (RuntimeException ex) {
+        assertEquals("token endpoint down", ex.getMessage());
+      }
+    }
+    assertFalse(credentialsProvider.invalidate("Bearer t1"));
+    assertEquals(1, fetches.get());
+  }
+
+  private static class MutableClock extends Clock {
+
+    private volatile Instant instant;
+
+    private MutableClock(Instant instant) {
+      this.instant = instant;
+    }
+
+    private void advance(Duration duration) {
+      instant = instant.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return instant;
+    }
+  }
+}
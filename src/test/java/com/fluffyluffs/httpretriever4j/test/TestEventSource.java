@@ -0,0 +1,277 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.fluffyluffs.httpretriever4j.EventSource;
+import com.fluffyluffs.httpretriever4j.EventSourceListener;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria.HTTPMethod;
+import com.fluffyluffs.httpretriever4j.ServerSentEvent;
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** TestEventSource */
+public class TestEventSource {
+
+  private final AtomicInteger requests = new AtomicInteger();
+  private final List<String> lastEventIds = new CopyOnWriteArrayList<>();
+  private final List<ServerSentEvent> events = new CopyOnWriteArrayList<>();
+  private final List<Exception> errors = new CopyOnWriteArrayList<>();
+  private final CountDownLatch firstEvent = new CountDownLatch(1);
+
+  private final EventSourceListener listener =
+      new EventSourceListener() {
+        @Override
+        public void onEvent(ServerSentEvent event) {
+          events.add(event);
+          firstEvent.countDown();
+        }
+
+        @Override
+        public void onError(Exception ex) {
+          errors.add(ex);
+        }
+      };
+
+  private LocalServer localServer;
+
+  @Before
+  public void setUp() throws Exception {
+    localServer = new LocalServer(4);
+  }
+
+  @After
+  public void tearDown() {
+    localServer.close();
+  }
+
+  @Test
+  public void test_frames_are_parsed_and_stream_resumed() throws Exception {
+    localServer.handle(
+        "/stream",
+        exchange -> {
+          lastEventIds.add(exchange.getRequestHeaders().getFirst("Last-Event-ID"));
+          if (requests.incrementAndGet() > 1) {
+            LocalServer.respond(204, "").handle(exchange);
+            return;
+          }
+          try (OutputStream outputStream = open(exchange)) {
+            outputStream.write(
+                (": heartbeat\n\n"
+                        + "retry: 10\n\n"
+                        + "id: 1\ndata: first\n\n"
+                        + "event: update\r\ndata: line one\r\ndata:line two\r\nid: 2\r\n\r\n"
+                        + "data: cut off")
+                    .getBytes(StandardCharsets.UTF_8));
+          }
+        });
+
+    EventSource eventSource = source("/stream", Duration.ofMinutes(1)).open();
+
+    awaitClosed(eventSource);
+    assertEquals(2, events.size());
+    assertEquals("message", events.get(0).getType());
+    assertEquals("first", events.get(0).getData());
+    assertEquals("1", events.get(0).getLastEventId());
+    assertEquals("update", events.get(1).getType());
+    assertEquals("line one\nline two", events.get(1).getData());
+    assertEquals("2", events.get(1).getLastEventId());
+
+    // reconnected after the server's retry rather than the configured minute
+    assertEquals(2, eventSource.getConnections());
+    assertNull(lastEventIds.get(0));
+    assertEquals("2", lastEventIds.get(1));
+    assertEquals("2", eventSource.getLastEventId());
+    assertTrue(errors.isEmpty());
+  }
+
+  @Test
+  public void test_events_are_pushed_before_stream_ends() throws Exception {
+    AtomicBoolean pushed = new AtomicBoolean();
+    localServer.handle(
+        "/live",
+        exchange -> {
+          if (requests.incrementAndGet() > 1) {
+            LocalServer.respond(204, "").handle(exchange);
+            return;
+          }
+          try (OutputStream outputStream = open(exchange)) {
+            outputStream.write("data: one\n\n".getBytes(StandardCharsets.UTF_8));
+            outputStream.flush();
+            try {
+              pushed.set(firstEvent.await(10, TimeUnit.SECONDS));
+            } catch (InterruptedException ex) {
+              Thread.currentThread().interrupt();
+            }
+            outputStream.write("data: two\n\n".getBytes(StandardCharsets.UTF_8));
+          }
+        });
+
+    EventSource eventSource = source("/live", Duration.ofMillis(10)).open();
+
+    awaitClosed(eventSource);
+    assertTrue(pushed.get());
+    assertEquals(2, eventSource.getEvents());
+    assertEquals("two", events.get(1).getData());
+  }
+
+  @Test
+  public void test_unavailable_is_retried() throws Exception {
+    localServer.handle(
+        "/unavailable",
+        exchange -> {
+          int request = requests.incrementAndGet();
+          if (request == 1) {
+            LocalServer.respond(503, "unavailable").handle(exchange);
+          } else if (request == 2) {
+            try (OutputStream outputStream = open(exchange)) {
+              outputStream.write("data: back\n\n".getBytes(StandardCharsets.UTF_8));
+            }
+          } else {
+            LocalServer.respond(204, "").handle(exchange);
+          }
+        });
+
+    EventSource eventSource = source("/unavailable", Duration.ofMillis(10)).open();
+
+    awaitClosed(eventSource);
+    assertEquals(3, eventSource.getConnections());
+    assertEquals(1, events.size());
+    assertEquals(1, errors.size());
+    assertTrue(errors.get(0).getMessage().contains("503"));
+  }
+
+  @Test
+  public void test_zero_retry_still_backs_off_failures() throws Exception {
+    localServer.handle(
+        "/flaky",
+        exchange -> {
+          if (requests.incrementAndGet() == 1) {
+            try (OutputStream outputStream = open(exchange)) {
+              outputStream.write("retry: 0\ndata: once\n\n".getBytes(StandardCharsets.UTF_8));
+            }
+          } else {
+            LocalServer.respond(503, "unavailable").handle(exchange);
+          }
+        });
+
+    EventSource eventSource = source("/flaky", Duration.ofMillis(10)).open();
+    Thread.sleep(500);
+    eventSource.close();
+
+    // one stream, then failures after 0, 100 and 200 milliseconds
+    assertTrue(eventSource.getConnections() >= 3);
+    assertTrue(eventSource.getConnections() <= 5);
+  }
+
+  @Test
+  public void test_server_retry_is_capped() throws Exception {
+    localServer.handle(
+        "/patient",
+        exchange -> {
+          if (requests.incrementAndGet() == 1) {
+            try (OutputStream outputStream = open(exchange)) {
+              outputStream.write(
+                  "retry: 99999999999999999\ndata: once\n\n".getBytes(StandardCharsets.UTF_8));
+            }
+          } else {
+            LocalServer.respond(204, "").handle(exchange);
+          }
+        });
+
+    EventSource eventSource =
+        new EventSource.EventSourceBuilder()
+            .setCriteria(
+                new HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder()
+                    .setURL(localServer.url("/patient"))
+                    .setUserAgent("Mozilla/5.0")
+                    .setHTTPMethod(HTTPMethod.GET)
+                    .build())
+            .setListener(listener)
+            .setRetry(Duration.ofMillis(10))
+            .setMaxRetry(Duration.ofMillis(50))
+            .build()
+            .open();
+
+    awaitClosed(eventSource);
+    assertEquals(2, eventSource.getConnections());
+  }
+
+  @Test
+  public void test_other_content_type_closes() throws Exception {
+    localServer.handle("/page", LocalServer.respond(200, "<html></html>"));
+
+    EventSource eventSource = source("/page", Duration.ofMillis(10)).open();
+
+    awaitClosed(eventSource);
+    assertEquals(1, eventSource.getConnections());
+    assertEquals(1, errors.size());
+    assertTrue(errors.get(0).getMessage().contains("content type"));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void test_open_twice() throws Exception {
+    localServer.handle("/gone", LocalServer.respond(204, ""));
+    EventSource eventSource = source("/gone", Duration.ofMillis(10));
+    eventSource.open();
+    eventSource.open();
+  }
+
+  private EventSource source(String path, Duration retry) {
+    return new EventSource.EventSourceBuilder()
+        .setCriteria(
+            new HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder()
+                .setURL(localServer.url(path))
+                .setUserAgent("Mozilla/5.0")
+                .setHTTPMethod(HTTPMethod.GET)
+                .build())
+        .setListener(listener)
+        .setRetry(retry)
+        .setMaxRetry(Duration.ofMinutes(1))
+        .build();
+  }
+
+  private static OutputStream open(HttpExchange exchange) throws IOException {
+    exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+    exchange.sendResponseHeaders(200, 0);
+    return exchange.getResponseBody();
+  }
+
+  private static void awaitClosed(EventSource eventSource) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!eventSource.isClosed() && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertTrue(eventSource.isClosed());
+  }
+}
@@ -20,9 +20,11 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import com.fluffyluffs.httpretriever4j.Header;
 import com.fluffyluffs.httpretriever4j.HttpRetrieverAuthorization;
 import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria;
 import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria.HTTPMethod;
+import com.fluffyluffs.httpretriever4j.QueryParameter;
 import java.net.MalformedURLException;
 import java.util.NoSuchElementException;
 import java.util.regex.Pattern;
@@ -89,4 +91,24 @@ public class TestHttpRetriever {
     assertFalse(httpRetrieverCriteria.getUserAgent().isEmpty());
     assertEquals("GET", httpRetrieverCriteria.gethTTPMethod().name());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void test_httpRetrieverCriteria_toBuilder() throws MalformedURLException {
+    HttpRetrieverCriteria httpRetrieverCriteria =
+        new HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder()
+            .setURL("http://cabbage.com/api/v1/")
+            .setUserAgent("Mozzila/5.0")
+            .setHTTPMethod(HTTPMethod.GET)
+            .setQueryParameter(new QueryParameter("page", "2"))
+            .setHeader(new Header("X-Trace", "abc"))
+            .build();
+
+    HttpRetrieverCriteria derived =
+        httpRetrieverCriteria.toBuilder().setHeader(new Header("If-None-Match", "\"v1\"")).build();
+
+    assertEquals("http://cabbage.com/api/v1/?page=2", derived.getUrl().toExternalForm());
+    assertEquals(2, derived.getHeaders().size());
+    assertEquals(1, httpRetrieverCriteria.getHeaders().size());
+    assertEquals("GET", derived.gethTTPMethod().name());
+  }
+}
@@ -15,6 +15,7 @@
  */
 package com.fluffyluffs.httpretriever4j.test;
 
+import com.fluffyluffs.httpretriever4j.CredentialsProvider;
 import com.fluffyluffs.httpretriever4j.HttpRetriever;
 import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria;
 import com.fluffyluffs.httpretriever4j.Utils;
@@ -24,6 +25,14 @@ import java.io.IOException;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Assert;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -166,6 +175,201 @@ public class TestHttpRetriverImpl {
     assertEquals(responseString, repsonse);
   }
 
+  @Test
+  public void test_response_code_200_publish() throws IOException, Exception {
+
+    String responseString = "{\"name\": \"Cabbage\"}";
+
+    URL mockURL = mock(URL.class);
+    HttpURLConnection mockHttpURLConnection = Mockito.mock(HttpURLConnection.class);
+    when(mockURL.openConnection()).thenReturn(mockHttpURLConnection);
+
+    doNothing().when(mockHttpURLConnection).connect();
+    when(mockHttpURLConnection.getResponseCode()).thenReturn(200);
+    doReturn(new ByteArrayInputStream(responseString.getBytes("UTF-8")))
+        .when(mockHttpURLConnection)
+        .getInputStream();
+
+    HttpRetrieverCriteria mockHttpRetrieverCriteria = mock(HttpRetrieverCriteria.class);
+    when(mockHttpRetrieverCriteria.getUrl()).thenReturn(mockURL);
+    when(mockHttpRetrieverCriteria.getUserAgent()).thenReturn("Mozzila/5.0");
+    when(mockHttpRetrieverCriteria.gethTTPMethod())
+        .thenReturn(HttpRetrieverCriteria.HTTPMethod.GET);
+
+    ByteArrayOutputStream received = new ByteArrayOutputStream();
+    CompletableFuture<Void> completion = new CompletableFuture<>();
+    new HttpRetriever(mockHttpRetrieverCriteria)
+        .publish()
+        .subscribe(
+            new Flow.Subscriber<ByteBuffer>() {
+              private Flow.Subscription subscription;
+
+              @Override
+              public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(1);
+              }
+
+              @Override
+              public void onNext(ByteBuffer item) {
+                byte[] bytes = new byte[item.remaining()];
+                item.get(bytes);
+                received.writeBytes(bytes);
+                subscription.request(1);
+              }
+
+              @Override
+              public void onError(Throwable throwable) {
+                completion.completeExceptionally(throwable);
+              }
+
+              @Override
+              public void onComplete() {
+                completion.complete(null);
+              }
+            });
+
+    completion.get(5, TimeUnit.SECONDS);
+    assertEquals(responseString, received.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void test_publish_non_positive_request_is_signalled_serially() throws Exception {
+
+    URL mockURL = mock(URL.class);
+    HttpURLConnection mockHttpURLConnection = Mockito.mock(HttpURLConnection.class);
+    when(mockURL.openConnection()).thenReturn(mockHttpURLConnection);
+
+    doNothing().when(mockHttpURLConnection).connect();
+    when(mockHttpURLConnection.getResponseCode()).thenReturn(200);
+    doReturn(new ByteArrayInputStream(new byte[20_000]))
+        .when(mockHttpURLConnection)
+        .getInputStream();
+
+    HttpRetrieverCriteria mockHttpRetrieverCriteria = mock(HttpRetrieverCriteria.class);
+    when(mockHttpRetrieverCriteria.getUrl()).thenReturn(mockURL);
+    when(mockHttpRetrieverCriteria.getUserAgent()).thenReturn("Mozzila/5.0");
+    when(mockHttpRetrieverCriteria.gethTTPMethod())
+        .thenReturn(HttpRetrieverCriteria.HTTPMethod.GET);
+
+    AtomicBoolean inOnNext = new AtomicBoolean();
+    AtomicInteger signals = new AtomicInteger();
+    CompletableFuture<Throwable> error = new CompletableFuture<>();
+    new HttpRetriever(mockHttpRetrieverCriteria)
+        .publish()
+        .subscribe(
+            new Flow.Subscriber<ByteBuffer>() {
+              private Flow.Subscription subscription;
+
+              @Override
+              public void onSubscribe(Flow.Subscription subscription) {
+                this.subscription = subscription;
+                subscription.request(2);
+              }
+
+              @Override
+              public void onNext(ByteBuffer item) {
+                inOnNext.set(true);
+                signals.incrementAndGet();
+                subscription.request(0);
+                inOnNext.set(false);
+              }
+
+              @Override
+              public void onError(Throwable throwable) {
+                signals.incrementAndGet();
+                error.complete(
+                    inOnNext.get() ? new AssertionError("onError within onNext") : throwable);
+              }
+
+              @Override
+              public void onComplete() {
+                error.complete(new AssertionError("Completed after an illegal request"));
+              }
+            });
+
+    assertTrue(error.get(5, TimeUnit.SECONDS) instanceof IllegalArgumentException);
+    // the second chunk already requested is not delivered once the request is refused
+    assertEquals(2, signals.get());
+  }
+
+  @Test
+  public void test_response_code_200_post_body_publisher() throws IOException, Exception {
+
+    String bodyContent = "{\"Version\": 1}";
+    String responseString = "{\"name\": \"Cabbage\"}";
+
+    URL mockURL = mock(URL.class);
+    HttpURLConnection mockHttpURLConnection = Mockito.mock(HttpURLConnection.class);
+    when(mockURL.openConnection()).thenReturn(mockHttpURLConnection);
+
+    doNothing().when(mockHttpURLConnection).connect();
+    doReturn(new ByteArrayInputStream(responseString.getBytes("UTF-8")))
+        .when(mockHttpURLConnection)
+        .getInputStream();
+    when(mockHttpURLConnection.getResponseCode()).thenReturn(200);
+
+    ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+    when(mockHttpURLConnection.getOutputStream()).thenReturn(byteArrayOutputStream);
+
+    SubmissionPublisher<ByteBuffer> bodyPublisher = new SubmissionPublisher<>();
+    HttpRetrieverCriteria mockHttpRetrieverCriteria = mock(HttpRetrieverCriteria.class);
+    when(mockHttpRetrieverCriteria.getUrl()).thenReturn(mockURL);
+    when(mockHttpRetrieverCriteria.getUserAgent()).thenReturn("Mozzila/5.0");
+    when(mockHttpRetrieverCriteria.gethTTPMethod())
+        .thenReturn(HttpRetrieverCriteria.HTTPMethod.POST);
+    when(mockHttpRetrieverCriteria.getBodyPublisher()).thenReturn(bodyPublisher);
+
+    CompletableFuture.runAsync(
+        () -> {
+          while (bodyPublisher.getNumberOfSubscribers() == 0) {
+            Thread.onSpinWait();
+          }
+          byte[] bytes = bodyContent.getBytes(StandardCharsets.UTF_8);
+          bodyPublisher.submit(ByteBuffer.wrap(bytes, 0, 5));
+          bodyPublisher.submit(ByteBuffer.wrap(bytes, 5, bytes.length - 5));
+          bodyPublisher.close();
+        });
+
+    String repsonse = new HttpRetriever(mockHttpRetrieverCriteria).retrieve(Utils::convertToString);
+    assertEquals(responseString, repsonse);
+    assertEquals(bodyContent, byteArrayOutputStream.toString(StandardCharsets.UTF_8));
+  }
+
+  @Test
+  public void test_response_code_401_retried_with_renewed_credentials()
+      throws IOException, Exception {
+
+    String responseString = "{\"name\": \"Cabbage\"}";
+
+    URL mockURL = mock(URL.class);
+    HttpURLConnection rejectedConnection = Mockito.mock(HttpURLConnection.class);
+    HttpURLConnection mockHttpURLConnection = Mockito.mock(HttpURLConnection.class);
+    when(mockURL.openConnection()).thenReturn(rejectedConnection, mockHttpURLConnection);
+
+    when(rejectedConnection.getResponseCode()).thenReturn(401);
+    when(mockHttpURLConnection.getResponseCode()).thenReturn(200);
+    doReturn(new ByteArrayInputStream(responseString.getBytes("UTF-8")))
+        .when(mockHttpURLConnection)
+        .getInputStream();
+
+    CredentialsProvider credentialsProvider = mock(CredentialsProvider.class);
+    when(credentialsProvider.getAuthorization()).thenReturn("Bearer stale", "Bearer fresh");
+    when(credentialsProvider.invalidate("Bearer stale")).thenReturn(true);
+
+    HttpRetrieverCriteria mockHttpRetrieverCriteria = mock(HttpRetrieverCriteria.class);
+    when(mockHttpRetrieverCriteria.getUrl()).thenReturn(mockURL);
+    when(mockHttpRetrieverCriteria.getUserAgent()).thenReturn("Mozzila/5.0");
+    when(mockHttpRetrieverCriteria.gethTTPMethod())
+        .thenReturn(HttpRetrieverCriteria.HTTPMethod.GET);
+    when(mockHttpRetrieverCriteria.getCredentialsProvider()).thenReturn(credentialsProvider);
+
+    String repsonse = new HttpRetriever(mockHttpRetrieverCriteria).retrieve(Utils::convertToString);
+    assertEquals(responseString, repsonse);
+    Mockito.verify(rejectedConnection).setRequestProperty("Authorization", "Bearer stale");
+    Mockito.verify(mockHttpURLConnection).setRequestProperty("Authorization", "Bearer fresh");
+  }
+
   @Test
   public void test_response_code_unexpected_get() throws IOException, Exception {
 
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria.HTTPMethod;
+import java.time.Duration;
+import org.junit.Test;
+
+/** TestLoadGenerator */
+public class TestLoadGenerator {
+
+  @Test
+  public void test_histogram_percentiles() {
+    LatencyHistogram latencyHistogram = new LatencyHistogram();
+    for (int i = 1; i <= 1000; i++) {
+      latencyHistogram.record(i * 1000L);
+    }
+
+    assertEquals(1000, latencyHistogram.getCount());
+    assertEquals(1000, latencyHistogram.getMaxMicros());
+    assertEquals(500, latencyHistogram.getPercentileMicros(50), 4);
+    assertEquals(990, latencyHistogram.getPercentileMicros(99), 8);
+  }
+
+  @Test
+  public void test_open_loop_run_against_local_server() throws Exception {
+    try (LocalServer localServer =
+        new LocalServer(4)
+            .handle("/ok", LocalServer.respond(200, "ok"))
+            .handle("/missing", LocalServer.respond(404, "gone"))) {
+      LoadGenerator.LoadReport loadReport =
+          new LoadGenerator.LoadGeneratorBuilder()
+              .addTemplate(criteria(localServer.url("/ok")), 3)
+              .addTemplate(criteria(localServer.url("/missing")), 1)
+              .setRate(200)
+              .setDuration(Duration.ofSeconds(1))
+              .setWarmup(Duration.ZERO)
+              .setThreads(8)
+              .build()
+              .run();
+
+      assertEquals(200, loadReport.getSent());
+      assertEquals(200, loadReport.getCompleted());
+      assertTrue(loadReport.getErrors() > 0 && loadReport.getErrors() < 200);
+      assertTrue(
+          loadReport.getLatency().getPercentileMicros(99)
+              >= loadReport.getServiceTime().getPercentileMicros(99));
+    }
+  }
+
+  private static HttpRetrieverCriteria criteria(String url) {
+    return new HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder()
+        .setURL(url)
+        .setUserAgent("Mozilla/5.0")
+        .setHTTPMethod(HTTPMethod.GET)
+        .build();
+  }
+}
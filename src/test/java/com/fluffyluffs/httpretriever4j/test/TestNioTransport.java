@@ -0,0 +1,359 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.fluffyluffs.httpretriever4j.BodyHandlers;
+import com.fluffyluffs.httpretriever4j.HttpRetriever;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria.HTTPMethod;
+import com.fluffyluffs.httpretriever4j.HttpTransport;
+import com.fluffyluffs.httpretriever4j.NioTransport;
+import com.fluffyluffs.httpretriever4j.TransportExchange;
+import com.fluffyluffs.httpretriever4j.TransportRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** TestNioTransport */
+public class TestNioTransport {
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicInteger maxInFlight = new AtomicInteger();
+  private final byte[] large = new byte[2 * 1024 * 1024];
+
+  private LocalServer localServer;
+  private NioTransport nioTransport;
+
+  @Before
+  public void setUp() throws Exception {
+    for (int i = 0; i < large.length; i++) {
+      large[i] = (byte) (i * 31);
+    }
+    localServer = new LocalServer(16);
+    localServer.handle("/hello", LocalServer.respond(200, "hello"));
+    localServer.handle("/missing", LocalServer.respond(404, "gone"));
+    localServer.handle(
+        "/echo",
+        exchange -> {
+          byte[] body = exchange.getRequestBody().readAllBytes();
+          exchange.sendResponseHeaders(200, body.length);
+          try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(body);
+          }
+        });
+    localServer.handle(
+        "/large",
+        exchange -> {
+          // chunked, as no length is given
+          exchange.sendResponseHeaders(200, 0);
+          try (OutputStream outputStream = exchange.getResponseBody()) {
+            for (int offset = 0; offset < large.length; offset += 10000) {
+              outputStream.write(large, offset, Math.min(10000, large.length - offset));
+            }
+          }
+        });
+    localServer.handle(
+        "/slow",
+        exchange -> {
+          int current = inFlight.incrementAndGet();
+          maxInFlight.accumulateAndGet(current, Math::max);
+          try {
+            Thread.sleep(50);
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+          }
+          inFlight.decrementAndGet();
+          LocalServer.respond(200, "slow").handle(exchange);
+        });
+    localServer.handle(
+        "/close",
+        exchange -> {
+          exchange.getResponseHeaders().set("Connection", "close");
+          LocalServer.respond(200, "closed").handle(exchange);
+        });
+
+    nioTransport = new NioTransport.NioTransportBuilder().setMaxConnectionsPerHost(4).build();
+  }
+
+  @After
+  public void tearDown() {
+    nioTransport.close();
+    localServer.close();
+  }
+
+  @Test
+  public void test_connection_is_kept_alive() {
+    for (int i = 0; i < 20; i++) {
+      assertEquals("hello", get("/hello"));
+    }
+
+    assertEquals(20, nioTransport.getRequests());
+    assertEquals(1, nioTransport.getConnectionsOpened());
+    assertEquals(1, nioTransport.getOpenConnections());
+  }
+
+  @Test
+  public void test_published_body_keeps_connection_alive() throws Exception {
+    AtomicInteger aborts = new AtomicInteger();
+    HttpTransport counting =
+        request -> {
+          TransportExchange exchange = nioTransport.send(request);
+          return new TransportExchange() {
+            @Override
+            public int getStatusCode() throws IOException {
+              return exchange.getStatusCode();
+            }
+
+            @Override
+            public Map<String, List<String>> getHeaders() {
+              return exchange.getHeaders();
+            }
+
+            @Override
+            public long getContentLength() {
+              return exchange.getContentLength();
+            }
+
+            @Override
+            public InputStream getBody() throws IOException {
+              return exchange.getBody();
+            }
+
+            @Override
+            public void abort() {
+              aborts.incrementAndGet();
+              exchange.abort();
+            }
+          };
+        };
+
+    for (int i = 0; i < 3; i++) {
+      CompletableFuture<String> body = new CompletableFuture<>();
+      StringBuilder received = new StringBuilder();
+      new HttpRetriever(
+              new HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder()
+                  .setURL(localServer.url("/hello"))
+                  .setUserAgent("Mozilla/5.0")
+                  .setHTTPMethod(HTTPMethod.GET)
+                  .setTransport(counting)
+                  .build())
+          .publish()
+          .subscribe(
+              new Flow.Subscriber<ByteBuffer>() {
+                @Override
+                public void onSubscribe(Flow.Subscription subscription) {
+                  subscription.request(Long.MAX_VALUE);
+                }
+
+                @Override
+                public void onNext(ByteBuffer item) {
+                  received.append(StandardCharsets.UTF_8.decode(item));
+                }
+
+                @Override
+                public void onError(Throwable throwable) {
+                  body.completeExceptionally(throwable);
+                }
+
+                @Override
+                public void onComplete() {
+                  body.complete(received.toString());
+                }
+              });
+      assertEquals("hello", body.get(5, TimeUnit.SECONDS));
+    }
+    // a body read to its end is closed rather than aborted, so the connection is reused
+    assertEquals(0, aborts.get());
+    assertEquals(1, nioTransport.getConnectionsOpened());
+  }
+
+  @Test
+  public void test_post_body_is_sent() {
+    assertEquals(
+        "{\"name\":\"Cabbage\"}",
+        retriever("/echo", HTTPMethod.POST, "{\"name\":\"Cabbage\"}")
+            .retrieveWith(BodyHandlers.ofString()));
+  }
+
+  @Test
+  public void test_chunked_body_larger_than_queue() throws Exception {
+    try (InputStream inputStream = retriever("/large", HTTPMethod.GET, null).retrieve()) {
+      assertArrayEquals(large, inputStream.readAllBytes());
+    }
+    // the connection is reused once the chunked body has been read to the end
+    assertEquals("hello", get("/hello"));
+    assertEquals(1, nioTransport.getConnectionsOpened());
+  }
+
+  @Test
+  public void test_unsuccessful_response_is_empty() throws Exception {
+    try (InputStream inputStream = retriever("/missing", HTTPMethod.GET, null).retrieve()) {
+      assertEquals(0, inputStream.readAllBytes().length);
+    }
+  }
+
+  @Test
+  public void test_connections_are_limited_per_host() throws Exception {
+    HttpRetriever httpRetriever = retriever("/slow", HTTPMethod.GET, null);
+    ExecutorService executorService = Executors.newFixedThreadPool(16);
+    try {
+      List<Future<String>> futures = new ArrayList<>();
+      for (int i = 0; i < 32; i++) {
+        futures.add(
+            executorService.submit(() -> httpRetriever.retrieveWith(BodyHandlers.ofString())));
+      }
+      for (Future<String> future : futures) {
+        assertEquals("slow", future.get(30, TimeUnit.SECONDS));
+      }
+    } finally {
+      executorService.shutdownNow();
+    }
+
+    assertTrue(maxInFlight.get() <= 4);
+    assertTrue(nioTransport.getConnectionsOpened() <= 4);
+  }
+
+  @Test
+  public void test_connection_close_is_honoured() {
+    for (int i = 0; i < 3; i++) {
+      assertEquals("closed", get("/close"));
+    }
+
+    assertEquals(3, nioTransport.getConnectionsOpened());
+  }
+
+  @Test
+  public void test_refused_connection_fails() throws Exception {
+    int port;
+    try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      port = serverSocket.getLocalPort();
+    }
+    TransportExchange exchange =
+        nioTransport.send(
+            new TransportRequest.TransportRequestBuilder()
+                .setMethod("GET")
+                .setUrl(new URL("http://127.0.0.1:" + port + "/"))
+                .build());
+    try {
+      exchange.getStatusCode();
+      fail("Expected IOException");
+    } catch (IOException ex) {
+      assertEquals(0, nioTransport.getOpenConnections());
+    }
+  }
+
+  @Test
+  public void test_requests_are_pipelined() throws Exception {
+    NioTransport pipelining =
+        new NioTransport.NioTransportBuilder()
+            .setMaxConnectionsPerHost(1)
+            .setPipelineDepth(2)
+            .build();
+    try (ServerSocket serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+      // answers only once both requests have arrived, which only pipelining allows
+      Thread server =
+          new Thread(
+              () -> {
+                try (Socket socket = serverSocket.accept()) {
+                  InputStream inputStream = socket.getInputStream();
+                  StringBuilder received = new StringBuilder();
+                  while (received.toString().split("\r\n\r\n", -1).length < 3) {
+                    int read = inputStream.read();
+                    if (read < 0) {
+                      return;
+                    }
+                    received.append((char) read);
+                  }
+                  OutputStream outputStream = socket.getOutputStream();
+                  outputStream.write(
+                      ("HTTP/1.1 200 OK\r\nContent-Length: 5\r\n\r\nfirst"
+                              + "HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n\r\n"
+                              + "3\r\nsec\r\n3;ext=1\r\nond\r\n0\r\n\r\n")
+                          .getBytes(StandardCharsets.ISO_8859_1));
+                  outputStream.flush();
+                  Thread.sleep(1000);
+                } catch (IOException | InterruptedException ex) {
+                  // the test fails on the client side
+                }
+              });
+      server.setDaemon(true);
+      server.start();
+
+      String url = "http://127.0.0.1:" + serverSocket.getLocalPort();
+      TransportExchange first = pipelining.send(request(url + "/first"));
+      TransportExchange second = pipelining.send(request(url + "/second"));
+
+      assertEquals(200, first.getStatusCode());
+      assertEquals(200, second.getStatusCode());
+      try (InputStream inputStream = first.getBody()) {
+        assertEquals("first", new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+      }
+      try (InputStream inputStream = second.getBody()) {
+        assertEquals("second", new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+      }
+      assertEquals(1, pipelining.getConnectionsOpened());
+    } finally {
+      pipelining.close();
+    }
+  }
+
+  private static TransportRequest request(String url) throws IOException {
+    return new TransportRequest.TransportRequestBuilder()
+        .setMethod("GET")
+        .setUrl(new URL(url))
+        .build();
+  }
+
+  private String get(String path) {
+    return retriever(path, HTTPMethod.GET, null).retrieveWith(BodyHandlers.ofString());
+  }
+
+  private HttpRetriever retriever(String path, HTTPMethod method, String body) {
+    return new HttpRetriever(
+        new HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder()
+            .setURL(localServer.url(path))
+            .setUserAgent("Mozilla/5.0")
+            .setHTTPMethod(method)
+            .setBody(body)
+            .setTransport(nioTransport)
+            .build());
+  }
+}
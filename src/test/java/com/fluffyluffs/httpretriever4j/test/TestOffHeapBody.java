@@ -0,0 +1,214 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j.test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.fluffyluffs.httpretriever4j.BodyHandlers;
+import com.fluffyluffs.httpretriever4j.BodyLimits;
+import com.fluffyluffs.httpretriever4j.BodyTooLargeException;
+import com.fluffyluffs.httpretriever4j.HttpRetriever;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria.HTTPMethod;
+import com.fluffyluffs.httpretriever4j.OffHeapAllocator;
+import com.fluffyluffs.httpretriever4j.OffHeapBody;
+import com.sun.net.httpserver.HttpExchange;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/** TestOffHeapBody */
+public class TestOffHeapBody {
+
+  private static final byte[] BODY = new byte[50_000];
+
+  private static LocalServer localServer;
+
+  @BeforeClass
+  public static void setUpClass() throws Exception {
+    new Random(7).nextBytes(BODY);
+    localServer =
+        new LocalServer(2)
+            .handle("/sized", exchange -> send(exchange, BODY.length))
+            .handle("/chunked", exchange -> send(exchange, 0))
+            .handle("/hostile", exchange -> send(exchange, 1L << 30))
+            .handle("/missing", LocalServer.respond(404, "missing"));
+  }
+
+  private static void send(HttpExchange exchange, long length) throws IOException {
+    exchange.sendResponseHeaders(200, length);
+    try (OutputStream outputStream = exchange.getResponseBody()) {
+      outputStream.write(BODY);
+    }
+  }
+
+  @AfterClass
+  public static void tearDownClass() {
+    localServer.close();
+  }
+
+  @Test
+  public void test_body_is_read_off_heap() throws IOException {
+    OffHeapAllocator offHeapAllocator = new OffHeapAllocator.OffHeapAllocatorBuilder().build();
+
+    for (String path : new String[] {"/sized", "/chunked"}) {
+      try (OffHeapBody offHeapBody =
+          retriever(path).retrieveWith(BodyHandlers.ofOffHeap(offHeapAllocator))) {
+        ByteBuffer view = offHeapBody.asByteBuffer();
+        assertTrue(view.isDirect());
+        assertTrue(view.isReadOnly());
+        assertEquals(BODY.length, offHeapBody.size());
+
+        byte[] bytes = new byte[view.remaining()];
+        view.get(bytes);
+        assertArrayEquals(BODY, bytes);
+        try (InputStream inputStream = offHeapBody.asInputStream()) {
+          assertArrayEquals(BODY, inputStream.readAllBytes());
+        }
+        assertEquals(65_536, offHeapAllocator.getUsedBytes());
+      }
+      assertEquals(0, offHeapAllocator.getUsedBytes());
+    }
+  }
+
+  @Test
+  public void test_released_blocks_are_reused() {
+    OffHeapAllocator offHeapAllocator =
+        new OffHeapAllocator.OffHeapAllocatorBuilder().setSlabSize(1 << 16).build();
+
+    OffHeapBody first = retriever("/sized").retrieveWith(BodyHandlers.ofOffHeap(offHeapAllocator));
+    first.release();
+    first.release();
+    OffHeapBody second =
+        retriever("/sized").retrieveWith(BodyHandlers.ofOffHeap(offHeapAllocator));
+
+    assertEquals(1 << 16, offHeapAllocator.getReservedBytes());
+    assertEquals(1 << 16, offHeapAllocator.getUsedBytes());
+    second.release();
+    assertEquals(0, offHeapAllocator.getUsedBytes());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void test_released_body_cannot_be_read() {
+    OffHeapAllocator offHeapAllocator = new OffHeapAllocator.OffHeapAllocatorBuilder().build();
+    OffHeapBody offHeapBody =
+        retriever("/sized").retrieveWith(BodyHandlers.ofOffHeap(offHeapAllocator));
+    offHeapBody.release();
+    offHeapBody.asByteBuffer();
+  }
+
+  @Test
+  public void test_stream_opened_before_release_fails_after() throws IOException {
+    OffHeapAllocator offHeapAllocator = new OffHeapAllocator.OffHeapAllocatorBuilder().build();
+    OffHeapBody offHeapBody =
+        retriever("/sized").retrieveWith(BodyHandlers.ofOffHeap(offHeapAllocator));
+    InputStream inputStream = offHeapBody.asInputStream();
+    assertEquals(BODY[0] & 0xFF, inputStream.read());
+
+    offHeapBody.release();
+    try {
+      inputStream.read(new byte[16]);
+      fail("Expected the released body to be unreadable");
+    } catch (IOException ex) {
+      assertEquals("Off-heap body has been released.", ex.getMessage());
+    }
+  }
+
+  @Test
+  public void test_capacity_is_bounded() {
+    OffHeapAllocator offHeapAllocator =
+        new OffHeapAllocator.OffHeapAllocatorBuilder()
+            .setSlabSize(1 << 16)
+            .setMaxCapacity(1 << 16)
+            .build();
+
+    try (OffHeapBody offHeapBody =
+        retriever("/sized").retrieveWith(BodyHandlers.ofOffHeap(offHeapAllocator))) {
+      assertEquals(BODY.length, offHeapBody.size());
+      retriever("/sized").retrieveWith(BodyHandlers.ofOffHeap(offHeapAllocator));
+    } catch (IllegalStateException ex) {
+      assertEquals(0, offHeapAllocator.getUsedBytes());
+      return;
+    }
+    throw new AssertionError("Expected the off-heap capacity to be exhausted");
+  }
+
+  @Test
+  public void test_declared_length_over_limit_takes_no_memory() {
+    OffHeapAllocator offHeapAllocator = new OffHeapAllocator.OffHeapAllocatorBuilder().build();
+    HttpRetriever httpRetriever =
+        new HttpRetriever(
+            criteria("/sized")
+                .setBodyLimits(new BodyLimits.BodyLimitsBuilder().setMaxBodySize(1_000).build())
+                .build());
+
+    try {
+      httpRetriever.retrieveWith(BodyHandlers.ofOffHeap(offHeapAllocator));
+      throw new AssertionError("Expected the body to be refused");
+    } catch (RuntimeException ex) {
+      assertTrue(ex.getCause() instanceof BodyTooLargeException);
+    }
+    assertEquals(0, offHeapAllocator.getReservedBytes());
+    assertEquals(0, offHeapAllocator.getUsedBytes());
+  }
+
+  @Test
+  public void test_presize_is_bounded_by_slab() {
+    OffHeapAllocator offHeapAllocator = new OffHeapAllocator.OffHeapAllocatorBuilder().build();
+
+    // the server declares 1 GiB but sends far less
+    try (OffHeapBody offHeapBody =
+        retriever("/hostile").retrieveWith(BodyHandlers.ofOffHeap(offHeapAllocator))) {
+      assertTrue(offHeapBody.size() <= BODY.length);
+    } catch (RuntimeException ex) {
+      assertTrue(ex.getCause() instanceof IOException);
+    }
+    assertTrue(offHeapAllocator.getReservedBytes() <= 1 << 20);
+    assertEquals(0, offHeapAllocator.getUsedBytes());
+  }
+
+  @Test
+  public void test_unsuccessful_response_takes_no_memory() {
+    OffHeapAllocator offHeapAllocator = new OffHeapAllocator.OffHeapAllocatorBuilder().build();
+
+    try (OffHeapBody offHeapBody =
+        retriever("/missing").retrieveWith(BodyHandlers.ofOffHeap(offHeapAllocator))) {
+      assertEquals(0, offHeapBody.size());
+      assertEquals(0, offHeapAllocator.getReservedBytes());
+    }
+    assertEquals(0, offHeapAllocator.getUsedBytes());
+  }
+
+  private static HttpRetriever retriever(String path) {
+    return new HttpRetriever(criteria(path).build());
+  }
+
+  private static HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder criteria(String path) {
+    return new HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder()
+        .setURL(localServer.url(path))
+        .setUserAgent("Mozilla/5.0")
+        .setHTTPMethod(HTTPMethod.GET);
+  }
+}
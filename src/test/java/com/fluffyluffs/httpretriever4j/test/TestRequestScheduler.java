@@ -0,0 +1,175 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.fluffyluffs.httpretriever4j.RequestPriority;
+import com.fluffyluffs.httpretriever4j.RequestScheduler;
+import com.fluffyluffs.httpretriever4j.SchedulerMetrics;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** TestRequestScheduler */
+public class TestRequestScheduler {
+
+  private final List<String> order = Collections.synchronizedList(new ArrayList<>());
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  private RequestScheduler requestScheduler;
+
+  @Before
+  public void setUp() throws InterruptedException {
+    requestScheduler =
+        new RequestScheduler.RequestSchedulerBuilder()
+            .setMaxConcurrency(1)
+            .setQueueCapacity(RequestPriority.BACKGROUND, 4)
+            .setTenantWeight("heavy", 3)
+            .build();
+
+    // park the single worker so everything after this queues up
+    CountDownLatch parked = new CountDownLatch(1);
+    requestScheduler.submit(
+        () -> {
+          parked.countDown();
+          return release.await(5, TimeUnit.SECONDS);
+        },
+        RequestPriority.NORMAL,
+        null);
+    parked.await(5, TimeUnit.SECONDS);
+  }
+
+  @After
+  public void tearDown() {
+    release.countDown();
+    requestScheduler.shutdown();
+  }
+
+  @Test
+  public void test_interactive_overtakes_background() throws Exception {
+    CompletableFuture<Void> background = record("background", RequestPriority.BACKGROUND, "a");
+    CompletableFuture<Void> normal = record("normal", RequestPriority.NORMAL, "a");
+    CompletableFuture<Void> interactive = record("interactive", RequestPriority.INTERACTIVE, "a");
+
+    release.countDown();
+    CompletableFuture.allOf(background, normal, interactive).get(5, TimeUnit.SECONDS);
+
+    assertEquals(List.of("interactive", "normal", "background"), order);
+  }
+
+  @Test
+  public void test_weighted_fair_share_within_class() throws Exception {
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      futures.add(record("heavy", RequestPriority.NORMAL, "heavy"));
+      futures.add(record("light", RequestPriority.NORMAL, "light"));
+    }
+
+    release.countDown();
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+    List<String> firstEight = order.subList(0, 8);
+    assertEquals(6, Collections.frequency(firstEight, "heavy"));
+    assertEquals(2, Collections.frequency(firstEight, "light"));
+  }
+
+  @Test
+  public void test_full_queue_rejects() throws Exception {
+    for (int i = 0; i < 4; i++) {
+      record("background", RequestPriority.BACKGROUND, "a");
+    }
+    try {
+      record("background", RequestPriority.BACKGROUND, "a");
+      fail("Expected RejectedExecutionException");
+    } catch (RejectedExecutionException ex) {
+      // expected
+    }
+
+    SchedulerMetrics schedulerMetrics = requestScheduler.getMetrics(RequestPriority.BACKGROUND);
+    assertEquals(4, schedulerMetrics.getQueued());
+    assertEquals(4, schedulerMetrics.getSubmitted());
+    assertEquals(1, schedulerMetrics.getRejected());
+  }
+
+  @Test
+  public void test_background_burst_leaves_interactive_worker() throws Exception {
+    RequestScheduler scheduler =
+        new RequestScheduler.RequestSchedulerBuilder().setMaxConcurrency(4).build();
+    CountDownLatch backgroundRelease = new CountDownLatch(1);
+    try {
+      List<CompletableFuture<Boolean>> background = new ArrayList<>();
+      for (int i = 0; i < 20; i++) {
+        background.add(
+            scheduler.submit(
+                () -> backgroundRelease.await(5, TimeUnit.SECONDS),
+                RequestPriority.BACKGROUND,
+                "a"));
+      }
+
+      long start = System.nanoTime();
+      assertEquals(
+          "interactive",
+          scheduler
+              .submit(() -> "interactive", RequestPriority.INTERACTIVE, "a")
+              .get(1, TimeUnit.SECONDS));
+      assertTrue(System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(500));
+      // one of the four workers is reserved, so only three took background work
+      Thread.sleep(100);
+      assertEquals(3, scheduler.getMetrics(RequestPriority.BACKGROUND).getStarted());
+
+      backgroundRelease.countDown();
+      CompletableFuture.allOf(background.toArray(CompletableFuture[]::new))
+          .get(5, TimeUnit.SECONDS);
+    } finally {
+      backgroundRelease.countDown();
+      scheduler.shutdown();
+    }
+  }
+
+  @Test
+  public void test_background_is_not_starved() throws Exception {
+    List<CompletableFuture<Void>> futures = new ArrayList<>();
+    futures.add(record("background", RequestPriority.BACKGROUND, "a"));
+    for (int i = 0; i < 40; i++) {
+      futures.add(record("interactive", RequestPriority.INTERACTIVE, "a"));
+    }
+
+    release.countDown();
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+
+    assertEquals(16, order.indexOf("background"));
+  }
+
+  private CompletableFuture<Void> record(String name, RequestPriority priority, String tenant) {
+    return requestScheduler.submit(
+        () -> {
+          order.add(name);
+          return null;
+        },
+        priority,
+        tenant);
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria.HTTPMethod;
+import com.fluffyluffs.httpretriever4j.ResourceListener;
+import com.fluffyluffs.httpretriever4j.ResourceSnapshot;
+import com.fluffyluffs.httpretriever4j.ResourceWatcher;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** TestResourceWatcher */
+public class TestResourceWatcher {
+
+  private final AtomicReference<String> content = new AtomicReference<>("v1");
+  private final AtomicInteger fullResponses = new AtomicInteger();
+  private final CountDownLatch stalled = new CountDownLatch(1);
+
+  private LocalServer localServer;
+  private ResourceWatcher resourceWatcher;
+
+  @Before
+  public void setUp() throws Exception {
+    localServer =
+        new LocalServer(2)
+            .handle(
+                "/etag",
+                exchange -> {
+                  String eTag = "\"" + content.get() + "\"";
+                  exchange.getResponseHeaders().add("ETag", eTag);
+                  if (eTag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    exchange.sendResponseHeaders(304, -1);
+                    exchange.close();
+                    return;
+                  }
+                  fullResponses.incrementAndGet();
+                  LocalServer.respond(200, content.get()).handle(exchange);
+                })
+            .handle(
+                "/plain",
+                exchange -> {
+                  fullResponses.incrementAndGet();
+                  LocalServer.respond(200, content.get()).handle(exchange);
+                })
+            .handle("/broken", LocalServer.respond(500, ""))
+            .handle(
+                "/stalled",
+                exchange -> {
+                  try {
+                    stalled.await(5, TimeUnit.SECONDS);
+                  } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                  }
+                  LocalServer.respond(200, "late").handle(exchange);
+                });
+    resourceWatcher = new ResourceWatcher.ResourceWatcherBuilder().setJitter(0).build();
+  }
+
+  @After
+  public void tearDown() {
+    stalled.countDown();
+    resourceWatcher.shutdown();
+    localServer.close();
+  }
+
+  @Test
+  public void test_unchanged_resource_costs_a_304() throws Exception {
+    List<String> changes = new CopyOnWriteArrayList<>();
+    ResourceWatcher.Watch watch =
+        resourceWatcher.watch(criteria("/etag"), Duration.ofMillis(20), recording(changes));
+
+    await(() -> watch.getNotModified() >= 3);
+    content.set("v2");
+    await(() -> changes.size() == 2);
+    watch.cancel();
+
+    assertEquals(List.of("v1", "v2"), changes);
+    assertEquals(2, fullResponses.get());
+    assertEquals("\"v2\"", watch.getCurrent().get().getETag().get());
+  }
+
+  @Test
+  public void test_content_hash_detects_changes_without_validators() throws Exception {
+    List<String> changes = new CopyOnWriteArrayList<>();
+    ResourceWatcher.Watch watch =
+        resourceWatcher.watch(criteria("/plain"), Duration.ofMillis(20), recording(changes));
+
+    await(() -> watch.getPolls() >= 4);
+    assertEquals(List.of("v1"), changes);
+
+    content.set("v2");
+    await(() -> changes.size() == 2);
+    watch.cancel();
+
+    assertEquals(List.of("v1", "v2"), changes);
+    assertEquals(0, watch.getNotModified());
+    assertEquals(64, watch.getCurrent().get().getContentHash().length());
+  }
+
+  @Test
+  public void test_errors_are_reported_and_polling_continues() throws Exception {
+    AtomicInteger errors = new AtomicInteger();
+    ResourceWatcher.Watch watch =
+        resourceWatcher.watch(
+            criteria("/broken"),
+            Duration.ofMillis(20),
+            new ResourceListener() {
+              @Override
+              public void onChange(ResourceSnapshot snapshot) {}
+
+              @Override
+              public void onError(Exception ex) {
+                errors.incrementAndGet();
+              }
+            });
+
+    await(() -> errors.get() >= 3);
+    watch.cancel();
+
+    assertTrue(watch.getCurrent().isEmpty());
+    assertEquals(0, watch.getChanges());
+  }
+
+  @Test
+  public void test_poll_timeout_bounds_a_stalled_upstream() throws Exception {
+    ResourceWatcher bounded =
+        new ResourceWatcher.ResourceWatcherBuilder()
+            .setJitter(0)
+            .setPollTimeout(Duration.ofMillis(200))
+            .build();
+    List<Exception> errors = new CopyOnWriteArrayList<>();
+    try {
+      long start = System.nanoTime();
+      ResourceWatcher.Watch watch =
+          bounded.watch(
+              criteria("/stalled"),
+              Duration.ofMillis(20),
+              new ResourceListener() {
+                @Override
+                public void onChange(ResourceSnapshot snapshot) {}
+
+                @Override
+                public void onError(Exception ex) {
+                  errors.add(ex);
+                }
+              });
+
+      await(() -> !errors.isEmpty());
+      watch.cancel();
+
+      assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+      assertTrue(watch.getCurrent().isEmpty());
+    } finally {
+      bounded.shutdown();
+    }
+  }
+
+  private static ResourceListener recording(List<String> changes) {
+    return snapshot -> {
+      ByteBuffer body = snapshot.getBody();
+      changes.add(StandardCharsets.UTF_8.decode(body).toString());
+    };
+  }
+
+  private static void await(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!condition.getAsBoolean()) {
+      assertTrue("Timed out waiting for the watch", System.nanoTime() < deadline);
+      Thread.sleep(5);
+    }
+  }
+
+  private HttpRetrieverCriteria criteria(String path) {
+    return new HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder()
+        .setURL(localServer.url(path))
+        .setUserAgent("Mozilla/5.0")
+        .setHTTPMethod(HTTPMethod.GET)
+        .build();
+  }
+}
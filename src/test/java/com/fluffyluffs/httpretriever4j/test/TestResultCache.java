@@ -0,0 +1,292 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.fluffyluffs.httpretriever4j.CacheMetrics;
+import com.fluffyluffs.httpretriever4j.Header;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria.HTTPMethod;
+import com.fluffyluffs.httpretriever4j.ResultCache;
+import com.fluffyluffs.httpretriever4j.ResultCache.EvictionPolicy;
+import com.fluffyluffs.httpretriever4j.Utils;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** TestResultCache */
+public class TestResultCache {
+
+  private final AtomicInteger requests = new AtomicInteger();
+  private final AtomicInteger parses = new AtomicInteger();
+  private final Function<InputStream, String> parser =
+      inputStream -> {
+        parses.incrementAndGet();
+        return Utils.convertToString(inputStream).toUpperCase();
+      };
+
+  private LocalServer localServer;
+
+  @Before
+  public void setUp() throws Exception {
+    localServer = new LocalServer(4);
+    for (String name : new String[] {"a", "b", "c"}) {
+      localServer.handle(
+          "/" + name,
+          exchange -> {
+            requests.incrementAndGet();
+            LocalServer.respond(200, name + requests.get()).handle(exchange);
+          });
+    }
+    localServer.handle("/missing", LocalServer.respond(404, "gone"));
+  }
+
+  @After
+  public void tearDown() {
+    localServer.close();
+  }
+
+  @Test
+  public void test_fresh_result_is_parsed_once() {
+    ResultCache resultCache =
+        new ResultCache.ResultCacheBuilder().setTimeToLive(Duration.ofMinutes(1)).build();
+
+    for (int i = 0; i < 100; i++) {
+      assertEquals("A1", resultCache.get(criteria("/a"), parser));
+    }
+
+    CacheMetrics cacheMetrics = resultCache.getMetrics();
+    assertEquals(1, requests.get());
+    assertEquals(1, parses.get());
+    assertEquals(99, cacheMetrics.getHits());
+    assertEquals(0.99, cacheMetrics.getHitRatio(), 1e-9);
+  }
+
+  @Test
+  public void test_stale_result_is_served_while_revalidating() throws Exception {
+    ResultCache resultCache =
+        new ResultCache.ResultCacheBuilder()
+            .setTimeToLive(Duration.ofMillis(20))
+            .setStaleWhileRevalidate(Duration.ofMinutes(1))
+            .build();
+
+    assertEquals("A1", resultCache.get(criteria("/a"), parser));
+    Thread.sleep(40);
+    assertEquals("A1", resultCache.get(criteria("/a"), parser));
+
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!"A2".equals(resultCache.get(criteria("/a"), parser))) {
+      assertTrue(System.nanoTime() < deadline);
+      Thread.sleep(5);
+    }
+    assertEquals(2, requests.get());
+    assertEquals(1, resultCache.getMetrics().getMisses());
+  }
+
+  @Test
+  public void test_lru_evicts_least_recently_used() {
+    ResultCache resultCache =
+        new ResultCache.ResultCacheBuilder()
+            .setTimeToLive(Duration.ofMinutes(1))
+            .setMaxEntries(2)
+            .build();
+
+    resultCache.get(criteria("/a"), parser);
+    resultCache.get(criteria("/b"), parser);
+    resultCache.get(criteria("/a"), parser);
+    resultCache.get(criteria("/c"), parser);
+    resultCache.get(criteria("/a"), parser);
+
+    assertEquals(3, requests.get());
+    assertEquals(1, resultCache.getMetrics().getEvictions());
+    resultCache.get(criteria("/b"), parser);
+    assertEquals(4, requests.get());
+  }
+
+  @Test
+  public void test_lfu_keeps_frequently_used() {
+    ResultCache resultCache =
+        new ResultCache.ResultCacheBuilder()
+            .setTimeToLive(Duration.ofMinutes(1))
+            .setEvictionPolicy(EvictionPolicy.LFU)
+            .setMaxEntries(2)
+            .build();
+
+    resultCache.get(criteria("/a"), parser);
+    resultCache.get(criteria("/b"), parser);
+    for (int i = 0; i < 5; i++) {
+      resultCache.get(criteria("/a"), parser);
+    }
+    resultCache.get(criteria("/b"), parser);
+    resultCache.get(criteria("/c"), parser);
+
+    int before = requests.get();
+    resultCache.get(criteria("/a"), parser);
+    assertEquals(before, requests.get());
+  }
+
+  @Test
+  public void test_sampled_lru_keeps_recently_used() {
+    ResultCache resultCache =
+        new ResultCache.ResultCacheBuilder()
+            .setTimeToLive(Duration.ofMinutes(1))
+            .setMaxEntries(4)
+            .build();
+
+    for (int i = 0; i < 20; i++) {
+      resultCache.get(criteria("/a"), parser);
+      resultCache.get(cold(i), parser);
+    }
+
+    assertEquals(21, requests.get());
+    assertEquals(20 + 1 - 4, resultCache.getMetrics().getEvictions());
+    assertEquals(4, resultCache.getMetrics().getSize());
+  }
+
+  @Test
+  public void test_lfu_ages_once_popular_entries() {
+    ResultCache resultCache =
+        new ResultCache.ResultCacheBuilder()
+            .setTimeToLive(Duration.ofMinutes(1))
+            .setEvictionPolicy(EvictionPolicy.LFU)
+            .setMaxEntries(2)
+            .build();
+    HttpRetrieverCriteria popular = criteria("/a");
+
+    for (int i = 0; i < 20; i++) {
+      resultCache.get(popular, parser);
+    }
+    for (int i = 0; i < 16; i++) {
+      resultCache.get(cold(i), parser);
+    }
+
+    int before = requests.get();
+    resultCache.get(popular, parser);
+    assertEquals(before + 1, requests.get());
+  }
+
+  @Test
+  public void test_weight_bounds_the_cache() {
+    ResultCache resultCache =
+        new ResultCache.ResultCacheBuilder()
+            .setTimeToLive(Duration.ofMinutes(1))
+            .setWeigher(value -> ((String) value).length())
+            .setMaxWeight(5)
+            .build();
+
+    resultCache.get(criteria("/a"), parser);
+    resultCache.get(criteria("/b"), parser);
+    resultCache.get(criteria("/c"), parser);
+
+    assertTrue(resultCache.getMetrics().getWeight() <= 5);
+    assertEquals(2, resultCache.getMetrics().getSize());
+  }
+
+  @Test
+  public void test_failures_are_not_cached() {
+    ResultCache resultCache =
+        new ResultCache.ResultCacheBuilder().setTimeToLive(Duration.ofMinutes(1)).build();
+
+    for (int i = 0; i < 2; i++) {
+      try {
+        resultCache.get(criteria("/missing"), parser);
+        fail("Expected the 404 to fail");
+      } catch (RuntimeException ex) {
+        assertEquals(i + 1, resultCache.getMetrics().getLoadFailures());
+      }
+    }
+    assertEquals(0, resultCache.getMetrics().getSize());
+    assertEquals(0, parses.get());
+  }
+
+  @Test
+  public void test_headers_and_credentials_are_keyed() {
+    ResultCache resultCache =
+        new ResultCache.ResultCacheBuilder().setTimeToLive(Duration.ofMinutes(1)).build();
+
+    assertEquals(
+        "A1",
+        resultCache.get(builder("/a").setHeader(new Header("X-Tenant", "red")).build(), parser));
+    assertEquals(
+        "A2",
+        resultCache.get(builder("/a").setHeader(new Header("X-Tenant", "blue")).build(), parser));
+    assertEquals(
+        "A3",
+        resultCache.get(
+            builder("/a").setAuthorization("red:secret".toCharArray()).build(), parser));
+    assertEquals(
+        "A4",
+        resultCache.get(
+            builder("/a").setAuthorization("blue:secret".toCharArray()).build(), parser));
+
+    // header names are case insensitive, and equal credentials share an entry
+    assertEquals(
+        "A1",
+        resultCache.get(builder("/a").setHeader(new Header("x-tenant", "red")).build(), parser));
+    assertEquals(
+        "A3",
+        resultCache.get(
+            builder("/a").setAuthorization("red:secret".toCharArray()).build(), parser));
+    assertEquals(4, requests.get());
+  }
+
+  @Test
+  public void test_bodies_are_keyed_and_reused_criteria_hit() {
+    ResultCache resultCache =
+        new ResultCache.ResultCacheBuilder().setTimeToLive(Duration.ofMinutes(1)).build();
+    HttpRetrieverCriteria red = post("red");
+    HttpRetrieverCriteria blue = post("blue");
+
+    assertEquals("A1", resultCache.get(red, parser));
+    assertEquals("A2", resultCache.get(blue, parser));
+    for (int i = 0; i < 3; i++) {
+      assertEquals("A1", resultCache.get(red, parser));
+      assertEquals("A2", resultCache.get(blue, parser));
+    }
+    // an equal criteria built separately shares the entry
+    assertEquals("A1", resultCache.get(post("red"), parser));
+    assertEquals(2, requests.get());
+    assertEquals(7, resultCache.getMetrics().getHits());
+  }
+
+  private HttpRetrieverCriteria cold(int i) {
+    return builder("/b").setHeader(new Header("X-Cold", Integer.toString(i))).build();
+  }
+
+  private HttpRetrieverCriteria post(String body) {
+    return builder("/a").setHTTPMethod(HTTPMethod.POST).setBody(body).build();
+  }
+
+  private HttpRetrieverCriteria criteria(String path) {
+    return builder(path).build();
+  }
+
+  private HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder builder(String path) {
+    return new HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder()
+        .setURL(localServer.url(path))
+        .setUserAgent("Mozilla/5.0")
+        .setHTTPMethod(HTTPMethod.GET);
+  }
+}
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.fluffyluffs.httpretriever4j.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.fluffyluffs.httpretriever4j.HttpRetriever;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria.HTTPMethod;
+import com.fluffyluffs.httpretriever4j.RetrievalEvent;
+import com.fluffyluffs.httpretriever4j.RetrievalListener;
+import com.fluffyluffs.httpretriever4j.RetrievalTracer;
+import com.fluffyluffs.httpretriever4j.Utils;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** TestRetrievalTracer */
+public class TestRetrievalTracer {
+
+  private static final String PARENT = "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01";
+
+  private final List<RetrievalEvent> events = new ArrayList<>();
+  private final RetrievalListener listener =
+      new RetrievalListener() {
+        @Override
+        public void onRequestStart(RetrievalEvent event) {
+          events.add(event);
+        }
+
+        @Override
+        public void onConnectionAcquired(RetrievalEvent event) {
+          events.add(event);
+        }
+
+        @Override
+        public void onHeadersReceived(RetrievalEvent event) {
+          events.add(event);
+        }
+
+        @Override
+        public void onBodyComplete(RetrievalEvent event) {
+          events.add(event);
+        }
+      };
+
+  private LocalServer localServer;
+
+  @Before
+  public void setUp() throws Exception {
+    // echo the propagated context back as the body
+    localServer =
+        new LocalServer(2)
+            .handle(
+                "/trace",
+                exchange -> {
+                  byte[] bytes =
+                      String.valueOf(exchange.getRequestHeaders().getFirst("traceparent"))
+                          .getBytes(StandardCharsets.UTF_8);
+                  exchange.sendResponseHeaders(200, bytes.length);
+                  try (OutputStream outputStream = exchange.getResponseBody()) {
+                    outputStream.write(bytes);
+                  }
+                });
+  }
+
+  @After
+  public void tearDown() {
+    localServer.close();
+  }
+
+  @Test
+  public void test_sampled_retrieval_reports_every_stage() {
+    String traceparent =
+        retrieve(new RetrievalTracer.RetrievalTracerBuilder().setListener(listener).build());
+
+    assertEquals(4, events.size());
+    assertEquals(RetrievalEvent.Stage.REQUEST_START, events.get(0).getStage());
+    assertEquals(RetrievalEvent.Stage.CONNECTION_ACQUIRED, events.get(1).getStage());
+    assertEquals(RetrievalEvent.Stage.HEADERS_RECEIVED, events.get(2).getStage());
+    assertEquals(200, events.get(2).getResponseCode());
+    assertEquals(RetrievalEvent.Stage.BODY_COMPLETE, events.get(3).getStage());
+    assertEquals(traceparent.length(), events.get(3).getBytes());
+    assertEquals(localServer.url("/trace"), events.get(3).getUrl());
+    assertEquals(
+        "00-" + events.get(0).getTraceId() + "-" + events.get(0).getSpanId() + "-01",
+        traceparent);
+  }
+
+  @Test
+  public void test_unsampled_retrieval_still_propagates() {
+    String traceparent =
+        retrieve(
+            new RetrievalTracer.RetrievalTracerBuilder()
+                .setListener(listener)
+                .setSampleRate(0d)
+                .build());
+
+    assertTrue(events.isEmpty());
+    assertTrue(traceparent.matches("00-[0-9a-f]{32}-[0-9a-f]{16}-00"));
+  }
+
+  @Test
+  public void test_parent_context_joined() {
+    String traceparent =
+        retrieve(
+            new RetrievalTracer.RetrievalTracerBuilder()
+                .setListener(listener)
+                .setSampleRate(0d)
+                .setParentSupplier(() -> PARENT)
+                .build());
+
+    assertEquals(4, events.size());
+    assertEquals("0af7651916cd43dd8448eb211c80319c", events.get(0).getTraceId());
+    assertTrue(traceparent.startsWith("00-0af7651916cd43dd8448eb211c80319c-"));
+  }
+
+  private String retrieve(RetrievalTracer retrievalTracer) {
+    return new HttpRetriever(
+            new HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder()
+                .setURL(localServer.url("/trace"))
+                .setUserAgent("Mozilla/5.0")
+                .setHTTPMethod(HTTPMethod.GET)
+                .setTracer(retrievalTracer)
+                .build())
+        .retrieve(Utils::convertToString);
+  }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2026 HTTPRetriever4J.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.fluffyluffs.httpretriever4j.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.fluffyluffs.httpretriever4j.HttpRetriever;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria;
+import com.fluffyluffs.httpretriever4j.HttpRetrieverCriteria.HTTPMethod;
+import com.fluffyluffs.httpretriever4j.ServiceEndpoints;
+import com.fluffyluffs.httpretriever4j.ServiceEndpoints.BalancingStrategy;
+import com.fluffyluffs.httpretriever4j.Utils;
+import com.sun.net.httpserver.HttpHandler;
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/** TestServiceEndpoints */
+public class TestServiceEndpoints {
+
+  private final AtomicInteger firstHits = new AtomicInteger();
+  private final AtomicInteger secondHits = new AtomicInteger();
+
+  private LocalServer first;
+  private LocalServer second;
+
+  @Before
+  public void setUp() throws Exception {
+    first =
+        new LocalServer(2)
+            .handle("/api/ok", counting(firstHits, LocalServer.respond(200, "first")))
+            .handle("/api/flaky", counting(firstHits, LocalServer.respond(503, "")));
+    second =
+        new LocalServer(2)
+            .handle("/api/ok", counting(secondHits, LocalServer.respond(200, "second")))
+            .handle("/api/flaky", counting(secondHits, LocalServer.respond(200, "second")));
+  }
+
+  @After
+  public void tearDown() {
+    first.close();
+    second.close();
+  }
+
+  private static HttpHandler counting(AtomicInteger hits, HttpHandler httpHandler) {
+    return exchange -> {
+      hits.incrementAndGet();
+      httpHandler.handle(exchange);
+    };
+  }
+
+  @Test
+  public void test_round_robin_spreads_requests() {
+    HttpRetriever httpRetriever =
+        retriever(service(BalancingStrategy.ROUND_ROBIN, first, second), "/ok", HTTPMethod.GET);
+
+    for (int i = 0; i < 10; i++) {
+      httpRetriever.retrieve();
+    }
+
+    assertEquals(5, firstHits.get());
+    assertEquals(5, secondHits.get());
+  }
+
+  @Test
+  public void test_idempotent_request_fails_over() {
+    HttpRetriever httpRetriever =
+        retriever(service(BalancingStrategy.ROUND_ROBIN, first, second), "/flaky", HTTPMethod.GET);
+
+    for (int i = 0; i < 4; i++) {
+      assertEquals("second", Utils.convertToString(httpRetriever.retrieve()));
+    }
+    assertTrue(firstHits.get() > 0);
+    assertEquals(4, secondHits.get());
+  }
+
+  @Test
+  public void test_post_is_not_failed_over() {
+    HttpRetriever httpRetriever =
+        retriever(service(BalancingStrategy.ROUND_ROBIN, first, second), "/flaky", HTTPMethod.POST);
+
+    assertEquals("", Utils.convertToString(httpRetriever.retrieve()));
+    assertEquals(1, firstHits.get());
+    assertEquals(0, secondHits.get());
+  }
+
+  @Test
+  public void test_unreachable_endpoint_is_ejected() throws IOException {
+    ServiceEndpoints service =
+        new ServiceEndpoints.ServiceEndpointsBuilder()
+            .setName("orders")
+            .setEndpoint(unreachable() + "/api")
+            .setEndpoint(second.url("/api"))
+            .setFailureThreshold(2)
+            .build();
+    HttpRetriever httpRetriever = retriever(service, "/ok", HTTPMethod.GET);
+
+    for (int i = 0; i < 10; i++) {
+      assertEquals("second", Utils.convertToString(httpRetriever.retrieve()));
+    }
+
+    ServiceEndpoints.Endpoint down = service.getEndpoints().get(0);
+    assertEquals(1, down.getEjections());
+    assertEquals(2, down.getFailures());
+    assertEquals(10, secondHits.get());
+  }
+
+  @Test
+  public void test_least_outstanding_avoids_busy_endpoint() {
+    ServiceEndpoints service = service(BalancingStrategy.LEAST_OUTSTANDING, first, second);
+
+    ServiceEndpoints.Lease busy = service.acquire(List.of());
+    for (int i = 0; i < 4; i++) {
+      ServiceEndpoints.Lease lease = service.acquire(List.of());
+      assertNotSame(busy.getEndpoint(), lease.getEndpoint());
+      lease.cancel();
+    }
+    busy.cancel();
+  }
+
+  @Test
+  public void test_power_of_two_choices_prefers_idle_endpoint() {
+    ServiceEndpoints service = service(BalancingStrategy.POWER_OF_TWO_CHOICES, first, second);
+
+    ServiceEndpoints.Lease busy = service.acquire(List.of());
+    ServiceEndpoints.Lease lease = service.acquire(List.of());
+    assertNotSame(busy.getEndpoint(), lease.getEndpoint());
+    assertEquals(1, busy.getEndpoint().getOutstanding());
+
+    lease.cancel();
+    busy.cancel();
+    assertEquals(0, busy.getEndpoint().getOutstanding());
+  }
+
+  @Test
+  public void test_excluded_endpoints_are_skipped() {
+    ServiceEndpoints service = service(BalancingStrategy.ROUND_ROBIN, first, second);
+    ServiceEndpoints.Endpoint excluded = service.getEndpoints().get(0);
+
+    for (int i = 0; i < 4; i++) {
+      ServiceEndpoints.Lease lease = service.acquire(List.of(excluded));
+      assertSame(service.getEndpoints().get(1), lease.getEndpoint());
+      lease.cancel();
+    }
+    assertTrue(service.acquire(service.getEndpoints()) == null);
+  }
+
+  private static String unreachable() throws IOException {
+    try (ServerSocket serverSocket = new ServerSocket(0)) {
+      return "http://127.0.0.1:" + serverSocket.getLocalPort();
+    }
+  }
+
+  private static ServiceEndpoints service(
+      BalancingStrategy balancingStrategy, LocalServer... localServers) {
+    ServiceEndpoints.ServiceEndpointsBuilder builder =
+        new ServiceEndpoints.ServiceEndpointsBuilder()
+            .setName("orders")
+            .setBalancingStrategy(balancingStrategy);
+    for (LocalServer localServer : localServers) {
+      builder.setEndpoint(localServer.url("/api/"));
+    }
+    return builder.build();
+  }
+
+  private static HttpRetriever retriever(
+      ServiceEndpoints service, String path, HTTPMethod hTTPMethod) {
+    return new HttpRetriever(
+        new HttpRetrieverCriteria.HttpRetrieverCriteriaBuilder()
+            .setService(service)
+            .setURL(path)
+            .setUserAgent("Mozilla/5.0")
+            .setHTTPMethod(hTTPMethod)
+            .build());
+  }
+}